@@ -0,0 +1,122 @@
+package edu.kit.informatik.classeditor.benchmark;
+
+import edu.kit.informatik.classeditor.database.Database;
+import edu.kit.informatik.classeditor.entity.PrimitiveType;
+import edu.kit.informatik.classeditor.entity.Type;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+import edu.kit.informatik.classeditor.ui.Command;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.util.function.Consumer;
+
+/**
+ * Compares building and querying a hierarchy through the typed API of {@link Database} with the same workload given
+ * as command lines to {@link Command#executeCommand(String, Database)}. Every class extends an earlier one, declares
+ * some attributes and methods and is queried for all of its methods once.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class ApiBenchmark {
+    private static final int CLASSES = 2000;
+    private static final int MEMBERS = 8;
+    private static final int BRANCHING = 4;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private ApiBenchmark() {
+    }
+
+    /**
+     * Runs both workloads and prints the average time per round.
+     *
+     * @param args the number of classes, {@value #CLASSES} if omitted
+     */
+    public static void main(final String[] args) {
+        final int classes = args.length > 0
+                ? Integer.parseInt(args[0])
+                : CLASSES;
+        final long commands = measure(database -> runCommands(database, classes));
+        final long typed = measure(database -> runTyped(database, classes));
+        System.out.println("classes: " + classes + ", members per class: " + 2 * MEMBERS);
+        System.out.println("commands: " + commands / NANOS_PER_MILLI + " ms per round");
+        System.out.println("typed api: " + typed / NANOS_PER_MILLI + " ms per round");
+        System.out.println("speedup: " + String.format("%.2f", (double) commands / typed));
+    }
+
+    /**
+     * Runs the given workload on fresh databases and returns the average nanoseconds of the measured rounds.
+     */
+    private static long measure(final Consumer<Database> workload) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            workload.accept(new Database());
+        }
+        long total = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            final Database database = new Database();
+            final long start = System.nanoTime();
+            workload.accept(database);
+            total += System.nanoTime() - start;
+        }
+        return total / MEASURED_ROUNDS;
+    }
+
+    private static void runCommands(final Database database, final int classes) {
+        for (int index = 0; index < classes; index++) {
+            check(Command.executeCommand("add-construct class " + className(index), database));
+            if (index > 0) {
+                check(Command.executeCommand(
+                        "add-extends " + className(index) + " " + className((index - 1) / BRANCHING), database));
+            }
+            for (int member = 0; member < MEMBERS; member++) {
+                check(Command.executeCommand(
+                        "add-attribute " + className(index) + ":: private int " + attributeName(index, member),
+                        database));
+                check(Command.executeCommand(
+                        "add-method " + className(index) + ":: public " + methodName(index, member) + "(int,"
+                        + className(index) + "):int", database));
+            }
+        }
+        for (int index = 0; index < classes; index++) {
+            check(Command.executeCommand("list-all-methods " + className(index), database));
+        }
+    }
+
+    private static void runTyped(final Database database, final int classes) {
+        for (int index = 0; index < classes; index++) {
+            final String name = className(index);
+            final Type type = index > 0
+                    ? database.newClass(name).extending(className((index - 1) / BRANCHING)).add()
+                    : database.newClass(name).add();
+            check(type);
+            for (int member = 0; member < MEMBERS; member++) {
+                check(database.newAttribute(name, attributeName(index, member)).visibility(VisibilityModifier.PRIVATE)
+                              .type(PrimitiveType.INT).add());
+                check(database.newMethod(name, methodName(index, member)).visibility(VisibilityModifier.PUBLIC)
+                              .parameters(PrimitiveType.INT, type).returns(PrimitiveType.INT).add());
+            }
+        }
+        for (int index = 0; index < classes; index++) {
+            check(database.getAllMethods(className(index)));
+        }
+    }
+
+    private static void check(final Object result) {
+        if (result == null || result instanceof String && ((String) result).startsWith(Main.ERROR)) {
+            throw new IllegalStateException("workload failed: " + result);
+        }
+    }
+
+    private static String className(final int index) {
+        return "Type" + index;
+    }
+
+    private static String attributeName(final int index, final int member) {
+        return "field" + index + "x" + member;
+    }
+
+    private static String methodName(final int index, final int member) {
+        return "run" + index + "x" + member;
+    }
+}
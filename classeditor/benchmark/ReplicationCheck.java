@@ -0,0 +1,59 @@
+package edu.kit.informatik.classeditor.benchmark;
+
+import edu.kit.informatik.classeditor.database.Database;
+import edu.kit.informatik.classeditor.database.ReplicationFollower;
+import edu.kit.informatik.classeditor.database.ReplicationLeader;
+
+import java.io.IOException;
+
+/**
+ * Replicates a bulk load with a repair from a {@link ReplicationLeader} to a {@link ReplicationFollower} on localhost
+ * and checks that both list the same methods afterwards. The class B overrides a final method of A while bulk
+ * loading, so ending the bulk loading reports an error although it changes the database by removing the override.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class ReplicationCheck {
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final long POLL_MILLIS = 10;
+    private static final String[] COMMANDS = {"begin-bulk", "add-construct class A",
+        "add-method A:: public final foo(int):int", "add-construct class B", "add-extends B A",
+        "add-method B:: public foo(int):int", "end-bulk"};
+    private static final String QUERY = "list-all-methods B";
+
+    private ReplicationCheck() {
+    }
+
+    /**
+     * Runs the commands on the leader, waits for the follower to apply them and compares the methods of B.
+     *
+     * @param args not used
+     *
+     * @throws IOException if the leader could not listen on a port
+     * @throws InterruptedException if the waiting for the follower is interrupted
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        try (ReplicationLeader leader = new ReplicationLeader(new Database(), 0);
+             ReplicationFollower follower = new ReplicationFollower(new Database(), "localhost", leader.getPort(),
+                     -1)) {
+            for (final String command : COMMANDS) {
+                System.out.println(command + ": " + leader.execute(command));
+            }
+            final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (follower.getAppliedSequence() < leader.getLatestSequence()) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("the follower applied " + follower.getAppliedSequence() + " of "
+                                                    + leader.getLatestSequence() + " commands");
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            final String expected = leader.execute(QUERY);
+            final String replicated = follower.execute(QUERY);
+            if (!expected.equals(replicated)) {
+                throw new IllegalStateException("the follower lists " + replicated + " instead of " + expected);
+            }
+            System.out.println("replicated " + leader.getLatestSequence() + " commands, " + QUERY + ": " + expected);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package edu.kit.informatik.classeditor.benchmark;
+
+import edu.kit.informatik.classeditor.database.TenantRegistry;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Fills a {@link TenantRegistry} with more tenants than its budget holds and then visits them in turns, so most
+ * visits restore an evicted tenant. Every visit compares the methods of a class with the ones listed before the
+ * tenant was evicted and prints the metrics of the registry at the end.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class TenantBenchmark {
+    private static final int TENANTS = 40;
+    private static final int CLASSES = 200;
+    private static final int MEMBERS = 4;
+    private static final int BRANCHING = 4;
+    private static final int ROUNDS = 5;
+    private static final long BUDGET = 2L << 20;
+
+    private TenantBenchmark() {
+    }
+
+    /**
+     * Runs the workload in a temporary snapshot directory and prints the metrics of the registry.
+     *
+     * @param args the number of tenants and the budget in bytes, {@value #TENANTS} and {@value #BUDGET} if omitted
+     *
+     * @throws IOException if the snapshot directory could not be created or removed
+     */
+    public static void main(final String[] args) throws IOException {
+        final int tenants = args.length > 0
+                ? Integer.parseInt(args[0])
+                : TENANTS;
+        final long budget = args.length > 1
+                ? Long.parseLong(args[1])
+                : BUDGET;
+        final Path directory = Files.createTempDirectory("tenants");
+        try {
+            final TenantRegistry registry = new TenantRegistry(budget, directory, false);
+            final String[] expected = new String[tenants];
+            for (int tenant = 0; tenant < tenants; tenant++) {
+                build(registry, tenantName(tenant));
+                expected[tenant] = check(registry.execute(tenantName(tenant), query()));
+            }
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int tenant = 0; tenant < tenants; tenant++) {
+                    if (!check(registry.execute(tenantName(tenant), query())).equals(expected[tenant])) {
+                        throw new IllegalStateException("tenant " + tenantName(tenant) + " changed on eviction");
+                    }
+                }
+            }
+            System.out.println("tenants: " + tenants + ", classes per tenant: " + CLASSES + ", rounds: " + ROUNDS);
+            System.out.println(registry.metrics(Main.LINE_SEPARATOR));
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (final Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static void build(final TenantRegistry registry, final String tenant) {
+        check(registry.execute(tenant, "add-construct interface Visitor"));
+        check(registry.execute(tenant, "add-method Visitor:: public visit(int):int"));
+        for (int index = 0; index < CLASSES; index++) {
+            check(registry.execute(tenant, "add-construct class " + className(index)));
+            if (index > 0) {
+                check(registry.execute(tenant,
+                        "add-extends " + className(index) + " " + className((index - 1) / BRANCHING)));
+            } else {
+                check(registry.execute(tenant, "add-method " + className(index) + ":: public visit(int):int"));
+                check(registry.execute(tenant, "add-implements " + className(index) + " Visitor"));
+            }
+            for (int member = 0; member < MEMBERS; member++) {
+                check(registry.execute(tenant,
+                        "add-attribute " + className(index) + ":: private int field" + index + "x" + member));
+                check(registry.execute(tenant,
+                        "add-method " + className(index) + ":: public run" + index + "x" + member + "(int):int"));
+            }
+        }
+    }
+
+    private static String query() {
+        return "list-all-methods " + className(CLASSES - 1);
+    }
+
+    private static String check(final String output) {
+        if (output == null || output.startsWith(Main.ERROR)) {
+            throw new IllegalStateException("workload failed: " + output);
+        }
+        return output;
+    }
+
+    private static String tenantName(final int index) {
+        return "tenant" + index;
+    }
+
+    private static String className(final int index) {
+        return "Type" + index;
+    }
+}
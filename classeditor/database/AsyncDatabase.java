@@ -0,0 +1,196 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * A non-blocking facade of a {@link Database}: queries return a {@link CompletableFuture} and traverse the hierarchy
+ * on an executor, virtual threads if the runtime provides them. Identical queries share the traversal while it is
+ * in flight, so a burst of equal requests costs one traversal. Changes wait for the running queries and drop the
+ * shared results, so no query started after a change joins a result computed before it. This holds for the changes
+ * made through {@link #update(Function)} and for the ones made directly on the database, e.g. by commands, builders
+ * or undo, since the database takes its write lock and tells this facade about every change itself.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class AsyncDatabase implements AutoCloseable {
+    private final Database database;
+    private final Executor executor;
+    /**
+     * The executor created by this facade, shut down on {@link #close()}, null for an executor given by the caller.
+     */
+    private final ExecutorService ownExecutor;
+    private final Lock readLock;
+    /**
+     * The results of the queries in flight by their keys.
+     */
+    private final Map<Object, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final Runnable dropInFlight = inFlight::clear;
+
+    /**
+     * Instantiates a new AsyncDatabase running the queries on virtual threads, or on the common pool if the runtime
+     * has no virtual threads.
+     *
+     * @param database the database to query
+     */
+    public AsyncDatabase(final Database database) {
+        this.database = database;
+        this.readLock = database.getReadLock();
+        database.addChangeListener(dropInFlight);
+        this.ownExecutor = newVirtualThreadExecutor();
+        this.executor = ownExecutor != null
+                ? ownExecutor
+                : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Instantiates a new AsyncDatabase running the queries on the given executor.
+     *
+     * @param database the database to query
+     * @param executor the executor running the queries
+     */
+    public AsyncDatabase(final Database database, final Executor executor) {
+        this.database = database;
+        this.readLock = database.getReadLock();
+        database.addChangeListener(dropInFlight);
+        this.ownExecutor = null;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task, looked up reflectively so older runtimes fall back to
+     * the common pool.
+     *
+     * @return the executor or null if virtual threads are not available
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the methods available in the construct with the given name. {@link Database#getAllMethods(String)}
+     *
+     * @param constructName the name of the construct
+     *
+     * @return the methods sorted by their signatures or null if the construct does not exist
+     */
+    public CompletableFuture<Collection<Method>> getAllMethods(final String constructName) {
+        return query(Arrays.asList("all-methods", constructName), target -> target.getAllMethods(constructName));
+    }
+
+    /**
+     * Returns the attributes available in the construct with the given name.
+     * {@link Database#getAllAttributes(String)}
+     *
+     * @param constructName the name of the construct
+     *
+     * @return the attributes sorted by their signatures or null if the construct does not exist
+     */
+    public CompletableFuture<Collection<Attribute>> getAllAttributes(final String constructName) {
+        return query(Arrays.asList("all-attributes", constructName),
+                target -> target.getAllAttributes(constructName));
+    }
+
+    /**
+     * Returns the methods of the ancestors of the construct with the given name which are overridden by the given
+     * method. {@link Database#getOverriddenMethods(NameableConstruct, Method)}
+     *
+     * @param constructName the name of the construct
+     * @param method the method to search for
+     *
+     * @return the overridden methods or null if the construct does not exist
+     */
+    public CompletableFuture<Collection<Method>> getOverriddenMethods(final String constructName,
+            final Method method) {
+        return query(Arrays.asList("overridden-methods", constructName, method), target -> {
+            final NameableConstruct construct = target.getConstruct(constructName);
+            return construct != null
+                    ? target.getOverriddenMethods(construct, method)
+                    : null;
+        });
+    }
+
+    /**
+     * Runs the given query on the executor while holding the read lock of the database. A query with a key equal to
+     * the one of a query in flight is not run again but completed with the result of the running one. The result must
+     * not be a view of the database, it is read after the lock is released. The query must not change the database.
+     *
+     * @param key identifies the query, equal keys must stand for equal queries
+     * @param query the query
+     * @param <T> the type of the result
+     *
+     * @return the result of the query
+     */
+    public <T> CompletableFuture<T> query(final Object key, final Function<Database, T> query) {
+        final CompletableFuture<T> created = new CompletableFuture<>();
+        @SuppressWarnings("unchecked") final CompletableFuture<T> running = (CompletableFuture<T>) inFlight
+                .putIfAbsent(key, created);
+        if (running != null) {
+            // a copy, so one caller completing its future does not affect the others
+            return running.thenApply(Function.identity());
+        }
+        try {
+            executor.execute(() -> run(key, created, query));
+        } catch (final RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created.thenApply(Function.identity());
+    }
+
+    private <T> void run(final Object key, final CompletableFuture<T> result, final Function<Database, T> query) {
+        readLock.lock();
+        try {
+            result.complete(query.apply(database));
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+        } finally {
+            readLock.unlock();
+            inFlight.remove(key, result);
+        }
+    }
+
+    /**
+     * Changes the database with the given function while holding the write lock, so it waits for the running
+     * queries and no query sees a part of the changes. The results of the queries in flight are dropped afterwards.
+     * A single change may be made directly on the database as well, it takes the write lock on its own.
+     *
+     * @param change the change
+     * @param <T> the type of the result of the change
+     *
+     * @return the result of the change
+     */
+    public <T> T update(final Function<Database, T> change) {
+        return database.locked(() -> change.apply(database));
+    }
+
+    /**
+     * Stops listening to the changes of the database and shuts down the executor if it was created by this facade.
+     * Queries already submitted still complete.
+     */
+    @Override public void close() {
+        database.removeChangeListener(dropInFlight);
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+        }
+    }
+}
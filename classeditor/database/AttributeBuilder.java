@@ -0,0 +1,89 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Final;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.Type;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+
+import java.util.regex.Pattern;
+
+/**
+ * Builds an attribute and adds it to a construct of a {@link Database}, without formatting and parsing a command.
+ * Created by {@link Database#newAttribute(String, String)}. The attribute has {@link VisibilityModifier#DEFAULT}
+ * visibility and is not final unless stated otherwise.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class AttributeBuilder {
+    private static final Pattern NAME = Pattern.compile(Attribute.VARIABLE_NAME_PATTERN);
+
+    private final Database database;
+    private final String constructName;
+    private final String name;
+    private VisibilityModifier visibilityModifier = VisibilityModifier.DEFAULT;
+    private Final finalState = Final.NOT_FINAL;
+    private Type type;
+
+    /**
+     * Instantiates a new AttributeBuilder.
+     *
+     * @param database the database containing the construct
+     * @param constructName the name of the construct to add the attribute to
+     * @param name the name of the attribute
+     */
+    AttributeBuilder(final Database database, final String constructName, final String name) {
+        this.database = database;
+        this.constructName = constructName;
+        this.name = name;
+    }
+
+    /**
+     * @param visibility the visibility of the attribute
+     *
+     * @return this builder
+     */
+    public AttributeBuilder visibility(final VisibilityModifier visibility) {
+        this.visibilityModifier = visibility;
+        return this;
+    }
+
+    /**
+     * Makes the attribute final.
+     *
+     * @return this builder
+     */
+    public AttributeBuilder asFinal() {
+        this.finalState = Final.FINAL;
+        return this;
+    }
+
+    /**
+     * @param attributeType the type of the attribute, a primitive type or a construct of the database
+     *
+     * @return this builder
+     */
+    public AttributeBuilder type(final Type attributeType) {
+        this.type = attributeType;
+        return this;
+    }
+
+    /**
+     * Adds the attribute to its construct. Nothing is added if the construct does not exist, the name is invalid, the
+     * type is missing or not of the database or the construct rejects the attribute.
+     *
+     * @return the added attribute or null if it could not be added
+     */
+    public Attribute add() {
+        final NameableConstruct construct = database.getConstruct(constructName);
+        if (construct == null || !NAME.matcher(name).matches() || !database.containsType(type)
+            || visibilityModifier == null) {
+            return null;
+        }
+        final Attribute attribute = new Attribute(name, visibilityModifier, finalState, type, construct);
+        return database.addAttribute(construct, attribute)
+                ? attribute
+                : null;
+    }
+}
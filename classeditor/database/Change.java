@@ -0,0 +1,29 @@
+package edu.kit.informatik.classeditor.database;
+
+/**
+ * A change made to a database, kept as the operation and its operands, e.g. the construct and the method added to
+ * it, instead of closures capturing them. Making it again and reverting it are the operation and its inverse on these
+ * operands, which are shared with the database instead of copied.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+abstract class Change {
+
+    /**
+     * Makes this change again, the database must be in the state the change was reverted to.
+     */
+    abstract void apply();
+
+    /**
+     * Reverts this change, the database must be in the state the change left it in.
+     */
+    abstract void revert();
+
+    /**
+     * Returns the command making this change, used to write the history into a {@link Snapshot}.
+     *
+     * @return the command line
+     */
+    abstract String command();
+}
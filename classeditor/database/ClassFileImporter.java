@@ -0,0 +1,409 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.database.ClassFileParser.ParsedClass;
+import edu.kit.informatik.classeditor.database.ClassFileParser.ParsedMember;
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Class;
+import edu.kit.informatik.classeditor.entity.Enum;
+import edu.kit.informatik.classeditor.entity.Final;
+import edu.kit.informatik.classeditor.entity.Interface;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.PrimitiveType;
+import edu.kit.informatik.classeditor.entity.Type;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Imports the type hierarchy of compiled classes into a {@link Database}. Class files are read from a single file, a
+ * directory or a JAR. They are parsed in parallel, directly from memory mapped files or from the inflated JAR
+ * entries, and applied to the database in dependency order while bulk loading. A class is named by its qualified name
+ * if its package is a valid package name, e.g. {@code java.awt.List} and {@code java.util.List} are two constructs,
+ * otherwise by its simple name.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class ClassFileImporter {
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String ENUM = "java/lang/Enum";
+    private static final String STRING = "Ljava/lang/String;";
+    /**
+     * The name of the method the compiler declares in every enum.
+     */
+    private static final String ENUM_VALUE_OF = "valueOf";
+    private static final Pattern CONSTRUCT_NAME = Pattern.compile(Type.getTypePattern());
+    private static final Pattern PACKAGE_NAME = Pattern.compile(Type.getPackagePattern());
+    private static final Pattern MEMBER_NAME = Pattern.compile(Attribute.VARIABLE_NAME_PATTERN);
+
+    private final Database database;
+    /**
+     * The messages for the skipped class files, collected by the parsing threads.
+     */
+    private final Queue<String> skipped = new ConcurrentLinkedQueue<>();
+    /**
+     * The parsed classes by their internal names.
+     */
+    private final Map<String, ParsedClass> parsed = new TreeMap<>();
+    /**
+     * The constructs created for the accepted classes by their internal names, null for rejected classes.
+     */
+    private final Map<String, NameableConstruct> accepted = new HashMap<>();
+    private int attributes;
+    private int methods;
+    private int droppedMembers;
+
+    private ClassFileImporter(final Database database) {
+        this.database = database;
+    }
+
+    /**
+     * Imports the class files found at the given path into the given database.
+     *
+     * @param database the database to import into
+     * @param path a class file, a directory containing class files or a JAR
+     * @param separator the separator between two lines of the report
+     *
+     * @return a report listing the number of imported elements and the skipped classes with the reason
+     *
+     * @throws IOException if the path cannot be read
+     */
+    static String importClasses(final Database database, final Path path, final String separator)
+            throws IOException {
+        final ClassFileImporter importer = new ClassFileImporter(database);
+        try {
+            importer.parse(path);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        final boolean startedBulk = database.beginBulk();
+        final List<ParsedClass> order = importer.accept();
+        importer.apply(order);
+        final StringJoiner report = new StringJoiner(separator);
+        report.add("imported " + order.size() + " constructs with " + importer.attributes + " attributes and "
+                   + importer.methods + " methods, dropped " + importer.droppedMembers
+                   + " members with unsupported types");
+        importer.skipped.stream().sorted().forEach(report::add);
+        if (startedBulk) {
+            final String validation = database.endBulk(separator);
+            if (!validation.equals(Main.OK)) {
+                report.add(validation);
+            }
+        }
+        return report.toString();
+    }
+
+    private void parse(final Path path) throws IOException {
+        final List<ParsedClass> classes;
+        if (Files.isDirectory(path)) {
+            final List<Path> files;
+            try (Stream<Path> walk = Files.walk(path)) {
+                files = walk.filter(file -> file.toString().endsWith(CLASS_FILE_SUFFIX))
+                        .collect(Collectors.toList());
+            }
+            classes = files.parallelStream().map(file -> parse(file.toString(), () -> map(file)))
+                    .filter(Objects::nonNull).collect(Collectors.toList());
+        } else if (path.toString().endsWith(CLASS_FILE_SUFFIX)) {
+            classes = Stream.of(parse(path.toString(), () -> map(path))).filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } else {
+            try (JarFile jar = new JarFile(path.toFile())) {
+                // the entries of a jar file can be inflated concurrently
+                classes = jar.stream().filter(entry -> entry.getName().endsWith(CLASS_FILE_SUFFIX)).parallel()
+                        .map(entry -> parse(entry.getName(), () -> {
+                            try (InputStream input = jar.getInputStream(entry)) {
+                                return ByteBuffer.wrap(input.readAllBytes());
+                            }
+                        })).filter(Objects::nonNull).collect(Collectors.toList());
+            }
+        }
+        for (final ParsedClass parsedClass : classes) {
+            parsed.put(parsedClass.getName(), parsedClass);
+        }
+    }
+
+    private ParsedClass parse(final String source, final BufferSupplier supplier) {
+        try {
+            return ClassFileParser.parse(supplier.get());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (final IllegalArgumentException e) {
+            skipped.add("Skipped " + source + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static ByteBuffer map(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Decides which parsed classes can be represented in the database.
+     *
+     * @return the accepted classes in topological order
+     */
+    private List<ParsedClass> accept() {
+        final List<ParsedClass> order = new ArrayList<>();
+        final Map<String, ParsedClass> byName = new HashMap<>();
+        for (final ParsedClass parsedClass : parsed.values()) {
+            accept(parsedClass, order, byName);
+        }
+        return order;
+    }
+
+    private boolean accept(final ParsedClass parsedClass, final List<ParsedClass> order,
+            final Map<String, ParsedClass> byName) {
+        if (accepted.containsKey(parsedClass.getName())) {
+            return accepted.get(parsedClass.getName()) != null;
+        }
+        // rejected until all checks passed, this also ends the recursion of cyclic class files
+        accepted.put(parsedClass.getName(), null);
+        final String reason = rejectionReason(parsedClass, order, byName);
+        if (reason != null) {
+            skipped.add("Skipped " + parsedClass.getName() + ": " + reason);
+            return false;
+        }
+        final String name = constructName(parsedClass.getName());
+        byName.put(name, parsedClass);
+        accepted.put(parsedClass.getName(), create(parsedClass, name));
+        order.add(parsedClass);
+        return true;
+    }
+
+    private String rejectionReason(final ParsedClass parsedClass, final List<ParsedClass> order,
+            final Map<String, ParsedClass> byName) {
+        final String name = constructName(parsedClass.getName());
+        if (!CONSTRUCT_NAME.matcher(name).matches()) {
+            return "unsupported name";
+        }
+        if ((parsedClass.getAccess() & ClassFileParser.ACC_ANNOTATION) != 0) {
+            return "annotations are not supported";
+        }
+        if (byName.containsKey(name) || database.getConstruct(name) != null) {
+            return "a construct named " + name + " already exists";
+        }
+        final String superName = parsedClass.getSuperName();
+        if (superName != null && !superName.equals(OBJECT) && !superName.equals(ENUM) && !acceptParent(superName,
+                order, byName)) {
+            return "unsupported super class " + superName;
+        }
+        if (!parsedClass.getInterfaces().isEmpty() && isEnum(parsedClass)) {
+            return "enums implementing interfaces are not supported";
+        }
+        for (final String anInterface : parsedClass.getInterfaces()) {
+            if (!acceptParent(anInterface, order, byName) || !isInterface(parsed.get(anInterface))) {
+                return "unsupported interface " + anInterface;
+            }
+        }
+        return null;
+    }
+
+    private boolean acceptParent(final String name, final List<ParsedClass> order,
+            final Map<String, ParsedClass> byName) {
+        return parsed.containsKey(name) && accept(parsed.get(name), order, byName);
+    }
+
+    private NameableConstruct create(final ParsedClass parsedClass, final String name) {
+        if (isInterface(parsedClass)) {
+            return new Interface(name);
+        }
+        return isEnum(parsedClass)
+                ? new Enum(name)
+                : new Class(name);
+    }
+
+    /**
+     * Applies the accepted classes to the database: first all constructs, then their relationships and last their
+     * members, each in topological order.
+     */
+    private void apply(final List<ParsedClass> order) {
+        for (final ParsedClass parsedClass : order) {
+            final NameableConstruct construct = accepted.get(parsedClass.getName());
+            if (construct instanceof Class) {
+                database.addClass((Class) construct);
+            } else if (construct instanceof Interface) {
+                database.addInterface((Interface) construct);
+            } else {
+                database.addEnum((Enum) construct);
+            }
+        }
+        for (final ParsedClass parsedClass : order) {
+            final NameableConstruct construct = accepted.get(parsedClass.getName());
+            if (accepted.get(parsedClass.getSuperName()) != null) {
+                database.addExtend(construct, accepted.get(parsedClass.getSuperName()));
+            }
+            for (final String anInterface : parsedClass.getInterfaces()) {
+                if (construct instanceof Interface) {
+                    database.addExtend(construct, accepted.get(anInterface));
+                } else {
+                    database.addImplement(construct, accepted.get(anInterface));
+                }
+            }
+        }
+        for (final ParsedClass parsedClass : order) {
+            final NameableConstruct construct = accepted.get(parsedClass.getName());
+            parsedClass.getFields().forEach(field -> applyField(construct, field));
+            parsedClass.getMethods().forEach(method -> applyMethod(construct, method));
+        }
+    }
+
+    private void applyField(final NameableConstruct construct, final ParsedMember field) {
+        if ((field.getAccess() & ClassFileParser.ACC_SYNTHETIC) != 0) {
+            return;
+        }
+        final Type type = parseType(field.getDescriptor());
+        if (type == null || !MEMBER_NAME.matcher(field.getName()).matches() || !database
+                .addAttribute(construct, new Attribute(field.getName(), visibility(field), finalState(field), type,
+                        construct))) {
+            droppedMembers++;
+            return;
+        }
+        attributes++;
+    }
+
+    private void applyMethod(final NameableConstruct construct, final ParsedMember method) {
+        if ((method.getAccess() & (ClassFileParser.ACC_SYNTHETIC | ClassFileParser.ACC_BRIDGE)) != 0
+            || !MEMBER_NAME.matcher(method.getName()).matches() || construct instanceof Enum && method.getName()
+                .equals(ENUM_VALUE_OF)) {
+            // constructors, static initializers and generated methods are no methods of the type hierarchy
+            return;
+        }
+        final String descriptor = method.getDescriptor();
+        final int parametersEnd = descriptor.indexOf(')');
+        final List<Type> parameters = parseTypes(descriptor.substring(1, parametersEnd));
+        final Type returnType = parseType(descriptor.substring(parametersEnd + 1));
+        if (parameters == null || parameters.isEmpty() || returnType == null || database
+                .addMethod(construct, new Method(method.getName(), visibility(method), finalState(method),
+                        parameters.toArray(new Type[0]), returnType, construct)).startsWith(Main.ERROR)) {
+            droppedMembers++;
+            return;
+        }
+        methods++;
+    }
+
+    /**
+     * Parses a list of field descriptors.
+     *
+     * @return the parsed types or null if at least one type is not supported
+     */
+    private List<Type> parseTypes(final String descriptors) {
+        final List<Type> types = new ArrayList<>();
+        int start = 0;
+        while (start < descriptors.length()) {
+            final int end = descriptors.charAt(start) == 'L'
+                    ? descriptors.indexOf(';', start) + 1
+                    : start + 1;
+            final Type type = parseType(descriptors.substring(start, end));
+            if (type == null) {
+                return null;
+            }
+            types.add(type);
+            start = end;
+        }
+        return types;
+    }
+
+    /**
+     * Parses a single field descriptor.
+     *
+     * @return the parsed type or null if it is not supported, e.g. void or an array
+     */
+    private Type parseType(final String descriptor) {
+        switch (descriptor) {
+            case "B":
+                return PrimitiveType.BYTE;
+            case "Z":
+                return PrimitiveType.BOOLEAN;
+            case "S":
+                return PrimitiveType.SHORT;
+            case "I":
+                return PrimitiveType.INT;
+            case "J":
+                return PrimitiveType.LONG;
+            case "F":
+                return PrimitiveType.FLOAT;
+            case "D":
+                return PrimitiveType.DOUBLE;
+            case "C":
+                return PrimitiveType.CHAR;
+            case STRING:
+                return PrimitiveType.STRING;
+            default:
+                return descriptor.startsWith("L")
+                        ? accepted.get(descriptor.substring(1, descriptor.length() - 1))
+                        : null;
+        }
+    }
+
+    private static VisibilityModifier visibility(final ParsedMember member) {
+        if ((member.getAccess() & ClassFileParser.ACC_PUBLIC) != 0) {
+            return VisibilityModifier.PUBLIC;
+        }
+        if ((member.getAccess() & ClassFileParser.ACC_PROTECTED) != 0) {
+            return VisibilityModifier.PROTECTED;
+        }
+        return (member.getAccess() & ClassFileParser.ACC_PRIVATE) != 0
+                ? VisibilityModifier.PRIVATE
+                : VisibilityModifier.DEFAULT;
+    }
+
+    private static Final finalState(final ParsedMember member) {
+        return (member.getAccess() & ClassFileParser.ACC_FINAL) != 0
+                ? Final.FINAL
+                : Final.NOT_FINAL;
+    }
+
+    private static boolean isInterface(final ParsedClass parsedClass) {
+        return (parsedClass.getAccess() & ClassFileParser.ACC_INTERFACE) != 0;
+    }
+
+    private static boolean isEnum(final ParsedClass parsedClass) {
+        return (parsedClass.getAccess() & ClassFileParser.ACC_ENUM) != 0;
+    }
+
+    /**
+     * Returns the name of the construct for the class with the given internal name: the qualified name if the package
+     * is a valid package name, the simple name otherwise.
+     */
+    private static String constructName(final String internalName) {
+        final int separator = internalName.lastIndexOf('/');
+        final String packageName = internalName.substring(0, Math.max(separator, 0)).replace('/', '.');
+        return separator >= 0 && PACKAGE_NAME.matcher(packageName).matches()
+                ? packageName + Namespace.PACKAGE_SEPARATOR + internalName.substring(separator + 1)
+                : internalName.substring(separator + 1);
+    }
+
+    /**
+     * Supplies the buffer containing a class file.
+     */
+    @FunctionalInterface
+    private interface BufferSupplier {
+        ByteBuffer get() throws IOException;
+    }
+}
@@ -0,0 +1,309 @@
+package edu.kit.informatik.classeditor.database;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses the parts of a class file needed for the type hierarchy: the name, the super class, the interfaces, the
+ * fields and the methods. Reads directly from the given buffer, only the referenced strings of the constant pool are
+ * decoded.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class ClassFileParser {
+    /**
+     * The access flag of public members.
+     */
+    static final int ACC_PUBLIC = 0x0001;
+    /**
+     * The access flag of private members.
+     */
+    static final int ACC_PRIVATE = 0x0002;
+    /**
+     * The access flag of protected members.
+     */
+    static final int ACC_PROTECTED = 0x0004;
+    /**
+     * The access flag of final classes and members.
+     */
+    static final int ACC_FINAL = 0x0010;
+    /**
+     * The access flag of bridge methods.
+     */
+    static final int ACC_BRIDGE = 0x0040;
+    /**
+     * The access flag of interfaces.
+     */
+    static final int ACC_INTERFACE = 0x0200;
+    /**
+     * The access flag of members generated by the compiler.
+     */
+    static final int ACC_SYNTHETIC = 0x1000;
+    /**
+     * The access flag of annotation types.
+     */
+    static final int ACC_ANNOTATION = 0x2000;
+    /**
+     * The access flag of enums.
+     */
+    static final int ACC_ENUM = 0x4000;
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int UTF8 = 1;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int CLASS = 7;
+
+    private final ByteBuffer buffer;
+    /**
+     * The offsets of the constant pool entries in the buffer, pointing behind their tags.
+     */
+    private int[] offsets;
+    private byte[] tags;
+
+    private ClassFileParser(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Parses the class file contained in the given buffer.
+     *
+     * @param buffer the buffer containing the class file, starting at position 0
+     *
+     * @return the parsed class
+     *
+     * @throws IllegalArgumentException if the buffer does not contain a valid class file
+     */
+    static ParsedClass parse(final ByteBuffer buffer) {
+        try {
+            return new ClassFileParser(buffer).parse();
+        } catch (final RuntimeException e) {
+            // buffer underflows and invalid indices of broken files
+            throw new IllegalArgumentException("invalid class file: " + e.getMessage(), e);
+        }
+    }
+
+    private ParsedClass parse() {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("missing magic number");
+        }
+        buffer.position(8);
+        readConstantPool();
+        final int access = unsignedShort();
+        final String name = className(unsignedShort());
+        final int superIndex = unsignedShort();
+        final String superName = superIndex != 0
+                ? className(superIndex)
+                : null;
+        final int interfaceCount = unsignedShort();
+        final List<String> interfaces = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(className(unsignedShort()));
+        }
+        final List<ParsedMember> fields = readMembers();
+        final List<ParsedMember> methods = readMembers();
+        return new ParsedClass(name, access, superName, interfaces, fields, methods);
+    }
+
+    private void readConstantPool() {
+        final int count = unsignedShort();
+        offsets = new int[count];
+        tags = new byte[count];
+        for (int index = 1; index < count; index++) {
+            final byte tag = buffer.get();
+            tags[index] = tag;
+            offsets[index] = buffer.position();
+            buffer.position(buffer.position() + entryLength(tag));
+            if (tag == LONG || tag == DOUBLE) {
+                // eight byte constants take up two entries
+                index++;
+            }
+        }
+    }
+
+    private int entryLength(final byte tag) {
+        switch (tag) {
+            case UTF8:
+                return 2 + (buffer.getShort(buffer.position()) & 0xFFFF);
+            case CLASS:
+            case 8: // String
+            case 16: // MethodType
+            case 19: // Module
+            case 20: // Package
+                return 2;
+            case 15: // MethodHandle
+                return 3;
+            case 3: // Integer
+            case 4: // Float
+            case 9: // Fieldref
+            case 10: // Methodref
+            case 11: // InterfaceMethodref
+            case 12: // NameAndType
+            case 17: // Dynamic
+            case 18: // InvokeDynamic
+                return 4;
+            case LONG:
+            case DOUBLE:
+                return 8;
+            default:
+                throw new IllegalArgumentException("unknown constant pool tag " + tag);
+        }
+    }
+
+    private List<ParsedMember> readMembers() {
+        final int count = unsignedShort();
+        final List<ParsedMember> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int access = unsignedShort();
+            final String name = utf8(unsignedShort());
+            final String descriptor = utf8(unsignedShort());
+            final int attributeCount = unsignedShort();
+            for (int attribute = 0; attribute < attributeCount; attribute++) {
+                // skip the name index and the content of the attribute
+                buffer.position(buffer.position() + 2);
+                final int length = buffer.getInt();
+                buffer.position(buffer.position() + length);
+            }
+            members.add(new ParsedMember(name, descriptor, access));
+        }
+        return members;
+    }
+
+    private String className(final int index) {
+        if (tags[index] != CLASS) {
+            throw new IllegalArgumentException("constant " + index + " is no class");
+        }
+        return utf8(buffer.getShort(offsets[index]) & 0xFFFF);
+    }
+
+    /**
+     * Decodes the modified UTF-8 string at the given constant pool index.
+     */
+    private String utf8(final int index) {
+        if (tags[index] != UTF8) {
+            throw new IllegalArgumentException("constant " + index + " is no string");
+        }
+        final int start = offsets[index] + 2;
+        final int end = start + (buffer.getShort(offsets[index]) & 0xFFFF);
+        final StringBuilder builder = new StringBuilder(end - start);
+        for (int position = start; position < end; position++) {
+            final int first = buffer.get(position) & 0xFF;
+            if (first < 0x80) {
+                builder.append((char) first);
+            } else if (first < 0xE0) {
+                builder.append((char) ((first & 0x1F) << 6 | buffer.get(++position) & 0x3F));
+            } else {
+                final int second = buffer.get(++position) & 0x3F;
+                builder.append((char) ((first & 0x0F) << 12 | second << 6 | buffer.get(++position) & 0x3F));
+            }
+        }
+        return builder.toString();
+    }
+
+    private int unsignedShort() {
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    /**
+     * The hierarchy information of a parsed class file.
+     */
+    static final class ParsedClass {
+        private final String name;
+        private final int access;
+        private final String superName;
+        private final List<String> interfaces;
+        private final List<ParsedMember> fields;
+        private final List<ParsedMember> methods;
+
+        private ParsedClass(final String name, final int access, final String superName,
+                final List<String> interfaces, final List<ParsedMember> fields, final List<ParsedMember> methods) {
+            this.name = name;
+            this.access = access;
+            this.superName = superName;
+            this.interfaces = Collections.unmodifiableList(interfaces);
+            this.fields = Collections.unmodifiableList(fields);
+            this.methods = Collections.unmodifiableList(methods);
+        }
+
+        /**
+         * @return the internal name of the class, e.g. {@code com/acme/Foo}
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the access flags of the class
+         */
+        int getAccess() {
+            return access;
+        }
+
+        /**
+         * @return the internal name of the super class or null for {@link Object}
+         */
+        String getSuperName() {
+            return superName;
+        }
+
+        /**
+         * @return the internal names of the directly implemented or extended interfaces
+         */
+        List<String> getInterfaces() {
+            return interfaces;
+        }
+
+        /**
+         * @return the fields of the class
+         */
+        List<ParsedMember> getFields() {
+            return fields;
+        }
+
+        /**
+         * @return the methods of the class
+         */
+        List<ParsedMember> getMethods() {
+            return methods;
+        }
+    }
+
+    /**
+     * A field or a method of a parsed class file.
+     */
+    static final class ParsedMember {
+        private final String name;
+        private final String descriptor;
+        private final int access;
+
+        private ParsedMember(final String name, final String descriptor, final int access) {
+            this.name = name;
+            this.descriptor = descriptor;
+            this.access = access;
+        }
+
+        /**
+         * @return the name of the member
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the type descriptor of the member
+         */
+        String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * @return the access flags of the member
+         */
+        int getAccess() {
+            return access;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package edu.kit.informatik.classeditor.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The commands which changed the database of a {@link ReplicationLeader}, numbered from 1 in the order they were
+ * executed. Only the commands after the latest snapshot of the database are kept, a follower which needs older ones
+ * is seeded with the snapshot and catches up from there.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class CommandLog {
+    private final List<String> commands = new ArrayList<>();
+    /**
+     * The latest snapshot of the database, null if there is none.
+     */
+    private Seed seed;
+
+    /**
+     * Appends the given command and wakes up the threads waiting for it.
+     *
+     * @param command the line of input which changed the database
+     *
+     * @return the sequence number of the command
+     */
+    synchronized long append(final String command) {
+        commands.add(command);
+        notifyAll();
+        return latest();
+    }
+
+    /**
+     * @return the sequence number of the latest command, 0 if the log is empty
+     */
+    synchronized long latest() {
+        return first() - 1 + commands.size();
+    }
+
+    /**
+     * Returns the sequence number of the first command kept, the one after the snapshot.
+     */
+    private long first() {
+        return seed != null
+                ? seed.sequence + 1
+                : 1;
+    }
+
+    /**
+     * @return the number of commands kept after the snapshot
+     */
+    synchronized int size() {
+        return commands.size();
+    }
+
+    /**
+     * Replaces the commands up to the given sequence number with the given snapshot of the database.
+     *
+     * @param sequence the sequence number of the latest command contained in the snapshot
+     * @param script the compressed command script of the database
+     */
+    synchronized void truncate(final long sequence, final byte[] script) {
+        commands.subList(0, (int) (sequence - first() + 1)).clear();
+        seed = new Seed(sequence, script);
+    }
+
+    /**
+     * @return the latest snapshot of the database, null if there is none
+     */
+    synchronized Seed getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the commands starting with the given sequence number, waits for the next command if there is none yet.
+     *
+     * @param from the sequence number of the first command to return, after the snapshot
+     * @param timeoutMillis the maximal number of milliseconds to wait for the next command
+     *
+     * @return the commands in the order of their sequence numbers, empty if the time ran out or the commands are
+     *         only contained in the snapshot
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    synchronized List<String> await(final long from, final long timeoutMillis) throws InterruptedException {
+        if (from > latest()) {
+            wait(timeoutMillis);
+        }
+        return from > latest() || from < first()
+                ? Collections.emptyList()
+                : new ArrayList<>(commands.subList((int) (from - first()), commands.size()));
+    }
+
+    /**
+     * A snapshot of the database replacing the commands up to its sequence number.
+     */
+    static final class Seed {
+        private final long sequence;
+        private final byte[] script;
+
+        private Seed(final long sequence, final byte[] script) {
+            this.sequence = sequence;
+            this.script = script;
+        }
+
+        /**
+         * @return the sequence number of the latest command contained in this snapshot
+         */
+        long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return the command script of the database written by {@link Database#writeSnapshot(java.io.Writer)},
+         *         compressed with GZIP
+         */
+        byte[] getScript() {
+            return script;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Class;
+import edu.kit.informatik.classeditor.entity.Interface;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of the interface methods which are not available in the classes implementing the interface. A class
+ * only conforms to its interfaces when they are implemented, methods added to an interface or to one of its
+ * ancestors afterwards are recorded here for its implementers. Every change only visits the constructs below the
+ * changed one.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class ConformanceTracker {
+    /**
+     * The revert of an update which did not change anything.
+     */
+    private static final Runnable NOTHING = () -> { };
+
+    /**
+     * The unimplemented methods of the classes that do not conform to their interfaces.
+     */
+    private final Map<Class, NavigableSet<Method>> unimplemented = new HashMap<>();
+    /**
+     * The reverts of the changes made by the running {@link #recording(Runnable)}, null if none is running.
+     */
+    private List<Runnable> journal;
+
+    /**
+     * Returns the interface methods which are not available in the given class.
+     *
+     * @param aClass the class
+     *
+     * @return an unmodifiable view of the unimplemented methods, sorted by their names and parameters
+     */
+    Collection<Method> unimplemented(final Class aClass) {
+        final NavigableSet<Method> methods = unimplemented.get(aClass);
+        return methods != null
+                ? Collections.unmodifiableSet(methods)
+                : Collections.emptySet();
+    }
+
+    /**
+     * Returns the interface methods which are not available in at least one class.
+     *
+     * @return the unimplemented methods of all classes
+     */
+    Set<Method> unimplementedMethods() {
+        final Set<Method> methods = new HashSet<>();
+        unimplemented.values().forEach(methods::addAll);
+        return methods;
+    }
+
+    /**
+     * @return the number of classes missing interface methods
+     */
+    int getClassCount() {
+        return unimplemented.size();
+    }
+
+    /**
+     * @return the number of interface methods missing in a class, counted once per class
+     */
+    long getEntryCount() {
+        long count = 0;
+        for (final Set<Method> methods : unimplemented.values()) {
+            count += methods.size();
+        }
+        return count;
+    }
+
+    /**
+     * Updates the unimplemented methods after the given method was added to the given construct. The method is
+     * available in the construct and its descendants now, and it is missing in the implementers of an interface
+     * which cannot get it from anywhere else.
+     *
+     * @param construct the construct the method was added to
+     * @param method the added method
+     */
+    void methodAdded(final NameableConstruct construct, final Method method) {
+        final Set<Method> added = Collections.singleton(method);
+        if (construct instanceof Class) {
+            // own methods are available regardless of their visibility
+            remove((Class) construct, added);
+        }
+        if (method.getVisibilityModifier() == VisibilityModifier.PRIVATE) {
+            return;
+        }
+        for (final NameableConstruct subtype : construct.getDirectSubtypes()) {
+            resolve(subtype, added);
+        }
+        if (construct instanceof Interface) {
+            for (final Class implementer : implementers((Interface) construct)) {
+                require(implementer, Collections.singleton(method));
+            }
+        }
+    }
+
+    /**
+     * Updates the unimplemented methods after the given class implemented the given interface. The methods of the
+     * interface are available in the class and its descendants now.
+     *
+     * @param child the implementing class
+     * @param parent the implemented interface
+     */
+    void implementAdded(final Class child, final Interface parent) {
+        final Set<Method> inherited = new HashSet<>(parent.listAllMethods(VisibilityModifier.NOT_PRIVATE));
+        resolve(child, inherited);
+        require(child, inherited);
+    }
+
+    /**
+     * Updates the unimplemented methods after the given interface extended the given interface. The methods of the
+     * parent are available below the child now, and they are missing in the classes implementing the child which
+     * cannot get them from anywhere else.
+     *
+     * @param child the extending interface
+     * @param parent the extended interface
+     */
+    void interfaceExtended(final Interface child, final Interface parent) {
+        final Set<Method> inherited = new HashSet<>(parent.listAllMethods(VisibilityModifier.NOT_PRIVATE));
+        resolve(child, inherited);
+        for (final Class implementer : implementers(child)) {
+            require(implementer, inherited);
+        }
+    }
+
+    /**
+     * Updates the unimplemented methods after the given class extended the given class. The inherited methods of
+     * the parent are available in the child and its descendants now.
+     *
+     * @param child the extending class
+     * @param parent the extended class
+     */
+    void extendAdded(final Class child, final Class parent) {
+        if (!unimplemented.isEmpty()) {
+            resolve(child, new HashSet<>(parent.listAllMethods(VisibilityModifier.NOT_PRIVATE)));
+        }
+    }
+
+    /**
+     * Runs the given update of this tracker and returns what reverts it, so the unimplemented methods can be restored
+     * after the change that caused the update was undone.
+     *
+     * @param update calls the update methods of this tracker
+     *
+     * @return restores the unimplemented methods of before the update
+     */
+    Runnable recording(final Runnable update) {
+        final List<Runnable> reverts = new ArrayList<>();
+        journal = reverts;
+        try {
+            update.run();
+        } finally {
+            journal = null;
+        }
+        if (reverts.isEmpty()) {
+            // most changes leave the tracker alone, the history keeps no list for them
+            return NOTHING;
+        }
+        return () -> {
+            for (int index = reverts.size() - 1; index >= 0; index--) {
+                reverts.get(index).run();
+            }
+        };
+    }
+
+    /**
+     * Forgets all unimplemented methods, used after the whole hierarchy was validated.
+     */
+    void clear() {
+        unimplemented.clear();
+    }
+
+    /**
+     * Removes the given methods from the unimplemented methods of the given construct and all of its descendants.
+     */
+    private void resolve(final NameableConstruct start, final Set<Method> available) {
+        if (unimplemented.isEmpty()) {
+            return;
+        }
+        final Deque<NameableConstruct> queue = new ArrayDeque<>();
+        final Set<NameableConstruct> visited = new HashSet<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            final NameableConstruct current = queue.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            if (current instanceof Class) {
+                remove((Class) current, available);
+            }
+            queue.addAll(current.getDirectSubtypes());
+        }
+    }
+
+    private void remove(final Class aClass, final Set<Method> available) {
+        final NavigableSet<Method> methods = unimplemented.get(aClass);
+        if (methods != null) {
+            if (journal != null) {
+                final List<Method> removed = methods.stream().filter(available::contains)
+                        .collect(Collectors.toList());
+                if (!removed.isEmpty()) {
+                    journal.add(() -> unimplemented.computeIfAbsent(aClass, key -> new TreeSet<>()).addAll(removed));
+                }
+            }
+            methods.removeIf(available::contains);
+            if (methods.isEmpty()) {
+                unimplemented.remove(aClass);
+            }
+        }
+    }
+
+    /**
+     * Records the given interface methods as unimplemented in the given class unless it gets them from another
+     * construct than the interface declaring them.
+     */
+    private void require(final Class aClass, final Collection<Method> required) {
+        for (final Method method : required) {
+            if (!provides(aClass, method, method.getConstruct())
+                && unimplemented.computeIfAbsent(aClass, key -> new TreeSet<>()).add(method) && journal != null) {
+                journal.add(() -> remove(aClass, Collections.singleton(method)));
+            }
+        }
+    }
+
+    /**
+     * Returns the classes which implement the given interface or one of the interfaces extending it.
+     */
+    private static Set<Class> implementers(final Interface anInterface) {
+        final Set<Class> implementers = new HashSet<>();
+        final Set<NameableConstruct> visited = new HashSet<>();
+        final Deque<NameableConstruct> queue = new ArrayDeque<>(anInterface.getDirectSubtypes());
+        while (!queue.isEmpty()) {
+            final NameableConstruct current = queue.poll();
+            if (current instanceof Class) {
+                implementers.add((Class) current);
+            } else if (visited.add(current)) {
+                queue.addAll(current.getDirectSubtypes());
+            }
+        }
+        return implementers;
+    }
+
+    /**
+     * Checks whether or not the given method is available in the given class without the given declaring construct.
+     * The ancestors are searched in the order of {@link NameableConstruct#getLinearization()}, the first one
+     * declaring the method decides whether or not it is available.
+     */
+    private static boolean provides(final Class aClass, final Method method, final NameableConstruct excluded) {
+        for (final NameableConstruct ancestor : aClass.getLinearization()) {
+            final Method declared = ancestor == excluded
+                    ? null
+                    : ancestor.getDeclaredMethod(method);
+            if (declared == null || ancestor instanceof Interface
+                                    && declared.getVisibilityModifier() == VisibilityModifier.PRIVATE) {
+                continue;
+            }
+            return ancestor == aClass || declared.getVisibilityModifier() != VisibilityModifier.PRIVATE;
+        }
+        return false;
+    }
+}
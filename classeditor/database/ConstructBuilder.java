@@ -0,0 +1,95 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Construct;
+import edu.kit.informatik.classeditor.entity.Enum;
+import edu.kit.informatik.classeditor.entity.Interface;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Builds a class, an interface or an enum and adds it to a {@link Database} together with the constructs it extends,
+ * without formatting and parsing a command. Created by {@link Database#newClass(String)},
+ * {@link Database#newInterface(String)} and {@link Database#newEnum(String)}.
+ *
+ * @author Sara
+ * @version 1.0
+ * @param <T> the kind of the construct
+ */
+public final class ConstructBuilder<T extends NameableConstruct> {
+    private static final Pattern NAME = Pattern.compile(Construct.getConstructNamePattern());
+
+    private final Database database;
+    private final String name;
+    private final Function<String, T> factory;
+    private final List<String> parents = new ArrayList<>();
+
+    /**
+     * Instantiates a new ConstructBuilder.
+     *
+     * @param database the database to add the construct to
+     * @param name the name of the construct
+     * @param factory creates the construct from its name
+     */
+    ConstructBuilder(final Database database, final String name, final Function<String, T> factory) {
+        this.database = database;
+        this.name = name;
+        this.factory = factory;
+    }
+
+    /**
+     * Lets the construct extend the constructs with the given names: one class for a class, any number of interfaces
+     * for an interface.
+     *
+     * @param parentNames the names of the constructs to extend
+     *
+     * @return this builder
+     */
+    public ConstructBuilder<T> extending(final String... parentNames) {
+        Collections.addAll(parents, parentNames);
+        return this;
+    }
+
+    /**
+     * Adds the construct to the database. Nothing is added if the name is invalid or taken, if a parent does not exist
+     * or if the construct cannot extend one of its parents.
+     *
+     * @return the added construct or null if it could not be added
+     */
+    public T add() {
+        if (!NAME.matcher(name).matches() || database.getConstruct(name) != null) {
+            return null;
+        }
+        final T construct = factory.apply(name);
+        final List<NameableConstruct> resolved = new ArrayList<>(parents.size());
+        for (final String parentName : parents) {
+            final NameableConstruct parent = database.getConstruct(parentName);
+            // a new construct has no subtypes, so only the kinds of the parents can prevent extending them
+            if (parent == null || !canExtend(construct, parent) || resolved.contains(parent)) {
+                return null;
+            }
+            resolved.add(parent);
+        }
+        // only interfaces extend more than one construct
+        if (resolved.size() > 1 && !(construct instanceof Interface)) {
+            return null;
+        }
+        return database.grouped(() -> {
+            if (!database.add(construct)) {
+                return null;
+            }
+            for (final NameableConstruct parent : resolved) {
+                database.addExtend(construct, parent);
+            }
+            return construct;
+        });
+    }
+
+    private static boolean canExtend(final NameableConstruct child, final NameableConstruct parent) {
+        return !(child instanceof Enum) && child.getUnderlyingType().equals(parent.getUnderlyingType());
+    }
+}
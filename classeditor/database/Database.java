@@ -3,26 +3,43 @@
 
 package edu.kit.informatik.classeditor.database;
 
+import edu.kit.informatik.classeditor.entity.Attribute;
 import edu.kit.informatik.classeditor.entity.Class;
 import edu.kit.informatik.classeditor.entity.Construct;
 import edu.kit.informatik.classeditor.entity.Enum;
 import edu.kit.informatik.classeditor.entity.Interface;
 import edu.kit.informatik.classeditor.entity.Method;
 import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.OffHeapArena;
 import edu.kit.informatik.classeditor.entity.PrimitiveType;
+import edu.kit.informatik.classeditor.entity.SymbolTable;
+import edu.kit.informatik.classeditor.entity.Symbols;
 import edu.kit.informatik.classeditor.entity.Type;
 import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+import edu.kit.informatik.classeditor.ui.Command;
 import edu.kit.informatik.classeditor.ui.ExecutionState;
 import edu.kit.informatik.classeditor.ui.Main;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.StringJoiner;
-import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This class encapsulates the whole type hierarchy and provides methods to adapt it or query for information.
@@ -32,20 +49,133 @@ import java.util.stream.Collectors;
  */
 public class Database {
     /**
-     * A dictionary containing all constructs for this database.
+     * The default package containing all constructs for this database in its sub-packages.
      */
-    private final Dictionary<NameableConstruct> constructs;
+    private Namespace constructs;
+    /**
+     * The imports used to resolve simple type names.
+     */
+    private Imports imports;
     /**
      * The execution state of this database.
      */
     private ExecutionState executionState;
+    /**
+     * Whether or not changes are currently accepted without checks and validated later by {@link #endBulk(String)}.
+     */
+    private boolean bulkLoading;
+    /**
+     * The number of changes made so far, including the ones while bulk loading and the repairs at its end. Tells
+     * whether a command changed this database although it reported errors.
+     */
+    private long changeCount;
+    /**
+     * The sorted members of the constructs that were paged through.
+     */
+    private final SortedMemberIndex memberIndex = new SortedMemberIndex();
+    /**
+     * The interface methods missing in their implementing classes since they were added to the interfaces.
+     */
+    private final ConformanceTracker conformanceTracker = new ConformanceTracker();
+    /**
+     * The arena holding the members of all constructs outside of the heap, null if they are kept on the heap.
+     */
+    private OffHeapArena offHeapArena;
+    /**
+     * The names and parameter lists of the members of all constructs kept on the heap, null if they are kept in the
+     * arena, which interns them itself.
+     */
+    private SymbolTable symbols;
+    /**
+     * The methods of all constructs by their names.
+     */
+    private MethodNameIndex methodNameIndex;
+    /**
+     * The constructs declaring the methods and attributes by the names of the members.
+     */
+    private DeclarationIndex declarationIndex;
+    /**
+     * Guards this database against concurrent access. Every change takes the write lock, so a change made directly on
+     * this database waits for the queries of the facades sharing it between threads, e.g. {@link AsyncDatabase}, like
+     * one made through them. The lock is not bound to a thread, so an open transaction keeps holding it until any
+     * thread commits or rolls it back.
+     */
+    private final StampedLock lock = new StampedLock();
+    /**
+     * Lets one thread change this database at a time, only held for the duration of a single change.
+     */
+    private final Lock changing = new ReentrantLock();
+    /**
+     * The number of running changes and open transactions holding the write lock, only accessed while holding
+     * {@link #changing}.
+     */
+    private int writeHolds;
+    /**
+     * The stamp of the write lock while it is held.
+     */
+    private long writeStamp;
+    /**
+     * Told after every change, e.g. to drop results computed before it.
+     */
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    /**
+     * The open transaction, null if the changes are committed right away.
+     */
+    private Transaction transaction;
+    /**
+     * The changes which can be undone and redone.
+     */
+    private final History history = new History();
+    /**
+     * The changes of the open group, null if every change is a group of its own.
+     */
+    private List<Change> group;
+    /**
+     * The estimated bytes added by the changes since the latest estimate of the whole database, see
+     * {@link #takeBytesDelta()}.
+     */
+    private long bytesDelta;
+    /**
+     * The used bytes of the arena at the latest estimate of the whole database or the latest delta taken.
+     */
+    private long arenaBytes;
+    /**
+     * The leader or follower replicating this database, null if it is not replicated.
+     */
+    private ReplicationStatus replication;
 
     /**
-     * Instantiates a new Database.
+     * Instantiates a new Database keeping the members on the heap.
      */
     public Database() {
+        this(false);
+    }
+
+    /**
+     * Instantiates a new Database.
+     *
+     * @param offHeap whether or not the members of the constructs are stored outside of the heap
+     */
+    public Database(final boolean offHeap) {
         executionState = ExecutionState.RUNNING;
-        constructs = new Dictionary<>();
+        initialize(offHeap);
+    }
+
+    private void initialize(final boolean offHeap) {
+        constructs = new Namespace();
+        imports = new Imports();
+        offHeapArena = offHeap
+                ? new OffHeapArena()
+                : null;
+        symbols = offHeap
+                ? null
+                : new SymbolTable();
+        // the indexes refer to the names by the ids of the members, so they share the symbols of the members
+        final Symbols names = offHeap
+                ? offHeapArena
+                : symbols;
+        methodNameIndex = new MethodNameIndex(names);
+        declarationIndex = new DeclarationIndex(names, methodNameIndex);
     }
 
     /**
@@ -66,57 +196,971 @@ public class Database {
     }
 
     /**
-     * Adds the given method to the given construct.
+     * Adds the given method to the given construct. While bulk loading, the method is not checked against the
+     * inherited methods.
+     *
+     * @param construct the construct to which the method shall be added
+     * @param method the method to be added
+     *
+     * @return String containing information about the result of the addition
+     */
+    public String addMethod(final NameableConstruct construct, final Method method) {
+        return locked(() -> {
+            final long bytes = MemoryEstimator.methodBytes(method, offHeapArena);
+            if (bulkLoading) {
+                final String output = construct.addMethodUnchecked(method);
+                if (!output.startsWith(Main.ERROR)) {
+                    memberIndex.methodChanged(construct, method);
+                    bytesDelta += bytes;
+                    changeCount++;
+                }
+                return output;
+            }
+            final String output = construct.addMethod(method);
+            if (!output.startsWith(Main.ERROR)) {
+                memberIndex.methodChanged(construct, method);
+                bytesDelta += bytes;
+                journal(new MethodAdded(construct, method,
+                        conformanceTracker.recording(() -> indexMethod(construct, method))));
+            }
+            return output;
+        });
+    }
+
+    private void indexMethod(final NameableConstruct construct, final Method method) {
+        conformanceTracker.methodAdded(construct, method);
+        methodNameIndex.add(method);
+    }
+
+    /**
+     * Adds the given attribute to the given construct.
+     *
+     * @param construct the construct to which the attribute shall be added
+     * @param attribute the attribute to be added
+     *
+     * @return whether or not the attribute could be added
+     */
+    public boolean addAttribute(final NameableConstruct construct, final Attribute attribute) {
+        return locked(() -> {
+            if (!construct.addAttribute(attribute)) {
+                return false;
+            }
+            final long bytes = MemoryEstimator.attributeBytes(attribute, offHeapArena);
+            memberIndex.attributeChanged(construct, attribute);
+            declarationIndex.add(attribute);
+            bytesDelta += bytes;
+            journal(new AttributeAdded(construct, attribute));
+            return true;
+        });
+    }
+
+    /**
+     * Lets the given child extend the given parent.
+     *
+     * @param child the construct which shall extend the parent
+     * @param parent the construct to be extended
+     *
+     * @return whether or not the parent could be extended
+     */
+    public boolean addExtend(final NameableConstruct child, final NameableConstruct parent) {
+        return locked(() -> {
+            if (!child.addExtend(parent)) {
+                return false;
+            }
+            memberIndex.edgeChanged(child, parent);
+            if (bulkLoading) {
+                changeCount++;
+                return true;
+            }
+            journal(new ExtendAdded(child, parent, conformanceTracker.recording(() -> trackExtend(child, parent))));
+            return true;
+        });
+    }
+
+    private void trackExtend(final NameableConstruct child, final NameableConstruct parent) {
+        if (child instanceof Class) {
+            conformanceTracker.extendAdded((Class) child, (Class) parent);
+        } else {
+            conformanceTracker.interfaceExtended((Interface) child, (Interface) parent);
+        }
+    }
+
+    /**
+     * Lets the given child implement the given parent. While bulk loading, the methods of the parent are not
+     * required to be available in the child.
+     *
+     * @param child the construct which shall implement the parent
+     * @param parent the construct to be implemented
+     *
+     * @return whether or not the parent could be implemented
+     */
+    public boolean addImplement(final NameableConstruct child, final NameableConstruct parent) {
+        return locked(() -> {
+            if (bulkLoading) {
+                final boolean added = child.addImplementUnchecked(parent);
+                if (added) {
+                    memberIndex.edgeChanged(child, parent);
+                    changeCount++;
+                }
+                return added;
+            }
+            if (!child.addImplement(parent)) {
+                return false;
+            }
+            memberIndex.edgeChanged(child, parent);
+            journal(new ImplementAdded((Class) child, (Interface) parent, conformanceTracker.recording(
+                    () -> conformanceTracker.implementAdded((Class) child, (Interface) parent))));
+            return true;
+        });
+    }
+
+    /**
+     * Records the given change in the open transaction, in the open group or as a group of its own in the history.
+     * Changes made while bulk loading are not recorded, bulk loading starts a new history.
+     *
+     * @param change the change
+     */
+    private void journal(final Change change) {
+        changeCount++;
+        if (bulkLoading) {
+            return;
+        }
+        if (transaction != null) {
+            transaction.record(change);
+        } else if (group != null) {
+            group.add(change);
+        } else {
+            history.add(Collections.singletonList(change));
+        }
+    }
+
+    /**
+     * Makes the changes of the given function one group of the history, so they are undone and redone together.
+     * Inside of a transaction or another group the changes belong to those.
+     *
+     * @param changes makes the changes
+     * @param <T> the type of the result of the changes
+     *
+     * @return the result of the changes
+     */
+    <T> T grouped(final Supplier<T> changes) {
+        return locked(() -> {
+            if (transaction != null || group != null) {
+                return changes.get();
+            }
+            group = new ArrayList<>();
+            try {
+                return changes.get();
+            } finally {
+                final List<Change> made = group;
+                group = null;
+                history.add(made);
+            }
+        });
+    }
+
+    /**
+     * Makes the given changes while holding the write lock and tells the change listeners afterwards. Changes made by
+     * other changes or inside of an open transaction just count as another holder of the write lock.
+     *
+     * @param changes makes the changes
+     * @param <T> the type of the result of the changes
+     *
+     * @return the result of the changes
+     */
+    <T> T locked(final Supplier<T> changes) {
+        changing.lock();
+        try {
+            acquireWrite();
+            try {
+                return changes.get();
+            } finally {
+                releaseWrite();
+            }
+        } finally {
+            changing.unlock();
+            changed();
+        }
+    }
+
+    private void acquireWrite() {
+        if (writeHolds == 0) {
+            writeStamp = lock.writeLock();
+        }
+        writeHolds++;
+    }
+
+    private void releaseWrite() {
+        if (writeHolds == 1) {
+            lock.unlockWrite(writeStamp);
+        }
+        writeHolds--;
+    }
+
+    private void changed() {
+        for (final Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Registers the given listener to be run after every change of this database.
+     *
+     * @param listener the listener
+     */
+    void addChangeListener(final Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes the given listener registered by {@link #addChangeListener(Runnable)}.
+     *
+     * @param listener the listener
+     */
+    void removeChangeListener(final Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Reverts the latest change or group of changes, a committed transaction is reverted as a whole.
+     *
+     * @return whether or not a change was undone, false if there is none or a transaction is open
+     */
+    public boolean undo() {
+        return locked(() -> transaction == null && history.undo());
+    }
+
+    /**
+     * Makes the latest undone change or group of changes again.
+     *
+     * @return whether or not a change was redone, false if there is none or a transaction is open
+     */
+    public boolean redo() {
+        return locked(() -> transaction == null && history.redo());
+    }
+
+    /**
+     * Sets how many changes can be undone: commands, committed transactions and groups made by the typed API count
+     * as one each. The oldest ones beyond are forgotten, by default {@value History#DEFAULT_DEPTH} are kept.
+     *
+     * @param depth the number of undoable changes, 0 disables undo
+     */
+    public void setHistoryDepth(final int depth) {
+        locked(() -> {
+            history.setDepth(depth);
+            return null;
+        });
+    }
+
+    /**
+     * Begins a transaction: the following changes are only made permanent by {@link #commit()} and are reverted by
+     * {@link #rollback()}. The write lock is held until then, so no query of another thread sees the changes of an
+     * open transaction. The transaction is not bound to the thread which began it, every change of any thread belongs
+     * to it and any thread may end it.
+     *
+     * @return whether or not the transaction was begun, false if a transaction or bulk loading is already active
+     */
+    public boolean begin() {
+        return locked(() -> {
+            if (transaction != null || bulkLoading) {
+                return false;
+            }
+            acquireWrite();
+            transaction = new Transaction();
+            return true;
+        });
+    }
+
+    /**
+     * Commits the open transaction. If one of its changes failed, the whole transaction is rolled back instead, so
+     * either all or none of its changes are made.
+     *
+     * @return {@link Main#OK}, an error message naming the failed change if the transaction was rolled back or null
+     *         if no transaction is open
+     */
+    public String commit() {
+        return locked(() -> {
+            if (transaction == null) {
+                return null;
+            }
+            final String failure = transaction.getFailure();
+            if (failure == null) {
+                history.add(transaction.getChanges());
+            } else {
+                transaction.rollback();
+            }
+            endTransaction();
+            return failure == null
+                    ? Main.OK
+                    : Main.ERROR + "transaction rolled back, " + (failure.startsWith(Main.ERROR)
+                            ? failure.substring(Main.ERROR.length())
+                            : failure);
+        });
+    }
+
+    /**
+     * Releases the write lock held by the open transaction and closes it, the transaction stays open if the lock
+     * could not be released.
+     */
+    private void endTransaction() {
+        releaseWrite();
+        transaction = null;
+    }
+
+    /**
+     * Reverts all changes of the open transaction.
+     *
+     * @return whether or not a transaction was open
+     */
+    public boolean rollback() {
+        return locked(() -> {
+            if (transaction == null) {
+                return false;
+            }
+            transaction.rollback();
+            endTransaction();
+            return true;
+        });
+    }
+
+    /**
+     * Marks the open transaction as failed, so {@link #commit()} rolls it back. Does nothing if no transaction is
+     * open.
+     *
+     * @param error the error of the failed change
+     */
+    public void failTransaction(final String error) {
+        if (transaction != null) {
+            transaction.fail(error);
+        }
+    }
+
+    /**
+     * Starts bulk loading: methods and implements relationships are accepted without checking them against the
+     * hierarchy until {@link #endBulk(String)} validates all of them at once. The changes made until then cannot be
+     * undone anymore.
+     *
+     * @return whether or not bulk loading was started, false if it or a transaction is already active
+     */
+    public boolean beginBulk() {
+        return locked(() -> {
+            if (bulkLoading || transaction != null) {
+                return false;
+            }
+            bulkLoading = true;
+            // the repairs at the end of bulk loading cannot be reverted
+            history.clear();
+            return true;
+        });
+    }
+
+    /**
+     * Ends bulk loading and validates the whole hierarchy in a single pass. Methods overriding final methods and
+     * interfaces whose methods are not available are removed again.
+     *
+     * @param separator the separator between two error messages
+     *
+     * @return the error messages of the validation, {@link Main#OK} if there are none or null if bulk loading is
+     *         not active
+     */
+    public String endBulk(final String separator) {
+        return locked(() -> {
+            if (!bulkLoading) {
+                return null;
+            }
+            final List<String> errors = HierarchyValidator.validateAndRepair(constructs.values());
+            if (!errors.isEmpty()) {
+                changeCount++;
+            }
+            // the repaired hierarchy conforms to all of its interfaces
+            endBulkUnvalidated();
+            return errors.isEmpty()
+                    ? Main.OK
+                    : String.join(separator, errors);
+        });
+    }
+
+    /**
+     * Ends bulk loading without validating the hierarchy, for changes that are known to be valid like the ones of a
+     * {@link Snapshot}.
+     */
+    void endBulkUnvalidated() {
+        bulkLoading = false;
+        memberIndex.clear();
+        conformanceTracker.clear();
+        methodNameIndex.rebuild(constructs.values());
+        declarationIndex.rebuild(constructs.values());
+    }
+
+    /**
+     * Writes this database and its history as a command script to the given writer. {@link Snapshot}
+     *
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer fails
+     */
+    void writeSnapshot(final Writer writer) throws IOException {
+        final List<List<Change>> groups = history.groups();
+        final int done = groups.size() - history.getUndoneCount();
+        changing.lock();
+        acquireWrite();
+        try {
+            // the script restores the state before the kept groups and makes them again, so they can be undone and
+            // redone after restoring it like before
+            for (int index = 0; index < done; index++) {
+                history.undo();
+            }
+            try {
+                Snapshot.write(constructs.values(), conformanceTracker.unimplementedMethods(), imports.list(), writer);
+                Snapshot.writeHistory(groups, groups.size() - done, writer);
+            } finally {
+                for (int index = 0; index < done; index++) {
+                    history.redo();
+                }
+            }
+        } finally {
+            releaseWrite();
+            changing.unlock();
+        }
+    }
+
+    /**
+     * Forgets the history, used when a restored snapshot replaces it with the history written along with it.
+     */
+    void clearHistory() {
+        locked(() -> {
+            history.clear();
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the content of this database and its history with an empty database, used when a follower is seeded
+     * with a snapshot of its leader. The settings, the replication and the change listeners are kept.
+     */
+    void clear() {
+        locked(() -> {
+            initialize(offHeapArena != null);
+            memberIndex.clear();
+            conformanceTracker.clear();
+            history.clear();
+            transaction = null;
+            group = null;
+            bulkLoading = false;
+            bytesDelta = 0;
+            arenaBytes = 0;
+            return null;
+        });
+    }
+
+    /**
+     * Estimates the retained size of this database in bytes, including the bytes of the members stored outside of the
+     * heap. {@link MemoryEstimator}
+     *
+     * @return the estimated size
+     */
+    long estimateBytes() {
+        bytesDelta = 0;
+        arenaBytes = offHeapArena != null
+                ? offHeapArena.getUsedBytes()
+                : 0;
+        return estimate().totalBytes();
+    }
+
+    /**
+     * Estimates this database as a whole: its constructs, symbols, indexes and history.
+     */
+    private MemoryEstimator estimate() {
+        final MemoryEstimator estimator = MemoryEstimator.estimate(constructs.values(), offHeapArena);
+        estimator.add(symbols);
+        estimator.add(methodNameIndex, declarationIndex, memberIndex, conformanceTracker);
+        estimator.add(history);
+        return estimator;
+    }
+
+    /**
+     * Returns the estimated number of bytes this database grew by since this method or {@link #estimateBytes()} was
+     * called last, negative if it shrank. Constructs and members count with their own estimates, which neither share
+     * names nor signatures with the rest of the database, and the bytes used outside of the heap are counted exactly.
+     * Adding the deltas therefore drifts from the estimate of the whole database until that is taken again.
+     *
+     * @return the estimated change of the size
+     */
+    long takeBytesDelta() {
+        long delta = bytesDelta;
+        bytesDelta = 0;
+        if (offHeapArena != null) {
+            final long used = offHeapArena.getUsedBytes();
+            delta += used - arenaBytes;
+            arenaBytes = used;
+        }
+        return delta;
+    }
+
+    /**
+     * @return the number of changes made so far, see {@link #changeCount}
+     */
+    long getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * @return whether or not a transaction is open
+     */
+    boolean isInTransaction() {
+        return transaction != null;
+    }
+
+    /**
+     * Checks whether or not this database can be replaced by a {@link Snapshot}: no transaction or bulk loading is
+     * active. The history of undoable changes is not part of a snapshot.
+     *
+     * @return whether or not a snapshot would restore this database
+     */
+    boolean isSnapshotComplete() {
+        return transaction == null && !bulkLoading;
+    }
+
+    /**
+     * Executes the given listFunction and returns its result or an empty collection.
+     *
+     * @param listFunction a function supplying objects which shall be listed
+     *
+     * @return a collection with the executed listFunction
+     */
+    public static Collection<? extends Nameable> list(final Supplier<Collection<? extends Nameable>> listFunction) {
+        final Collection<? extends Nameable> output = listFunction.get();
+        return output != null
+                ? output
+                : Collections.emptyList();
+    }
+
+    /**
+     * Produces a string representation of the given collection with the signature of the elements of the list,
+     * separated by {@link Main#LINE_SEPARATOR}.
+     *
+     * @param list a collection containing the output that shall be converted to a string
+     *
+     * @return the string output of the list as stated in the assignment
+     */
+    private static String convertToOutputString(final Collection<? extends Nameable> list) {
+        return convertToOutputString(list.iterator());
+    }
+
+    private static String convertToOutputString(final Iterator<? extends Nameable> elements) {
+        if (!elements.hasNext()) {
+            return null;
+        }
+        final StringJoiner joiner = new StringJoiner(Main.LINE_SEPARATOR);
+        elements.forEachRemaining(element -> joiner.add(element.getSignature()));
+        return joiner.toString();
+    }
+
+    /**
+     * Writes the signatures of the elements of the given collection to the given writer, each one followed by
+     * {@link Main#LINE_SEPARATOR}. Streaming counterpart of {@link #convertToOutputString(Collection)}.
+     *
+     * @param list a collection containing the output that shall be written
+     * @param writer the writer to write to
+     *
+     * @return whether or not anything was written
+     *
+     * @throws IOException if the writer fails
+     */
+    private static boolean writeOutput(final Collection<? extends Nameable> list, final Writer writer)
+            throws IOException {
+        return writeOutput(list.iterator(), writer);
+    }
+
+    private static boolean writeOutput(final Iterator<? extends Nameable> elements, final Writer writer)
+            throws IOException {
+        final boolean written = elements.hasNext();
+        while (elements.hasNext()) {
+            writer.write(elements.next().getSignature());
+            writer.write(Main.LINE_SEPARATOR);
+        }
+        return written;
+    }
+
+    private boolean writeList(final String constructName,
+            final Function<NameableConstruct, Collection<? extends Nameable>> listFunction, final Writer writer)
+            throws IOException {
+        final NameableConstruct construct = getConstruct(constructName);
+        return construct != null && writeOutput(list(() -> listFunction.apply(construct)), writer);
+    }
+
+    /**
+     * Writes the representations of all constructs in this database to the given writer, each one followed by
+     * {@link Main#LINE_SEPARATOR}. Streaming counterpart of {@link #listConstructs(String)}.
+     *
+     * @param writer the writer to write to
+     *
+     * @return whether or not anything was written
+     *
+     * @throws IOException if the writer fails
+     */
+    public boolean writeConstructs(final Writer writer) throws IOException {
+        return constructs.write(writer, Main.LINE_SEPARATOR);
+    }
+
+    /**
+     * Streaming counterpart of {@link #listAttributes(String)}.
+     *
+     * @param constructName the name of the construct
+     * @param writer the writer to write to
+     *
+     * @return whether or not anything was written, false if the construct does not exist
+     *
+     * @throws IOException if the writer fails
+     */
+    public boolean writeAttributes(final String constructName, final Writer writer) throws IOException {
+        return writeList(constructName, NameableConstruct::listAttributes, writer);
+    }
+
+    /**
+     * Streaming counterpart of {@link #listAllAttributes(String)}.
+     *
+     * @param constructName the name of the construct
+     * @param writer the writer to write to
+     *
+     * @return whether or not anything was written, false if the construct does not exist
+     *
+     * @throws IOException if the writer fails
+     */
+    public boolean writeAllAttributes(final String constructName, final Writer writer) throws IOException {
+        return writeList(constructName, NameableConstruct::listAllAttributes, writer);
+    }
+
+    /**
+     * Streaming counterpart of {@link #listMethods(String)}.
+     *
+     * @param constructName the name of the construct
+     * @param writer the writer to write to
+     *
+     * @return whether or not anything was written, false if the construct does not exist
+     *
+     * @throws IOException if the writer fails
+     */
+    public boolean writeMethods(final String constructName, final Writer writer) throws IOException {
+        return writeList(constructName, NameableConstruct::listMethods, writer);
+    }
+
+    /**
+     * Streaming counterpart of {@link #listAllMethods(String)}.
+     *
+     * @param constructName the name of the construct
+     * @param writer the writer to write to
+     *
+     * @return whether or not anything was written, false if the construct does not exist
+     *
+     * @throws IOException if the writer fails
+     */
+    public boolean writeAllMethods(final String constructName, final Writer writer) throws IOException {
+        final NameableConstruct construct = getConstruct(constructName);
+        return construct != null && writeOutput(construct.sortedAllMethods(VisibilityModifier.PRIVATE), writer);
+    }
+
+    /**
+     * Streaming counterpart of {@link #listShadowingAttributes(String)}.
+     *
+     * @param constructName the name of the construct
+     * @param writer the writer to write to
+     *
+     * @return whether or not anything was written, false if the construct does not exist
+     *
+     * @throws IOException if the writer fails
+     */
+    public boolean writeShadowingAttributes(final String constructName, final Writer writer) throws IOException {
+        return writeList(constructName, NameableConstruct::listShadowingAttributes, writer);
+    }
+
+    /**
+     * Produces a string representation of all constructs in this database.
+     *
+     * @param separator the separator to use
+     *
+     * @return a String containing the constructs in this database
+     */
+    public String listConstructs(final String separator) {
+        return constructs.list(separator);
+    }
+
+    /**
+     * Produces a string representation of the constructs declared in the given package, followed by its direct
+     * sub-packages. The other packages are not visited.
+     *
+     * @param packageName the name of the package
+     * @param separator the separator to use
+     *
+     * @return a String containing the constructs and sub-packages or null if the package does not exist
+     */
+    public String listPackage(final String packageName, final String separator) {
+        final Namespace namespace = constructs.getPackage(packageName);
+        return namespace != null
+                ? namespace.listPackage(packageName, separator)
+                : null;
+    }
+
+    /**
+     * Adds an import used to resolve simple type names, either a single-type import of a qualified construct name or
+     * an import on demand of all constructs of a package, ending with {@value Imports#ON_DEMAND_SUFFIX}.
+     * {@link #typeAvailable(String, NameableConstruct)}
+     *
+     * @param declaration the qualified construct name or the package name followed by the suffix
+     *
+     * @return {@link Main#OK} or an error message if the import could not be added
+     */
+    public String addImport(final String declaration) {
+        return locked(() -> {
+            if (declaration.endsWith(Imports.ON_DEMAND_SUFFIX)) {
+                final String packageName = declaration
+                        .substring(0, declaration.length() - Imports.ON_DEMAND_SUFFIX.length());
+                if (constructs.getPackage(packageName) == null) {
+                    return Main.ERROR + "no package with that name found";
+                }
+                if (!imports.addPackage(packageName)) {
+                    return Main.ERROR + "the package is already imported";
+                }
+                journal(new ImportAdded(packageName, true));
+                return Main.OK;
+            }
+            if (!constructs.containsKey(declaration)) {
+                return Main.ERROR + "no construct with that name found";
+            }
+            if (!imports.addType(declaration)) {
+                return Main.ERROR + "a construct with that simple name is already imported";
+            }
+            journal(new ImportAdded(declaration, false));
+            return Main.OK;
+        });
+    }
+
+    /**
+     * Produces a string representation of the imports of this database.
+     *
+     * @param separator the separator to use
+     *
+     * @return the single-type imports followed by the imports on demand or null if there are none
+     */
+    public String listImports(final String separator) {
+        final List<String> declarations = imports.list();
+        return declarations.isEmpty()
+                ? null
+                : String.join(separator, declarations);
+    }
+
+    /**
+     * Validates the whole hierarchy in parallel on the common {@link ForkJoinPool}. Reports cycles, classes not
+     * providing the methods of their interfaces, methods overriding final methods and shadowing attributes.
+     *
+     * @param separator the separator between two messages
+     *
+     * @return the messages of the validation or {@link Main#OK} if there are none
+     */
+    public String validate(final String separator) {
+        final List<String> messages = HierarchyValidator.validate(constructs.values(), ForkJoinPool.commonPool());
+        return messages.isEmpty()
+                ? Main.OK
+                : String.join(separator, messages);
+    }
+
+    /**
+     * Writes all methods and all attributes of every construct to the given file in a single pass over the hierarchy.
+     * {@link MemberExporter}
+     *
+     * @param file the file to write to
+     * @param parallel whether or not independent constructs are resolved in parallel
+     *
+     * @return {@link Main#OK} or an error message if the file could not be written
+     */
+    public String exportMembers(final Path file, final boolean parallel) {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            MemberExporter.export(constructs.values(), writer, parallel
+                    ? ForkJoinPool.commonPool()
+                    : null);
+            return Main.OK;
+        } catch (final IOException e) {
+            return Main.ERROR + "could not write " + file + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * Finds the constructs whose names match the given query. A query without wildcards matches all names starting
+     * with it. {@link GlobPattern}
+     *
+     * @param query a prefix or a pattern of construct names
+     *
+     * @return the full names of the matching constructs, sorted by their names, or null if there are none
+     */
+    public String findConstructs(final String query) {
+        final StringJoiner joiner = new StringJoiner(Main.LINE_SEPARATOR);
+        for (final NameableConstruct construct : constructs.find(new GlobPattern(GlobPattern.isGlob(query)
+                ? query
+                : query + "*"))) {
+            joiner.add(construct.getFullName());
+        }
+        return joiner.length() > 0
+                ? joiner.toString()
+                : null;
+    }
+
+    /**
+     * Finds the methods of all constructs whose names match the given pattern. {@link GlobPattern}
+     *
+     * @param query a method name or a pattern of method names
+     *
+     * @return the signatures of the matching methods, sorted by their names and constructs, or null if there are
+     *         none
+     */
+    public String findMethods(final String query) {
+        return convertToOutputString(getMatchingMethods(new GlobPattern(query)));
+    }
+
+    /**
+     * Finds the constructs directly declaring a method or an attribute with the given name. {@link DeclarationIndex}
+     *
+     * @param memberName the name of the member
+     * @param attributes whether attributes instead of methods are searched
+     *
+     * @return the full names of the declaring constructs, sorted by their names, or null if there are none
+     */
+    public String findDeclaringConstructs(final String memberName, final boolean attributes) {
+        final Collection<NameableConstruct> declarers = getDeclaringConstructs(memberName, attributes);
+        if (declarers.isEmpty()) {
+            return null;
+        }
+        final StringJoiner joiner = new StringJoiner(Main.LINE_SEPARATOR);
+        declarers.forEach(construct -> joiner.add(construct.getFullName()));
+        return joiner.toString();
+    }
+
+    /**
+     * Produces a string containing the interface methods which are not available in the class with the given name.
+     * Methods can only be missing when they were added to an interface after the class implemented it.
+     * {@link ConformanceTracker}
+     *
+     * @param className the name of the class
+     *
+     * @return the signatures of the unimplemented methods, {@link Main#OK} if there are none or null if the class
+     *         does not exist
+     */
+    public String listUnimplemented(final String className) {
+        final Collection<Method> unimplemented = getUnimplementedMethods(className);
+        if (unimplemented == null) {
+            return null;
+        }
+        final String output = convertToOutputString(unimplemented);
+        return output != null
+                ? output
+                : Main.OK;
+    }
+
+    /**
+     * Writes the type hierarchy as a graph to the given file. {@link GraphExporter}
+     *
+     * @param format the format of the graph
+     * @param file the file to write to
+     * @param rootName the name of the construct to export the neighbourhood of or null to export all constructs
+     * @param depth the maximal distance of an exported construct to the root
+     * @param counts whether or not the numbers of attributes and methods are written
+     *
+     * @return {@link Main#OK}, an error message if the file could not be written or null if the root does not exist
+     */
+    public String exportGraph(final GraphFormat format, final Path file, final String rootName, final int depth,
+            final boolean counts) {
+        final NameableConstruct root = rootName != null
+                ? getConstruct(rootName)
+                : null;
+        if (rootName != null && root == null) {
+            return null;
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            if (root != null) {
+                GraphExporter.export(root, depth, format, counts, writer);
+            } else {
+                GraphExporter.export(constructs.values(), format, counts, writer);
+            }
+            return Main.OK;
+        } catch (final IOException e) {
+            return Main.ERROR + "could not write " + file + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * Generates compilable Java skeletons for all constructs. {@link StubExporter}
      *
-     * @param construct the construct to which the method shall be added
-     * @param method the method to be added
+     * @param target the directory to write one file per construct to, or a path ending with .zip to write an
+     *         archive
      *
-     * @return String containing information about the result of the addition
+     * @return {@link Main#OK} or an error message if a construct of a named package refers to one of the default
+     *         package or if a file could not be written
      */
-    public static String addMethod(final NameableConstruct construct, final Method method) {
-        return construct.addMethod(method);
+    public String exportStubs(final Path target) {
+        final String reference = StubExporter.findDefaultPackageReference(constructs.values());
+        if (reference != null) {
+            return Main.ERROR + reference + ", which Java cannot refer to from a named package";
+        }
+        try {
+            StubExporter.export(constructs.values(), target);
+            return Main.OK;
+        } catch (final IOException e) {
+            return Main.ERROR + "could not write " + target + ": " + e.getMessage();
+        }
     }
 
     /**
-     * Executes the given listFunction and returns its result or an empty collection.
+     * Imports the compiled classes found at the given path. {@link ClassFileImporter}
      *
-     * @param listFunction a function supplying objects which shall be listed
+     * @param path a class file, a directory containing class files or a JAR
+     * @param separator the separator between two lines of the report
      *
-     * @return a collection with the executed listFunction
+     * @return a report of the import listing the skipped classes or an error message if the path cannot be read
      */
-    public static Collection<? extends Nameable> list(final Supplier<Collection<? extends Nameable>> listFunction) {
-        final Collection<? extends Nameable> output = listFunction.get();
-        return output != null
-                ? output
-                : Collections.emptyList();
+    public String importClasses(final Path path, final String separator) {
+        return locked(() -> {
+            try {
+                return ClassFileImporter.importClasses(this, path, separator);
+            } catch (final IOException e) {
+                return Main.ERROR + "could not read " + path + ": " + e.getMessage();
+            }
+        });
     }
 
     /**
-     * Produces a string representation of the given collection with the signature of the elements of the list,
-     * separated by {@link Main#LINE_SEPARATOR}.
+     * Produces an estimation of the retained size of this database, split into constructs, attributes, methods,
+     * parameter arrays and strings, followed by the memory outside of the heap if the members are stored there.
+     * {@link MemoryEstimator}
      *
-     * @param list a collection containing the output that shall be converted to a string
+     * @param separator the separator to use
      *
-     * @return the string output of the list as stated in the assignment
+     * @return a String containing the estimated sizes
      */
-    private static String convertToOutputString(final Collection<? extends Nameable> list) {
-        if (list.isEmpty()) {
-            return null;
-        }
-        final StringJoiner joiner = new StringJoiner(Main.LINE_SEPARATOR);
-        list.forEach(element -> joiner.add(element.getSignature()));
-        return joiner.toString();
+    public String memoryReport(final String separator) {
+        return estimate().report(separator);
     }
 
     /**
-     * Produces a string representation of all constructs in this database.
+     * Describes the replication of this database: the sequence number of the latest command and the lag of the
+     * followers for a leader, the applied sequence number and the lag behind the leader for a follower.
+     * {@link ReplicationLeader} {@link ReplicationFollower}
      *
      * @param separator the separator to use
      *
-     * @return a String containing the constructs in this database
+     * @return the state of the replication or null if this database is not replicated
      */
-    public String listConstructs(final String separator) {
-        return constructs.list(separator);
+    public String replicationStatus(final String separator) {
+        return replication != null
+                ? replication.status(separator)
+                : null;
+    }
+
+    /**
+     * Attaches the leader or follower replicating this database.
+     *
+     * @param replication the leader or follower
+     */
+    void setReplication(final ReplicationStatus replication) {
+        this.replication = replication;
     }
 
     /**
@@ -143,7 +1187,7 @@ public class Database {
      * @return whether or not the new class could be added
      */
     public boolean addClass(final Class newClass) {
-        return nameAvailable(newClass.getName()) && constructs.add(newClass) != null;
+        return add(newClass);
     }
 
     /**
@@ -154,7 +1198,7 @@ public class Database {
      * @return whether or not the new Interface could be added
      */
     public boolean addInterface(final Interface newInterface) {
-        return nameAvailable(newInterface.getName()) && constructs.add(newInterface) != null;
+        return add(newInterface);
     }
 
     /**
@@ -165,7 +1209,31 @@ public class Database {
      * @return whether or not the new Enum could be added
      */
     public boolean addEnum(final Enum newEnum) {
-        return nameAvailable(newEnum.getName()) && constructs.add(newEnum) != null;
+        return add(newEnum);
+    }
+
+    /**
+     * Adds the given construct to this database if its name is available and moves its members into the arena
+     * outside of the heap if there is one, into stores sharing the symbols of this database otherwise.
+     *
+     * @param construct the construct to be added
+     *
+     * @return whether or not the construct could be added
+     */
+    boolean add(final NameableConstruct construct) {
+        return locked(() -> {
+            if (!nameAvailable(construct.getName()) || constructs.add(construct) == null) {
+                return false;
+            }
+            if (offHeapArena != null) {
+                construct.moveMembersOffHeap(offHeapArena);
+            } else {
+                construct.moveMembers(symbols);
+            }
+            bytesDelta += MemoryEstimator.constructBytes(construct, offHeapArena);
+            journal(new ConstructAdded(construct));
+            return true;
+        });
     }
 
     /**
@@ -190,23 +1258,264 @@ public class Database {
         return constructs.get(name);
     }
 
+    /**
+     * Checks if the given type can be used in this database: a primitive type or a construct of this database, not
+     * one of another database or one which was removed again.
+     *
+     * @param type the type
+     *
+     * @return whether or not the type belongs to this database
+     */
+    boolean containsType(final Type type) {
+        return type instanceof PrimitiveType || type != null && getConstruct(type.getType()) == type;
+    }
+
+    /**
+     * Returns the read lock guarding this database against concurrent changes. Changes take the write lock on their
+     * own, several of them are made atomically by {@link #locked(Supplier)}. A query holding the read lock must not
+     * change the database, the read lock cannot be upgraded.
+     *
+     * @return the read lock of this database, not bound to the thread taking it
+     */
+    Lock getReadLock() {
+        return lock.asReadLock();
+    }
+
+    /**
+     * Starts building a class, the typed counterpart of
+     * {@link edu.kit.informatik.classeditor.ui.Command#ADD_CONSTRUCT}.
+     *
+     * @param name the name of the class
+     *
+     * @return a builder adding the class with {@link ConstructBuilder#add()}
+     */
+    public ConstructBuilder<Class> newClass(final String name) {
+        return new ConstructBuilder<>(this, name, Class::new);
+    }
+
+    /**
+     * Starts building an interface, the typed counterpart of
+     * {@link edu.kit.informatik.classeditor.ui.Command#ADD_CONSTRUCT}.
+     *
+     * @param name the name of the interface
+     *
+     * @return a builder adding the interface with {@link ConstructBuilder#add()}
+     */
+    public ConstructBuilder<Interface> newInterface(final String name) {
+        return new ConstructBuilder<>(this, name, Interface::new);
+    }
+
+    /**
+     * Starts building an enum, the typed counterpart of
+     * {@link edu.kit.informatik.classeditor.ui.Command#ADD_CONSTRUCT}.
+     *
+     * @param name the name of the enum
+     *
+     * @return a builder adding the enum with {@link ConstructBuilder#add()}
+     */
+    public ConstructBuilder<Enum> newEnum(final String name) {
+        return new ConstructBuilder<>(this, name, Enum::new);
+    }
+
+    /**
+     * Starts building an attribute, the typed counterpart of
+     * {@link edu.kit.informatik.classeditor.ui.Command#ADD_ATTRIBUTE}.
+     *
+     * @param constructName the name of the construct to add the attribute to
+     * @param name the name of the attribute
+     *
+     * @return a builder adding the attribute with {@link AttributeBuilder#add()}
+     */
+    public AttributeBuilder newAttribute(final String constructName, final String name) {
+        return new AttributeBuilder(this, constructName, name);
+    }
+
+    /**
+     * Starts building a method, the typed counterpart of
+     * {@link edu.kit.informatik.classeditor.ui.Command#ADD_METHOD}.
+     *
+     * @param constructName the name of the construct to add the method to
+     * @param name the name of the method
+     *
+     * @return a builder adding the method with {@link MethodBuilder#add()}
+     */
+    public MethodBuilder newMethod(final String constructName, final String name) {
+        return new MethodBuilder(this, constructName, name);
+    }
+
+    /**
+     * Returns all constructs of this database.
+     *
+     * @return the constructs, sorted by their names
+     */
+    public Stream<NameableConstruct> getConstructs() {
+        return constructs.values().stream();
+    }
+
+    /**
+     * Returns the attributes directly contained in the construct with the given name.
+     *
+     * @param constructName the name of the construct
+     *
+     * @return the attributes sorted by their signatures or null if the construct does not exist
+     */
+    public Collection<Attribute> getAttributes(final String constructName) {
+        final NameableConstruct construct = getConstruct(constructName);
+        return construct != null
+                ? construct.listAttributes()
+                : null;
+    }
+
+    /**
+     * Returns the attributes available in the construct with the given name, including the inherited ones.
+     *
+     * @param constructName the name of the construct
+     *
+     * @return the attributes sorted by their signatures or null if the construct does not exist
+     */
+    public Collection<Attribute> getAllAttributes(final String constructName) {
+        final NameableConstruct construct = getConstruct(constructName);
+        return construct != null
+                ? construct.listAllAttributes()
+                : null;
+    }
+
+    /**
+     * Returns the methods directly contained in the construct with the given name.
+     *
+     * @param constructName the name of the construct
+     *
+     * @return the methods sorted by their signatures or null if the construct does not exist
+     */
+    public Collection<Method> getMethods(final String constructName) {
+        final NameableConstruct construct = getConstruct(constructName);
+        return construct != null
+                ? construct.listMethods()
+                : null;
+    }
+
+    /**
+     * Returns the methods available in the construct with the given name, including the inherited ones.
+     *
+     * @param constructName the name of the construct
+     *
+     * @return the methods sorted by their signatures or null if the construct does not exist
+     */
+    public Collection<Method> getAllMethods(final String constructName) {
+        final NameableConstruct construct = getConstruct(constructName);
+        if (construct == null) {
+            return null;
+        }
+        // the methods are copied, the result may be read after the database changed
+        final List<Method> methods = new ArrayList<>();
+        construct.sortedAllMethods(VisibilityModifier.PRIVATE).forEachRemaining(methods::add);
+        return methods;
+    }
+
+    /**
+     * Returns the methods of all constructs whose names match the given pattern.
+     *
+     * @param pattern the pattern of the method names
+     *
+     * @return the matching methods, sorted by their names and constructs
+     */
+    public List<Method> getMatchingMethods(final GlobPattern pattern) {
+        return methodNameIndex.find(pattern);
+    }
+
+    /**
+     * Returns the constructs directly declaring a method or an attribute with the given name.
+     *
+     * @param memberName the name of the member
+     * @param attributes whether attributes instead of methods are searched
+     *
+     * @return an unmodifiable list of the declaring constructs, sorted by their names
+     */
+    public Collection<NameableConstruct> getDeclaringConstructs(final String memberName, final boolean attributes) {
+        return attributes
+                ? declarationIndex.attributeDeclarers(memberName)
+                : declarationIndex.methodDeclarers(memberName);
+    }
+
+    /**
+     * Returns the interface methods which are not available in the class with the given name.
+     *
+     * @param className the name of the class
+     *
+     * @return an unmodifiable view of the unimplemented methods or null if the class does not exist
+     */
+    public Collection<Method> getUnimplementedMethods(final String className) {
+        final NameableConstruct construct = getConstruct(className);
+        return construct instanceof Class
+                ? conformanceTracker.unimplemented((Class) construct)
+                : null;
+    }
+
     /**
      * Checks if a type with the given type string is available in this database. Ignores parenthesis.
+     * {@link #typeAvailable(String, NameableConstruct)}
      *
      * @param typeString the String containing the type to be checked
      *
      * @return the type if one exists or null
      */
     public Type typeAvailable(final String typeString) {
+        return typeAvailable(typeString, null);
+    }
+
+    /**
+     * Checks if a type with the given type string is available in a member of the given construct. Ignores
+     * parenthesis. A qualified name is looked up in its package. A simple name is resolved like in a Java source
+     * file: a single-type import, then the package of the construct, then the default package and finally the
+     * packages imported on demand, where a name found in several of them is ambiguous. Only the packages named this
+     * way are visited. Like in Java, the constructs of the default package are not available in a construct of a
+     * named package, neither directly nor imported.
+     *
+     * @param typeString the String containing the type to be checked
+     * @param context the construct the type is used in or null if it is used outside of a construct
+     *
+     * @return the type if one exists or null
+     */
+    public Type typeAvailable(final String typeString, final NameableConstruct context) {
         final String parsedType = typeString
                 .replaceAll("[" + Method.PARAMETER_LIST_START + Method.PARAMETER_LIST_END + "]", Main.EMPTY_STRING);
         if (PrimitiveType.parseFromString(parsedType) != null) {
             return PrimitiveType.parseFromString(parsedType);
         }
-        if (constructs.containsKey(parsedType)) {
+        if (parsedType.indexOf(Namespace.PACKAGE_SEPARATOR) >= 0) {
             return constructs.get(parsedType);
         }
-        return null;
+        final String contextPackage = context != null
+                ? Namespace.packageOf(context.getName())
+                : Main.EMPTY_STRING;
+        final String imported = imports.getType(parsedType);
+        if (imported != null && (contextPackage.isEmpty() || !Namespace.packageOf(imported).isEmpty())
+                && constructs.containsKey(imported)) {
+            return constructs.get(imported);
+        }
+        if (contextPackage.isEmpty()) {
+            if (constructs.containsKey(parsedType)) {
+                return constructs.get(parsedType);
+            }
+        } else if (constructs.containsKey(qualify(contextPackage, parsedType))) {
+            return constructs.get(qualify(contextPackage, parsedType));
+        }
+        NameableConstruct found = null;
+        for (final String packageName : imports.getPackages()) {
+            final NameableConstruct candidate = constructs.get(qualify(packageName, parsedType));
+            if (candidate != null && found != null) {
+                // ambiguous like in Java, the name has to be qualified
+                return null;
+            }
+            if (candidate != null) {
+                found = candidate;
+            }
+        }
+        return found;
+    }
+
+    private static String qualify(final String packageName, final String simpleName) {
+        return packageName + Namespace.PACKAGE_SEPARATOR + simpleName;
     }
 
     /**
@@ -264,9 +1573,56 @@ public class Database {
         if (construct == null) {
             return null;
         }
-        final TreeSet<Method> sortedMethods = new TreeSet<>(Method.lexicographicallySortingComparator());
-        sortedMethods.addAll(construct.listAllMethods(VisibilityModifier.PRIVATE));
-        return convertToOutputString(sortedMethods);
+        return convertToOutputString(construct.sortedAllMethods(VisibilityModifier.PRIVATE));
+    }
+
+    /**
+     * Produces one page of the output of {@link #listAllMethods(String)}, read from an index that is kept until the
+     * construct or one of its ancestors changes. {@link SortedMemberIndex#page(NavigableMap, String, int, String)}
+     *
+     * @param constructName the name of the construct
+     * @param limit the maximal number of methods on the page
+     * @param after the signature after which the page starts, null to start with the first method
+     * @param separator the separator between two lines
+     *
+     * @return the page, {@link Main#EMPTY_STRING} if no method follows the cursor or null if the construct does not
+     *         exist
+     */
+    public String listAllMethods(final String constructName, final int limit, final String after,
+            final String separator) {
+        final NameableConstruct construct = getConstruct(constructName);
+        if (construct == null) {
+            return null;
+        }
+        final String page = SortedMemberIndex.page(memberIndex.methods(construct), after, limit, separator);
+        return page != null
+                ? page
+                : Main.EMPTY_STRING;
+    }
+
+    /**
+     * Produces one page of the output of {@link #listAllAttributes(String)}, read from an index that is kept until
+     * the construct or one of its ancestors changes.
+     * {@link SortedMemberIndex#page(NavigableMap, String, int, String)}
+     *
+     * @param constructName the name of the construct
+     * @param limit the maximal number of attributes on the page
+     * @param after the signature after which the page starts, null to start with the first attribute
+     * @param separator the separator between two lines
+     *
+     * @return the page, {@link Main#EMPTY_STRING} if no attribute follows the cursor or null if the construct does
+     *         not exist
+     */
+    public String listAllAttributes(final String constructName, final int limit, final String after,
+            final String separator) {
+        final NameableConstruct construct = getConstruct(constructName);
+        if (construct == null) {
+            return null;
+        }
+        final String page = SortedMemberIndex.page(memberIndex.attributes(construct), after, limit, separator);
+        return page != null
+                ? page
+                : Main.EMPTY_STRING;
     }
 
     /**
@@ -297,11 +1653,226 @@ public class Database {
         if (construct == null) {
             return null;
         }
-        final Collection<Method> output = construct.findMethodOverride(method, new ArrayList<>());
+        final Collection<Method> output = getOverriddenMethods(construct, method);
         if (output != null) {
             return convertToOutputString(output);
         }
         return Main.ERROR + "nothing found";
     }
 
+    /**
+     * Returns the methods of the ancestors of the given construct which are overridden by the given method.
+     * {@link Construct#findMethodOverride(Method, List)}
+     *
+     * @param construct the construct
+     * @param method the method to search for
+     *
+     * @return the overridden methods
+     */
+    public Collection<Method> getOverriddenMethods(final NameableConstruct construct, final Method method) {
+        return construct.findMethodOverride(method, new ArrayList<>());
+    }
+
+    /**
+     * A construct added to this database.
+     */
+    private final class ConstructAdded extends Change {
+        private final NameableConstruct construct;
+
+        private ConstructAdded(final NameableConstruct construct) {
+            this.construct = construct;
+        }
+
+        @Override void apply() {
+            constructs.add(construct);
+            bytesDelta += MemoryEstimator.constructBytes(construct, offHeapArena);
+        }
+
+        @Override void revert() {
+            memberIndex.invalidate(construct);
+            constructs.remove(construct.getName());
+            bytesDelta -= MemoryEstimator.constructBytes(construct, offHeapArena);
+            // the members added with the construct were reverted before, the emptied storage is freed
+            construct.releaseMembers();
+        }
+
+        @Override String command() {
+            return Snapshot.command(Command.ADD_CONSTRUCT, construct.getUnderlyingType(), construct.getName());
+        }
+    }
+
+    /**
+     * A method added to a construct.
+     */
+    private final class MethodAdded extends Change {
+        private final NameableConstruct construct;
+        private final Method method;
+        /**
+         * Reverts the updates of the conformance tracker made when the method was added first. Making the change
+         * again leaves the tracker in the same state, so they stay valid.
+         */
+        private final Runnable untrack;
+
+        private MethodAdded(final NameableConstruct construct, final Method method, final Runnable untrack) {
+            this.construct = construct;
+            this.method = method;
+            this.untrack = untrack;
+        }
+
+        @Override void apply() {
+            construct.addMethodUnchecked(method);
+            memberIndex.methodChanged(construct, method);
+            bytesDelta += MemoryEstimator.methodBytes(method, offHeapArena);
+            indexMethod(construct, method);
+        }
+
+        @Override void revert() {
+            construct.removeMethod(method);
+            memberIndex.methodChanged(construct, method);
+            bytesDelta -= MemoryEstimator.methodBytes(method, offHeapArena);
+            methodNameIndex.remove(method);
+            untrack.run();
+        }
+
+        @Override String command() {
+            return Snapshot.command(Command.ADD_METHOD, method.getSignature());
+        }
+    }
+
+    /**
+     * An attribute added to a construct.
+     */
+    private final class AttributeAdded extends Change {
+        private final NameableConstruct construct;
+        private final Attribute attribute;
+
+        private AttributeAdded(final NameableConstruct construct, final Attribute attribute) {
+            this.construct = construct;
+            this.attribute = attribute;
+        }
+
+        @Override void apply() {
+            construct.addAttribute(attribute);
+            memberIndex.attributeChanged(construct, attribute);
+            declarationIndex.add(attribute);
+            bytesDelta += MemoryEstimator.attributeBytes(attribute, offHeapArena);
+        }
+
+        @Override void revert() {
+            construct.removeAttribute(attribute);
+            memberIndex.attributeChanged(construct, attribute);
+            declarationIndex.remove(attribute);
+            bytesDelta -= MemoryEstimator.attributeBytes(attribute, offHeapArena);
+        }
+
+        @Override String command() {
+            return Snapshot.command(Command.ADD_ATTRIBUTE, attribute.getSignature());
+        }
+    }
+
+    /**
+     * A class extending a class or an interface extending an interface.
+     */
+    private final class ExtendAdded extends Change {
+        private final NameableConstruct child;
+        private final NameableConstruct parent;
+        /**
+         * Reverts the updates of the conformance tracker made when the parent was extended first.
+         */
+        private final Runnable untrack;
+
+        private ExtendAdded(final NameableConstruct child, final NameableConstruct parent, final Runnable untrack) {
+            this.child = child;
+            this.parent = parent;
+            this.untrack = untrack;
+        }
+
+        @Override void apply() {
+            child.addExtend(parent);
+            memberIndex.edgeChanged(child, parent);
+            trackExtend(child, parent);
+        }
+
+        @Override void revert() {
+            child.removeExtend(parent);
+            memberIndex.edgeChanged(child, parent);
+            untrack.run();
+        }
+
+        @Override String command() {
+            return Snapshot.command(Command.ADD_EXTENDS, child.getName(), parent.getName());
+        }
+    }
+
+    /**
+     * A class implementing an interface.
+     */
+    private final class ImplementAdded extends Change {
+        private final Class child;
+        private final Interface parent;
+        /**
+         * Reverts the updates of the conformance tracker made when the interface was implemented first.
+         */
+        private final Runnable untrack;
+
+        private ImplementAdded(final Class child, final Interface parent, final Runnable untrack) {
+            this.child = child;
+            this.parent = parent;
+            this.untrack = untrack;
+        }
+
+        @Override void apply() {
+            child.addImplementUnchecked(parent);
+            memberIndex.edgeChanged(child, parent);
+            conformanceTracker.implementAdded(child, parent);
+        }
+
+        @Override void revert() {
+            child.removeImplement(parent);
+            memberIndex.edgeChanged(child, parent);
+            untrack.run();
+        }
+
+        @Override String command() {
+            return Snapshot.command(Command.ADD_IMPLEMENTS, child.getName(), parent.getName());
+        }
+    }
+
+    /**
+     * A single-type import or an import on demand added to this database.
+     */
+    private final class ImportAdded extends Change {
+        /**
+         * The qualified construct name or the name of the package imported on demand.
+         */
+        private final String name;
+        private final boolean onDemand;
+
+        private ImportAdded(final String name, final boolean onDemand) {
+            this.name = name;
+            this.onDemand = onDemand;
+        }
+
+        @Override void apply() {
+            if (onDemand) {
+                imports.addPackage(name);
+            } else {
+                imports.addType(name);
+            }
+        }
+
+        @Override void revert() {
+            if (onDemand) {
+                imports.removePackage(name);
+            } else {
+                imports.removeType(name);
+            }
+        }
+
+        @Override String command() {
+            return Snapshot.command(Command.ADD_IMPORT, onDemand
+                    ? name + Imports.ON_DEMAND_SUFFIX
+                    : name);
+        }
+    }
 }
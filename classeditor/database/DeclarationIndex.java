@@ -0,0 +1,131 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.Symbols;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Maps the names of methods and attributes to the constructs directly declaring a member with that name. The
+ * constructs declaring a method are taken from the {@link MethodNameIndex}, the ones declaring an attribute are kept
+ * as {@link Declarers} by the ids of their names in the {@link Symbols} of the database. A lookup costs a single hash
+ * lookup and does not depend on the number of constructs.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class DeclarationIndex {
+    private final Symbols symbols;
+    private final MethodNameIndex methods;
+    /**
+     * The declarers of attributes by the ids of the names of the attributes.
+     */
+    private Object[] attributes = new Object[0];
+
+    /**
+     * Instantiates a new DeclarationIndex taking the declarers of methods from the given index.
+     *
+     * @param symbols the symbols the names of the attributes are stored with
+     * @param methods the index of the method names
+     */
+    DeclarationIndex(final Symbols symbols, final MethodNameIndex methods) {
+        this.symbols = symbols;
+        this.methods = methods;
+    }
+
+    /**
+     * Adds the construct of the given attribute as a declaring construct of its name, after the attribute was added
+     * to it.
+     *
+     * @param attribute the attribute
+     */
+    void add(final Attribute attribute) {
+        final NameableConstruct construct = attribute.getConstruct();
+        // attributes with the same name and different signatures share the entry made for the first one
+        if (construct.resolveAttributes(attribute.getName(), VisibilityModifier.ALL).size() == 1) {
+            add(attribute.getName(), construct);
+        }
+    }
+
+    private void add(final String name, final NameableConstruct construct) {
+        final int id = symbols.internName(name);
+        if (id >= attributes.length) {
+            attributes = Arrays.copyOf(attributes, Math.max(id + 1, attributes.length * 2));
+        }
+        attributes[id] = Declarers.add(attributes[id], construct);
+    }
+
+    /**
+     * Removes the construct of the given attribute from the declaring constructs of its name unless the construct
+     * still declares another attribute with that name.
+     *
+     * @param attribute the removed attribute
+     */
+    void remove(final Attribute attribute) {
+        final NameableConstruct construct = attribute.getConstruct();
+        final int id = symbols.findName(attribute.getName().getBytes(StandardCharsets.UTF_8));
+        if (id >= 0 && id < attributes.length
+                && construct.resolveAttributes(attribute.getName(), VisibilityModifier.ALL).isEmpty()) {
+            attributes[id] = Declarers.remove(attributes[id], construct);
+        }
+    }
+
+    /**
+     * Replaces the content of this index with the attributes of the given constructs.
+     *
+     * @param constructs the constructs
+     */
+    void rebuild(final Collection<NameableConstruct> constructs) {
+        attributes = new Object[0];
+        for (final NameableConstruct construct : constructs) {
+            final Set<String> names = new HashSet<>();
+            for (final Attribute attribute : construct.listAttributes()) {
+                if (names.add(attribute.getName())) {
+                    add(attribute.getName(), construct);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the constructs declaring a method with the given name.
+     *
+     * @param name the name of the method
+     *
+     * @return an unmodifiable list of the declaring constructs, sorted by their names
+     */
+    Collection<NameableConstruct> methodDeclarers(final String name) {
+        return methods.declarers(name);
+    }
+
+    /**
+     * Returns the constructs declaring an attribute with the given name.
+     *
+     * @param name the name of the attribute
+     *
+     * @return an unmodifiable list of the declaring constructs, sorted by their names
+     */
+    Collection<NameableConstruct> attributeDeclarers(final String name) {
+        final int id = symbols.findName(name.getBytes(StandardCharsets.UTF_8));
+        return Declarers.sorted(id >= 0 && id < attributes.length
+                ? attributes[id]
+                : null);
+    }
+
+    /**
+     * @return the estimated heap bytes of the attributes of this index, the methods are counted by their own index
+     */
+    long getBytes() {
+        long bytes = (long) attributes.length * Integer.BYTES;
+        for (final Object entry : attributes) {
+            bytes += Declarers.getBytes(entry);
+        }
+        return bytes;
+    }
+}
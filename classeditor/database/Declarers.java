@@ -0,0 +1,116 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The constructs declaring a member with one name, as kept by the name indexes. Most names are declared by a single
+ * construct, so such a name is mapped to the construct itself, only a name declared by several constructs gets an
+ * instance with an unsorted array of them. The constructs are sorted when they are queried.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class Declarers {
+    private static final int INITIAL_CAPACITY = 4;
+    /**
+     * The estimated size of an instance and of the header of its array.
+     */
+    private static final int OVERHEAD = 40;
+
+    private NameableConstruct[] constructs;
+    private int count;
+
+    private Declarers(final NameableConstruct first, final NameableConstruct second) {
+        constructs = new NameableConstruct[INITIAL_CAPACITY];
+        constructs[0] = first;
+        constructs[1] = second;
+        count = 2;
+    }
+
+    /**
+     * Adds the given construct to the given declarers, the construct must not be one of them yet.
+     *
+     * @param declarers null, a single construct or a Declarers instance
+     * @param construct the construct to add
+     *
+     * @return the declarers to be kept instead of the given ones
+     */
+    static Object add(final Object declarers, final NameableConstruct construct) {
+        if (declarers == null) {
+            return construct;
+        }
+        if (declarers instanceof NameableConstruct) {
+            return new Declarers((NameableConstruct) declarers, construct);
+        }
+        final Declarers several = (Declarers) declarers;
+        if (several.count == several.constructs.length) {
+            several.constructs = Arrays.copyOf(several.constructs, several.count * 2);
+        }
+        several.constructs[several.count++] = construct;
+        return several;
+    }
+
+    /**
+     * Removes the given construct from the given declarers.
+     *
+     * @param declarers null, a single construct or a Declarers instance
+     * @param construct the construct to remove
+     *
+     * @return the declarers to be kept instead of the given ones, null if there are none left
+     */
+    static Object remove(final Object declarers, final NameableConstruct construct) {
+        if (!(declarers instanceof Declarers)) {
+            return declarers == construct
+                    ? null
+                    : declarers;
+        }
+        final Declarers several = (Declarers) declarers;
+        for (int index = 0; index < several.count; index++) {
+            if (several.constructs[index] == construct) {
+                several.constructs[index] = several.constructs[--several.count];
+                several.constructs[several.count] = null;
+                break;
+            }
+        }
+        return several.count > 1
+                ? several
+                : several.constructs[0];
+    }
+
+    /**
+     * Returns the given declarers sorted by their names.
+     *
+     * @param declarers null, a single construct or a Declarers instance
+     *
+     * @return an unmodifiable list of the constructs
+     */
+    static List<NameableConstruct> sorted(final Object declarers) {
+        if (declarers == null) {
+            return Collections.emptyList();
+        }
+        if (declarers instanceof NameableConstruct) {
+            return Collections.singletonList((NameableConstruct) declarers);
+        }
+        final Declarers several = (Declarers) declarers;
+        final NameableConstruct[] sorted = Arrays.copyOf(several.constructs, several.count);
+        Arrays.sort(sorted);
+        return Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+
+    /**
+     * Estimates the heap bytes the given declarers keep besides the constructs and the reference to them.
+     *
+     * @param declarers null, a single construct or a Declarers instance
+     *
+     * @return the bytes of the instance and its array, 0 for null or a single construct
+     */
+    static long getBytes(final Object declarers) {
+        return declarers instanceof Declarers
+                ? OVERHEAD + (long) ((Declarers) declarers).constructs.length * Integer.BYTES
+                : 0;
+    }
+}
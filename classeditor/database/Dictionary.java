@@ -4,7 +4,12 @@ package edu.kit.informatik.classeditor.database;
 
 import edu.kit.informatik.classeditor.entity.NameableConstruct;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
 import java.util.StringJoiner;
 import java.util.TreeMap;
 
@@ -19,7 +24,7 @@ import java.util.TreeMap;
  */
 public class Dictionary<T extends NameableConstruct> {
 
-    private final Map<String, T> availableEntities = new TreeMap<>();
+    private final NavigableMap<String, T> availableEntities = new TreeMap<>();
 
     /**
      * Adds the given element to this dictionary.
@@ -36,6 +41,17 @@ public class Dictionary<T extends NameableConstruct> {
         return toBeAdded;
     }
 
+    /**
+     * Removes the element with the given key from this dictionary.
+     *
+     * @param key the key of the element
+     *
+     * @return the removed element or null if no element with the given key exists
+     */
+    public T remove(final String key) {
+        return availableEntities.remove(key);
+    }
+
     /**
      * Checks if the given key is present in this dictionary.
      *
@@ -59,6 +75,46 @@ public class Dictionary<T extends NameableConstruct> {
         return availableEntities.get(key);
     }
 
+    /**
+     * Returns an unmodifiable view of the elements of this dictionary, sorted by their keys.
+     *
+     * @return the elements of this dictionary
+     */
+    public Collection<T> values() {
+        return Collections.unmodifiableCollection(availableEntities.values());
+    }
+
+    /**
+     * Returns the elements whose keys match the given pattern. Only the keys starting with the literal prefix of the
+     * pattern are visited.
+     *
+     * @param pattern the pattern the keys have to match
+     *
+     * @return the matching elements, sorted by their keys
+     */
+    public List<T> find(final GlobPattern pattern) {
+        return pattern.find(availableEntities);
+    }
+
+    /**
+     * Writes the string representation of this dictionary to the given writer, each entity followed by the given
+     * separator.
+     *
+     * @param writer the writer to write to
+     * @param separator the separator to be written after each entity
+     *
+     * @return whether or not anything was written
+     *
+     * @throws IOException if the writer fails
+     */
+    public boolean write(final Writer writer, final String separator) throws IOException {
+        for (final T entity : availableEntities.values()) {
+            writer.write(entity.getFullName());
+            writer.write(separator);
+        }
+        return !availableEntities.isEmpty();
+    }
+
     /**
      * Returns a string representation of this dictionary.
      *
@@ -0,0 +1,109 @@
+package edu.kit.informatik.classeditor.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.regex.Pattern;
+
+/**
+ * A name pattern in which {@value #ANY_SEQUENCE} matches any sequence of characters and {@value #ANY_CHARACTER}
+ * matches a single character. The literal prefix before the first wildcard narrows a lookup in a sorted index to the
+ * range of keys starting with it, so only that range is matched against the pattern.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class GlobPattern {
+    /**
+     * The regular expression of a pattern input, names with wildcards, qualified by their packages.
+     */
+    public static final String GLOB_PATTERN = "([a-zA-Z0-9.*?]+)";
+    private static final char ANY_SEQUENCE = '*';
+    private static final char ANY_CHARACTER = '?';
+
+    private final String prefix;
+    private final Pattern pattern;
+
+    /**
+     * Instantiates a new GlobPattern from the given input.
+     *
+     * @param glob the pattern, containing letters, digits and wildcards
+     */
+    public GlobPattern(final String glob) {
+        int wildcard = 0;
+        while (wildcard < glob.length() && !isWildcard(glob.charAt(wildcard))) {
+            wildcard++;
+        }
+        prefix = glob.substring(0, wildcard);
+        final StringBuilder regex = new StringBuilder(Pattern.quote(prefix));
+        for (int index = wildcard; index < glob.length(); index++) {
+            final char character = glob.charAt(index);
+            if (character == ANY_SEQUENCE) {
+                regex.append(".*");
+            } else if (character == ANY_CHARACTER) {
+                regex.append('.');
+            } else if (Character.isLetterOrDigit(character)) {
+                regex.append(character);
+            } else {
+                regex.append('\\').append(character);
+            }
+        }
+        pattern = Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Checks whether or not the given input contains a wildcard.
+     *
+     * @param input the input
+     *
+     * @return whether or not the input is a pattern rather than a plain name
+     */
+    public static boolean isGlob(final String input) {
+        return input.indexOf(ANY_SEQUENCE) >= 0 || input.indexOf(ANY_CHARACTER) >= 0;
+    }
+
+    private static boolean isWildcard(final char character) {
+        return character == ANY_SEQUENCE || character == ANY_CHARACTER;
+    }
+
+    /**
+     * @return the literal prefix before the first wildcard of this pattern
+     */
+    String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Checks whether or not the given name matches this pattern.
+     *
+     * @param name the name
+     *
+     * @return whether or not the whole name matches
+     */
+    public boolean matches(final String name) {
+        return pattern.matcher(name).matches();
+    }
+
+    /**
+     * Returns the values of all keys of the given sorted index matching this pattern. Only the keys starting with the
+     * literal prefix of this pattern are visited.
+     *
+     * @param index the index sorted by its keys
+     * @param <V> the type of the values
+     *
+     * @return the values of the matching keys, in the order of their keys
+     */
+    <V> List<V> find(final NavigableMap<String, V> index) {
+        final List<V> found = new ArrayList<>();
+        final NavigableMap<String, V> range = prefix.isEmpty()
+                ? index
+                : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (final Map.Entry<String, V> entry : range.entrySet()) {
+            if (matches(entry.getKey())) {
+                found.add(entry.getValue());
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,99 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Class;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Exports the extends and implements relationships of the type hierarchy as a graph. The edges are streamed directly
+ * from the relationships of the constructs, either for all constructs or for the neighbourhood of a root construct.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class GraphExporter {
+
+    private GraphExporter() {
+    }
+
+    /**
+     * Writes the graph of all given constructs.
+     *
+     * @param constructs the constructs
+     * @param format the format of the graph
+     * @param counts whether or not the numbers of attributes and methods are written
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer fails
+     */
+    static void export(final Collection<NameableConstruct> constructs, final GraphFormat format,
+            final boolean counts, final Writer writer) throws IOException {
+        write(constructs, construct -> true, format, counts, writer);
+    }
+
+    /**
+     * Writes the graph of the constructs reachable from the given root by following at most depth relationships in
+     * either direction.
+     *
+     * @param root the construct the subgraph is centered around
+     * @param depth the maximal distance of a construct to the root
+     * @param format the format of the graph
+     * @param counts whether or not the numbers of attributes and methods are written
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer fails
+     */
+    static void export(final NameableConstruct root, final int depth, final GraphFormat format,
+            final boolean counts, final Writer writer) throws IOException {
+        final Map<NameableConstruct, Integer> distances = new LinkedHashMap<>();
+        final Deque<NameableConstruct> queue = new ArrayDeque<>();
+        distances.put(root, 0);
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            final NameableConstruct current = queue.poll();
+            final int distance = distances.get(current);
+            if (distance == depth) {
+                continue;
+            }
+            for (final NameableConstruct neighbour : current.getDirectParents()) {
+                if (distances.putIfAbsent(neighbour, distance + 1) == null) {
+                    queue.add(neighbour);
+                }
+            }
+            for (final NameableConstruct neighbour : current.getDirectSubtypes()) {
+                if (distances.putIfAbsent(neighbour, distance + 1) == null) {
+                    queue.add(neighbour);
+                }
+            }
+        }
+        write(distances.keySet(), distances::containsKey, format, counts, writer);
+    }
+
+    private static void write(final Collection<NameableConstruct> nodes, final Predicate<NameableConstruct> included,
+            final GraphFormat format, final boolean counts, final Writer writer) throws IOException {
+        format.writeStart(writer);
+        for (final NameableConstruct construct : nodes) {
+            format.writeNode(construct, counts, writer);
+            for (final NameableConstruct parent : construct.getDirectParents()) {
+                if (included.test(parent)) {
+                    format.writeEdge(construct, parent, relation(construct, parent), writer);
+                }
+            }
+        }
+        format.writeEnd(writer);
+    }
+
+    private static String relation(final NameableConstruct child, final NameableConstruct parent) {
+        return child.getUnderlyingType().equals(parent.getUnderlyingType())
+                ? Class.EXTENDS
+                : Class.IMPLEMENTS;
+    }
+}
@@ -0,0 +1,178 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The formats the type hierarchy can be exported to as a graph. Every format writes the constructs as nodes and the
+ * extends and implements relationships as edges from the child to the parent.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public enum GraphFormat {
+    /**
+     * The DOT language of Graphviz.
+     */
+    DOT("dot") {
+        @Override void writeStart(final Writer writer) throws IOException {
+            writer.write("digraph hierarchy {" + Main.LINE_SEPARATOR);
+        }
+
+        @Override void writeNode(final NameableConstruct construct, final boolean counts, final Writer writer)
+                throws IOException {
+            writer.write(INDENT + quote(construct.getName()) + " [shape=" + shape(construct) + ", label=\""
+                         + construct.getUnderlyingType() + Main.SEPARATOR + construct.getName());
+            if (counts) {
+                writer.write("\\n" + construct.getAttributeCount() + " attributes, " + construct.getMethodCount()
+                             + " methods");
+            }
+            writer.write("\"];" + Main.LINE_SEPARATOR);
+        }
+
+        @Override void writeEdge(final NameableConstruct child, final NameableConstruct parent,
+                final String relation, final Writer writer) throws IOException {
+            writer.write(INDENT + quote(child.getName()) + " -> " + quote(parent.getName()) + " [label=\"" + relation
+                         + "\"];" + Main.LINE_SEPARATOR);
+        }
+
+        @Override void writeEnd(final Writer writer) throws IOException {
+            writer.write("}" + Main.LINE_SEPARATOR);
+        }
+
+        private String shape(final NameableConstruct construct) {
+            return construct instanceof edu.kit.informatik.classeditor.entity.Class
+                    ? "box"
+                    : "ellipse";
+        }
+    },
+
+    /**
+     * The XML based GraphML format.
+     */
+    GRAPHML("graphml") {
+        @Override void writeStart(final Writer writer) throws IOException {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + Main.LINE_SEPARATOR);
+            writer.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">" + Main.LINE_SEPARATOR);
+            writer.write(INDENT + "<key id=\"kind\" for=\"node\" attr.name=\"kind\" attr.type=\"string\"/>"
+                         + Main.LINE_SEPARATOR);
+            writer.write(INDENT + "<key id=\"attributes\" for=\"node\" attr.name=\"attributes\" attr.type=\"int\"/>"
+                         + Main.LINE_SEPARATOR);
+            writer.write(INDENT + "<key id=\"methods\" for=\"node\" attr.name=\"methods\" attr.type=\"int\"/>"
+                         + Main.LINE_SEPARATOR);
+            writer.write(INDENT + "<key id=\"relation\" for=\"edge\" attr.name=\"relation\" attr.type=\"string\"/>"
+                         + Main.LINE_SEPARATOR);
+            writer.write(INDENT + "<graph id=\"hierarchy\" edgedefault=\"directed\">" + Main.LINE_SEPARATOR);
+        }
+
+        @Override void writeNode(final NameableConstruct construct, final boolean counts, final Writer writer)
+                throws IOException {
+            writer.write(INDENT + INDENT + "<node id=" + quote(construct.getName()) + "><data key=\"kind\">"
+                         + construct.getUnderlyingType() + "</data>");
+            if (counts) {
+                writer.write("<data key=\"attributes\">" + construct.getAttributeCount()
+                             + "</data><data key=\"methods\">" + construct.getMethodCount() + "</data>");
+            }
+            writer.write("</node>" + Main.LINE_SEPARATOR);
+        }
+
+        @Override void writeEdge(final NameableConstruct child, final NameableConstruct parent,
+                final String relation, final Writer writer) throws IOException {
+            writer.write(INDENT + INDENT + "<edge source=" + quote(child.getName()) + " target=" + quote(
+                    parent.getName()) + "><data key=\"relation\">" + relation + "</data></edge>"
+                         + Main.LINE_SEPARATOR);
+        }
+
+        @Override void writeEnd(final Writer writer) throws IOException {
+            writer.write(INDENT + "</graph>" + Main.LINE_SEPARATOR);
+            writer.write("</graphml>" + Main.LINE_SEPARATOR);
+        }
+    };
+
+    private static final String INDENT = "  ";
+
+    private final String pattern;
+
+    /**
+     * Instantiates a new GraphFormat with the given pattern.
+     *
+     * @param pattern the pattern of this format
+     */
+    GraphFormat(final String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Returns the pattern for a graph format input.
+     *
+     * @return the pattern for a graph format input
+     */
+    public static String getGraphFormatPattern() {
+        return "(" + DOT.pattern + "|" + GRAPHML.pattern + ")";
+    }
+
+    /**
+     * Parses the given String to a GraphFormat.
+     *
+     * @param format the String containing the format
+     *
+     * @return the parsed GraphFormat or null
+     */
+    public static GraphFormat parseFromString(final String format) {
+        for (final GraphFormat graphFormat : GraphFormat.values()) {
+            if (graphFormat.pattern.equals(format)) {
+                return graphFormat;
+            }
+        }
+        return null;
+    }
+
+    private static String quote(final String name) {
+        return "\"" + name + "\"";
+    }
+
+    /**
+     * Writes the start of the graph.
+     *
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer fails
+     */
+    abstract void writeStart(Writer writer) throws IOException;
+
+    /**
+     * Writes the node of the given construct.
+     *
+     * @param construct the construct
+     * @param counts whether or not the numbers of attributes and methods are written
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer fails
+     */
+    abstract void writeNode(NameableConstruct construct, boolean counts, Writer writer) throws IOException;
+
+    /**
+     * Writes the edge of the relationship between the given constructs.
+     *
+     * @param child the extending or implementing construct
+     * @param parent the extended or implemented construct
+     * @param relation the kind of the relationship
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer fails
+     */
+    abstract void writeEdge(NameableConstruct child, NameableConstruct parent, String relation, Writer writer)
+            throws IOException;
+
+    /**
+     * Writes the end of the graph.
+     *
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer fails
+     */
+    abstract void writeEnd(Writer writer) throws IOException;
+}
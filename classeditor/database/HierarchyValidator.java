@@ -0,0 +1,242 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Class;
+import edu.kit.informatik.classeditor.entity.Final;
+import edu.kit.informatik.classeditor.entity.Interface;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validates a whole hierarchy at once. Checks the same rules the constructs check when they are changed one after
+ * another, but visits every construct only once in topological order and shares the resolved members of the
+ * parents.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class HierarchyValidator {
+
+    private HierarchyValidator() {
+    }
+
+    /**
+     * Validates the given constructs which were changed without checks and removes the methods and interfaces that
+     * violate the rules, as the checked path would have rejected them.
+     *
+     * @param constructs the constructs to validate
+     *
+     * @return the error messages for all removed methods and interfaces
+     */
+    static List<String> validateAndRepair(final Collection<NameableConstruct> constructs) {
+        final List<String> errors = new ArrayList<>();
+        final MemberResolver resolver = new MemberResolver();
+        for (final NameableConstruct construct : MemberResolver.topologicalOrder(constructs)) {
+            if (construct instanceof Class) {
+                repairFinalOverrides((Class) construct, resolver, errors);
+                repairInterfaces((Class) construct, resolver, errors);
+            }
+            // resolve the construct now, its children rely on its repaired methods
+            resolver.allMethods(construct);
+        }
+        return errors;
+    }
+
+    /**
+     * Validates the given constructs without changing them, the constructs of each depth of the hierarchy are
+     * checked in parallel on the given pool. Reports cycles, classes not providing the methods of their interfaces,
+     * methods overriding final methods and attributes shadowing inherited attributes.
+     *
+     * @param constructs the constructs to validate
+     * @param pool the pool to run the validation on
+     *
+     * @return the messages of the validation, sorted like the given constructs
+     */
+    static List<String> validate(final Collection<NameableConstruct> constructs, final ForkJoinPool pool) {
+        final List<String> cycles = findCycles(constructs);
+        if (!cycles.isEmpty()) {
+            // the members of a cyclic hierarchy cannot be resolved
+            return cycles;
+        }
+        final MemberResolver resolver = new MemberResolver();
+        final Map<NameableConstruct, List<String>> messages = new ConcurrentHashMap<>();
+        for (final List<NameableConstruct> level : MemberResolver.levels(constructs)) {
+            // all parents of a level are resolved by the previous levels, so its constructs are independent
+            pool.invoke(new ValidationTask(level, 0, level.size(), resolver, messages));
+        }
+        final List<String> output = new ArrayList<>();
+        for (final NameableConstruct construct : constructs) {
+            output.addAll(messages.getOrDefault(construct, Collections.emptyList()));
+        }
+        return output;
+    }
+
+    private static List<String> check(final NameableConstruct construct, final MemberResolver resolver) {
+        resolver.allMethods(construct);
+        if (!(construct instanceof Class)) {
+            return Collections.emptyList();
+        }
+        final Class aClass = (Class) construct;
+        // memorize the attributes of this class for the next level
+        resolver.allAttributes(aClass);
+        final List<String> messages = new ArrayList<>();
+        for (final Method method : finalOverrides(aClass, resolver)) {
+            messages.add(Main.ERROR + "method to override is final: " + method.getSignature());
+        }
+        for (final Interface anInterface : aClass.getInterfaces()) {
+            final Method missing = firstMissingMethod(aClass, anInterface, resolver);
+            if (missing != null) {
+                messages.add(missingMethodMessage(aClass, anInterface, missing));
+            }
+        }
+        final Map<String, Attribute> inherited = resolver.inheritedAttributesWithout(aClass);
+        for (final Attribute attribute : aClass.listAttributes()) {
+            if (inherited.containsKey(attribute.getName())) {
+                messages.add("Shadowing " + attribute.getSignature() + " hides " + inherited
+                        .get(attribute.getName()).getSignature());
+            }
+        }
+        return messages;
+    }
+
+    private static List<String> findCycles(final Collection<NameableConstruct> constructs) {
+        final List<String> cycles = new ArrayList<>();
+        final Set<NameableConstruct> finished = new HashSet<>();
+        final Set<NameableConstruct> onPath = new HashSet<>();
+        for (final NameableConstruct root : constructs) {
+            if (finished.contains(root)) {
+                continue;
+            }
+            final Deque<NameableConstruct> path = new ArrayDeque<>();
+            final Deque<Iterator<NameableConstruct>> parents = new ArrayDeque<>();
+            path.push(root);
+            onPath.add(root);
+            parents.push(root.getDirectParents().iterator());
+            while (!path.isEmpty()) {
+                if (parents.peek().hasNext()) {
+                    final NameableConstruct parent = parents.peek().next();
+                    if (onPath.contains(parent)) {
+                        cycles.add(Main.ERROR + "cyclic hierarchy between " + path.peek().getName() + " and "
+                                   + parent.getName());
+                    } else if (!finished.contains(parent)) {
+                        path.push(parent);
+                        onPath.add(parent);
+                        parents.push(parent.getDirectParents().iterator());
+                    }
+                } else {
+                    parents.pop();
+                    onPath.remove(path.peek());
+                    finished.add(path.pop());
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private static void repairFinalOverrides(final Class aClass, final MemberResolver resolver,
+            final List<String> errors) {
+        for (final Method method : finalOverrides(aClass, resolver)) {
+            aClass.removeMethod(method);
+            errors.add(Main.ERROR + "method to override is final: " + method.getSignature());
+        }
+    }
+
+    private static void repairInterfaces(final Class aClass, final MemberResolver resolver,
+            final List<String> errors) {
+        for (final Interface anInterface : new ArrayList<>(aClass.getInterfaces())) {
+            final Method missing = firstMissingMethod(aClass, anInterface, resolver);
+            if (missing != null) {
+                aClass.removeImplement(anInterface);
+                errors.add(missingMethodMessage(aClass, anInterface, missing));
+            }
+        }
+    }
+
+    private static List<Method> finalOverrides(final Class aClass, final MemberResolver resolver) {
+        if (aClass.getParentClass() == null) {
+            return Collections.emptyList();
+        }
+        final List<Method> overrides = new ArrayList<>();
+        for (final Method method : aClass.listMethods()) {
+            final Method overridden = resolver.inheritedMethods(aClass.getParentClass()).get(method);
+            if (overridden != null && overridden.getFinalState() == Final.FINAL) {
+                overrides.add(method);
+            }
+        }
+        return overrides;
+    }
+
+    private static Method firstMissingMethod(final Class aClass, final Interface anInterface,
+            final MemberResolver resolver) {
+        final Set<Method> available = resolver.methodsWithout(aClass, anInterface);
+        // the smallest missing method by name and parameters, independent of the order of the hash map
+        Method first = null;
+        for (final Method required : resolver.inheritedMethods(anInterface).keySet()) {
+            if (!available.contains(required) && (first == null || required.compareTo(first) < 0)) {
+                first = required;
+            }
+        }
+        return first;
+    }
+
+    private static String missingMethodMessage(final Class aClass, final Interface anInterface,
+            final Method missing) {
+        return Main.ERROR + "interface " + anInterface.getName() + " could not be added to " + aClass.getName()
+               + ", missing " + missing.getSignature();
+    }
+
+    /**
+     * Checks a range of the constructs of one level, splits the range while it is larger than
+     * {@link #THRESHOLD}.
+     */
+    private static final class ValidationTask extends RecursiveAction {
+        private static final long serialVersionUID = -2779391740358214633L;
+        private static final int THRESHOLD = 256;
+
+        private final transient List<NameableConstruct> level;
+        private final int from;
+        private final int to;
+        private final transient MemberResolver resolver;
+        private final transient Map<NameableConstruct, List<String>> messages;
+
+        private ValidationTask(final List<NameableConstruct> level, final int from, final int to,
+                final MemberResolver resolver, final Map<NameableConstruct, List<String>> messages) {
+            this.level = level;
+            this.from = from;
+            this.to = to;
+            this.resolver = resolver;
+            this.messages = messages;
+        }
+
+        @Override protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (final NameableConstruct construct : level.subList(from, to)) {
+                    final List<String> constructMessages = check(construct, resolver);
+                    if (!constructMessages.isEmpty()) {
+                        messages.put(construct, constructMessages);
+                    }
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new ValidationTask(level, from, middle, resolver, messages),
+                    new ValidationTask(level, middle, to, resolver, messages));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package edu.kit.informatik.classeditor.database;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The changes made to a database as a list of change groups. Undoing a group reverts its changes in the opposite
+ * order and keeps it to be redone, making a new change drops the undone groups. Only the changes themselves are
+ * stored, so the history grows with the edited constructs and members and not with the size of the database, and
+ * undoing or redoing costs the size of one group. At most {@link #getDepth()} groups are kept, the oldest ones are
+ * forgotten beyond that.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class History {
+    /**
+     * The number of groups kept unless configured otherwise.
+     */
+    static final int DEFAULT_DEPTH = 100;
+
+    /**
+     * The groups that are not undone, the latest one last.
+     */
+    private final Deque<List<Change>> done = new ArrayDeque<>();
+    /**
+     * The undone groups, the latest undone one first.
+     */
+    private final Deque<List<Change>> undone = new ArrayDeque<>();
+    private int depth = DEFAULT_DEPTH;
+
+    /**
+     * Appends the given changes as one group, they are undone and redone together. Drops the undone groups and the
+     * oldest group if there are more than {@link #getDepth()} groups.
+     *
+     * @param changes the changes in the order they were made
+     */
+    void add(final List<Change> changes) {
+        if (!changes.isEmpty()) {
+            done.addLast(changes);
+            undone.clear();
+            trim();
+        }
+    }
+
+    /**
+     * Reverts the latest group that is not undone.
+     *
+     * @return whether or not there was a group to undo
+     */
+    boolean undo() {
+        final List<Change> current = done.pollLast();
+        if (current == null) {
+            return false;
+        }
+        for (int index = current.size() - 1; index >= 0; index--) {
+            current.get(index).revert();
+        }
+        undone.push(current);
+        return true;
+    }
+
+    /**
+     * Makes the latest undone group again.
+     *
+     * @return whether or not there was a group to redo
+     */
+    boolean redo() {
+        final List<Change> current = undone.poll();
+        if (current == null) {
+            return false;
+        }
+        current.forEach(Change::apply);
+        done.addLast(current);
+        return true;
+    }
+
+    /**
+     * Forgets all groups, used when changes were made that cannot be reverted.
+     */
+    void clear() {
+        done.clear();
+        undone.clear();
+    }
+
+    /**
+     * @return the maximal number of groups kept
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Sets the maximal number of groups kept and forgets the oldest groups beyond it.
+     *
+     * @param depth the number of groups, 0 keeps no history at all
+     */
+    void setDepth(final int depth) {
+        this.depth = depth;
+        trim();
+    }
+
+    private void trim() {
+        while (done.size() > depth) {
+            done.removeFirst();
+        }
+        while (done.size() + undone.size() > depth) {
+            undone.removeLast();
+        }
+    }
+
+    /**
+     * Returns the kept groups in the order they were made: the groups that are not undone, followed by the undone
+     * ones in the order they would be redone.
+     *
+     * @return the groups
+     */
+    List<List<Change>> groups() {
+        final List<List<Change>> groups = new ArrayList<>(done);
+        groups.addAll(undone);
+        return groups;
+    }
+
+    /**
+     * @return the number of undone groups which can be redone
+     */
+    int getUndoneCount() {
+        return undone.size();
+    }
+
+    /**
+     * @return the number of kept groups, the undone ones included
+     */
+    int getGroupCount() {
+        return done.size() + undone.size();
+    }
+
+    /**
+     * @return the number of changes in the kept groups, the undone ones included
+     */
+    long getChangeCount() {
+        long count = 0;
+        for (final List<Change> group : done) {
+            count += group.size();
+        }
+        for (final List<Change> group : undone) {
+            count += group.size();
+        }
+        return count;
+    }
+}
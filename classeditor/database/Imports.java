@@ -0,0 +1,99 @@
+package edu.kit.informatik.classeditor.database;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The imports of a database, used to resolve simple type names in signatures. A single-type import names one
+ * construct by its qualified name, an import on demand names a package whose constructs are all imported.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class Imports {
+    /**
+     * The suffix of an import on demand.
+     */
+    static final String ON_DEMAND_SUFFIX = Namespace.PACKAGE_SEPARATOR + "*";
+
+    /**
+     * The qualified names of the single-type imports by their simple names.
+     */
+    private final Map<String, String> types = new TreeMap<>();
+    private final Set<String> packages = new TreeSet<>();
+
+    /**
+     * Imports the construct with the given qualified name.
+     *
+     * @param name the qualified name
+     *
+     * @return whether or not the import was added, false if another construct with the same simple name is imported
+     */
+    boolean addType(final String name) {
+        return types.putIfAbsent(Namespace.simpleNameOf(name), name) == null;
+    }
+
+    /**
+     * Removes the single-type import with the given qualified name.
+     *
+     * @param name the qualified name
+     */
+    void removeType(final String name) {
+        types.remove(Namespace.simpleNameOf(name), name);
+    }
+
+    /**
+     * Imports the constructs of the given package on demand.
+     *
+     * @param packageName the name of the package
+     *
+     * @return whether or not the import was added, false if it is already present
+     */
+    boolean addPackage(final String packageName) {
+        return packages.add(packageName);
+    }
+
+    /**
+     * Removes the import on demand of the given package.
+     *
+     * @param packageName the name of the package
+     */
+    void removePackage(final String packageName) {
+        packages.remove(packageName);
+    }
+
+    /**
+     * Returns the qualified name imported for the given simple name.
+     *
+     * @param simpleName the simple name
+     *
+     * @return the qualified name or null if no single-type import declares the simple name
+     */
+    String getType(final String simpleName) {
+        return types.get(simpleName);
+    }
+
+    /**
+     * @return an unmodifiable view of the packages imported on demand
+     */
+    Collection<String> getPackages() {
+        return Collections.unmodifiableSet(packages);
+    }
+
+    /**
+     * @return the single-type imports sorted by their simple names followed by the imports on demand
+     */
+    List<String> list() {
+        final List<String> declarations = new ArrayList<>(types.values());
+        for (final String packageName : packages) {
+            declarations.add(packageName + ON_DEMAND_SUFFIX);
+        }
+        return declarations;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Writes the output of list-all-methods and list-all-attributes of every construct in a single pass over the
+ * hierarchy. The constructs are visited in topological order, so the members of every construct are built from the
+ * already resolved members of its parents.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class MemberExporter {
+
+    private MemberExporter() {
+    }
+
+    /**
+     * Writes a block for each of the given constructs: its full name followed by the signatures of all its methods
+     * and all its attributes, sorted like the list-all commands. The blocks are separated by empty lines.
+     *
+     * @param constructs the constructs to export
+     * @param writer the writer the blocks are streamed to
+     * @param pool the pool to resolve the independent constructs of each level on, null to resolve them on the
+     *         current thread
+     *
+     * @throws IOException if the writer fails
+     */
+    static void export(final Collection<NameableConstruct> constructs, final Writer writer, final ForkJoinPool pool)
+            throws IOException {
+        final MemberResolver resolver = new MemberResolver();
+        for (final List<NameableConstruct> level : MemberResolver.levels(constructs)) {
+            if (pool != null) {
+                resolver.resolveInParallel(level, pool);
+            }
+            for (final NameableConstruct construct : level) {
+                write(construct, resolver, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private static void write(final NameableConstruct construct, final MemberResolver resolver, final Writer writer)
+            throws IOException {
+        writer.write(construct.getFullName());
+        writer.write(Main.LINE_SEPARATOR);
+        final TreeSet<Method> methods = new TreeSet<>(Method.lexicographicallySortingComparator());
+        methods.addAll(resolver.allMethods(construct).values());
+        for (final Method method : methods) {
+            writer.write(method.getSignature());
+            writer.write(Main.LINE_SEPARATOR);
+        }
+        for (final Attribute attribute : new TreeSet<>(resolver.allAttributes(construct).values())) {
+            writer.write(attribute.getSignature());
+            writer.write(Main.LINE_SEPARATOR);
+        }
+        writer.write(Main.LINE_SEPARATOR);
+    }
+}
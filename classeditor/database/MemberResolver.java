@@ -0,0 +1,306 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Class;
+import edu.kit.informatik.classeditor.entity.Interface;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Resolves the members available in the constructs of a hierarchy with the same semantics as
+ * {@link NameableConstruct#listAllMethods(VisibilityModifier...)}, but computes the members of each construct only
+ * once from the already resolved members of its direct parents instead of walking all ancestors again. A class that
+ * adds nothing to its parent class shares the resolved members of its parent. The hierarchy must not change while a
+ * resolver is used.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class MemberResolver {
+    /**
+     * All methods available in a construct, mapped to themselves to find the available instance of a method.
+     */
+    private final Map<NameableConstruct, Map<Method, Method>> allMethods = new ConcurrentHashMap<>();
+    /**
+     * The methods a construct passes on to the constructs extending or implementing it.
+     */
+    private final Map<NameableConstruct, Map<Method, Method>> inheritedMethods = new ConcurrentHashMap<>();
+    /**
+     * The attributes a class passes on to the classes extending it, mapped by their names.
+     */
+    private final Map<Class, Map<String, Attribute>> inheritedAttributes = new ConcurrentHashMap<>();
+    /**
+     * All attributes available in a construct, mapped by their names.
+     */
+    private final Map<NameableConstruct, Map<String, Attribute>> allAttributes = new ConcurrentHashMap<>();
+
+    /**
+     * Sorts the given constructs so that every construct is placed after all of its parents.
+     *
+     * @param constructs the constructs to sort
+     *
+     * @return the constructs in topological order
+     */
+    static List<NameableConstruct> topologicalOrder(final Collection<NameableConstruct> constructs) {
+        final List<NameableConstruct> order = new ArrayList<>(constructs.size());
+        final Set<NameableConstruct> visited = new HashSet<>();
+        final Deque<NameableConstruct> stack = new ArrayDeque<>();
+        for (final NameableConstruct root : constructs) {
+            if (!visited.add(root)) {
+                continue;
+            }
+            stack.push(root);
+            final Deque<Iterator<NameableConstruct>> parents = new ArrayDeque<>();
+            parents.push(root.getDirectParents().iterator());
+            while (!stack.isEmpty()) {
+                if (parents.peek().hasNext()) {
+                    final NameableConstruct parent = parents.peek().next();
+                    if (visited.add(parent)) {
+                        stack.push(parent);
+                        parents.push(parent.getDirectParents().iterator());
+                    }
+                } else {
+                    parents.pop();
+                    order.add(stack.pop());
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Splits the given acyclic constructs into levels, every construct is placed in a later level than all of its
+     * parents. The constructs of one level do not depend on each other.
+     *
+     * @param constructs the constructs to split
+     *
+     * @return the levels of the hierarchy, starting with the constructs without parents
+     */
+    static List<List<NameableConstruct>> levels(final Collection<NameableConstruct> constructs) {
+        final Map<NameableConstruct, Integer> depths = new HashMap<>();
+        final List<List<NameableConstruct>> levels = new ArrayList<>();
+        for (final NameableConstruct construct : topologicalOrder(constructs)) {
+            int depth = 0;
+            for (final NameableConstruct parent : construct.getDirectParents()) {
+                depth = Math.max(depth, depths.get(parent) + 1);
+            }
+            depths.put(construct, depth);
+            if (levels.size() == depth) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(depth).add(construct);
+        }
+        return levels;
+    }
+
+    /**
+     * Resolves the methods and attributes of all given constructs in parallel on the given pool. All parents of the
+     * constructs have to be resolved already, e.g. by resolving the previous level of {@link #levels(Collection)}.
+     *
+     * @param level the constructs to resolve
+     * @param pool the pool to resolve the constructs on
+     */
+    void resolveInParallel(final List<NameableConstruct> level, final ForkJoinPool pool) {
+        pool.submit(() -> level.parallelStream().forEach(construct -> {
+            allMethods(construct);
+            allAttributes(construct);
+        })).join();
+    }
+
+    /**
+     * Returns all methods available in the given construct, the same ones as
+     * {@link NameableConstruct#listAllMethods(VisibilityModifier...)} with {@link VisibilityModifier#PRIVATE}.
+     *
+     * @param construct the construct
+     *
+     * @return an unmodifiable map of the available methods to themselves
+     */
+    Map<Method, Method> allMethods(final NameableConstruct construct) {
+        resolve(construct);
+        return allMethods.get(construct);
+    }
+
+    /**
+     * Returns the methods the given construct passes on to the constructs extending or implementing it.
+     *
+     * @param construct the construct
+     *
+     * @return an unmodifiable map of the inherited methods to themselves
+     */
+    Map<Method, Method> inheritedMethods(final NameableConstruct construct) {
+        resolve(construct);
+        return inheritedMethods.get(construct);
+    }
+
+    /**
+     * Returns the methods of the given class that do not stem from the given interface: its own methods, the
+     * methods of its other interfaces and the methods inherited from its parent class.
+     *
+     * @param aClass the class
+     * @param excluded the interface whose methods are not considered
+     *
+     * @return the available methods without the ones of the given interface
+     */
+    Set<Method> methodsWithout(final Class aClass, final Interface excluded) {
+        final Set<Method> methods = new HashSet<>(aClass.listMethods());
+        for (final Interface anInterface : aClass.getInterfaces()) {
+            if (!anInterface.equals(excluded)) {
+                methods.addAll(inheritedMethods(anInterface).keySet());
+            }
+        }
+        if (aClass.getParentClass() != null) {
+            methods.addAll(inheritedMethods(aClass.getParentClass()).keySet());
+        }
+        return methods;
+    }
+
+    /**
+     * Returns all attributes available in the given construct, the same ones as
+     * {@link NameableConstruct#listAllAttributes(VisibilityModifier...)}, mapped by their names.
+     *
+     * @param construct the construct
+     *
+     * @return an unmodifiable map of the available attributes by their names
+     */
+    Map<String, Attribute> allAttributes(final NameableConstruct construct) {
+        final Map<String, Attribute> resolved = allAttributes.get(construct);
+        if (resolved != null) {
+            return resolved;
+        }
+        final Map<String, Attribute> attributes;
+        if (construct instanceof Class && construct.listAttributes().isEmpty() && ((Class) construct)
+                .getInterfaces().isEmpty()) {
+            // share the attributes of the parent class instead of copying them
+            attributes = ((Class) construct).getParentClass() != null
+                    ? inheritedAttributes(((Class) construct).getParentClass())
+                    : Collections.emptyMap();
+        } else {
+            final Map<String, Attribute> collected = new HashMap<>();
+            construct.listAttributes().forEach(attribute -> collected.put(attribute.getName(), attribute));
+            if (construct instanceof Class) {
+                inheritedAttributesWithout((Class) construct).forEach(collected::putIfAbsent);
+            } else if (construct instanceof Interface) {
+                for (final Interface parent : ((Interface) construct).getParentInterfaces()) {
+                    allAttributes(parent).forEach(collected::putIfAbsent);
+                }
+            }
+            attributes = Collections.unmodifiableMap(collected);
+        }
+        allAttributes.put(construct, attributes);
+        return attributes;
+    }
+
+    /**
+     * Returns the attributes the given class inherits from its interfaces and its parent class, mapped by their
+     * names. Attributes of interfaces hide the ones of the parent class like in
+     * {@link NameableConstruct#listAllAttributes(VisibilityModifier...)}.
+     *
+     * @param aClass the class
+     *
+     * @return the inherited attributes by their names
+     */
+    Map<String, Attribute> inheritedAttributesWithout(final Class aClass) {
+        final Map<String, Attribute> attributes = new HashMap<>();
+        for (final Interface anInterface : aClass.getInterfaces()) {
+            allAttributes(anInterface).forEach(attributes::putIfAbsent);
+        }
+        if (aClass.getParentClass() != null) {
+            inheritedAttributes(aClass.getParentClass()).forEach(attributes::putIfAbsent);
+        }
+        return attributes;
+    }
+
+    /**
+     * Returns the attributes the given class passes on to the classes extending it, mapped by their names.
+     *
+     * @param aClass the class
+     *
+     * @return the inherited attributes by their names
+     */
+    Map<String, Attribute> inheritedAttributes(final Class aClass) {
+        final Map<String, Attribute> resolved = inheritedAttributes.get(aClass);
+        if (resolved != null) {
+            return resolved;
+        }
+        final Map<String, Attribute> all = allAttributes(aClass);
+        final Map<String, Attribute> attributes = withoutPrivate(all, Attribute::getVisibilityModifier);
+        inheritedAttributes.put(aClass, attributes);
+        return attributes;
+    }
+
+    private void resolve(final NameableConstruct construct) {
+        if (allMethods.containsKey(construct)) {
+            return;
+        }
+        final Map<Method, Method> methods;
+        if (construct instanceof Class && construct.listMethods().isEmpty() && ((Class) construct).getInterfaces()
+                .isEmpty()) {
+            // share the methods of the parent class instead of copying them
+            methods = ((Class) construct).getParentClass() != null
+                    ? inheritedMethods(((Class) construct).getParentClass())
+                    : Collections.emptyMap();
+        } else if (construct instanceof Class) {
+            final Class aClass = (Class) construct;
+            final Map<Method, Method> collected = new HashMap<>();
+            // the own methods are added first so they are the ones kept for equal signatures
+            construct.listMethods().forEach(method -> collected.putIfAbsent(method, method));
+            for (final Interface anInterface : aClass.getInterfaces()) {
+                inheritedMethods(anInterface).forEach(collected::putIfAbsent);
+            }
+            if (aClass.getParentClass() != null) {
+                inheritedMethods(aClass.getParentClass()).forEach(collected::putIfAbsent);
+            }
+            methods = Collections.unmodifiableMap(collected);
+        } else if (construct instanceof Interface) {
+            final Map<Method, Method> collected = new HashMap<>();
+            for (final Method method : construct.listMethods()) {
+                // private methods of interfaces are not available to anyone else
+                if (method.getVisibilityModifier() != VisibilityModifier.PRIVATE) {
+                    collected.put(method, method);
+                }
+            }
+            for (final Interface parent : ((Interface) construct).getParentInterfaces()) {
+                inheritedMethods(parent).forEach(collected::putIfAbsent);
+            }
+            methods = Collections.unmodifiableMap(collected);
+        } else {
+            final Map<Method, Method> collected = new HashMap<>();
+            construct.listAllMethods(VisibilityModifier.PRIVATE).forEach(method -> collected.put(method, method));
+            methods = Collections.unmodifiableMap(collected);
+        }
+        inheritedMethods.put(construct, withoutPrivate(methods, Method::getVisibilityModifier));
+        allMethods.put(construct, methods);
+    }
+
+    /**
+     * Returns the given members without the private ones, the given map itself if it contains no private members.
+     */
+    private static <K, V> Map<K, V> withoutPrivate(final Map<K, V> members,
+            final Function<V, VisibilityModifier> visibility) {
+        final Map<K, V> nonPrivate = new HashMap<>();
+        members.forEach((key, member) -> {
+            if (visibility.apply(member) != VisibilityModifier.PRIVATE) {
+                nonPrivate.put(key, member);
+            }
+        });
+        return nonPrivate.size() == members.size()
+                ? members
+                : Collections.unmodifiableMap(nonPrivate);
+    }
+}
@@ -0,0 +1,380 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.ColumnarMemberStore;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.MethodSignature;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.OffHeapArena;
+import edu.kit.informatik.classeditor.entity.OffHeapMemberStore;
+import edu.kit.informatik.classeditor.entity.SymbolTable;
+import edu.kit.informatik.classeditor.entity.Symbols;
+import edu.kit.informatik.classeditor.entity.VisibilityBuckets;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Estimates the retained heap size of a {@link Database}. The shallow sizes of the entities are derived from their
+ * declared fields, assuming a 64 bit JVM with compressed object pointers. The containers of the JDK are estimated
+ * with the sizes of their known layout.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class MemoryEstimator {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+    /**
+     * The size of one entry of a {@link java.util.TreeMap}.
+     */
+    private static final int TREE_MAP_ENTRY = 40;
+    /**
+     * The size of a compact {@link String} object without its byte array.
+     */
+    private static final int STRING = 24;
+    /**
+     * The size of a {@link SymbolTable} entry besides its content: its start and about two slots of the hash table.
+     */
+    private static final int SYMBOL = 3 * Integer.BYTES;
+    /**
+     * The size of an entry of a {@link java.util.HashMap} and its slot in the table.
+     */
+    private static final int HASH_MAP_ENTRY = 36;
+    /**
+     * The size of a {@link java.util.TreeSet} and its map.
+     */
+    private static final int TREE_SET = 64;
+    /**
+     * The size of a small {@link java.util.ArrayList} and its array.
+     */
+    private static final int ARRAY_LIST = 80;
+    /**
+     * The size of an entry of the signature cache of the symbols.
+     */
+    private static final int CACHE_ENTRY = 32;
+    /**
+     * The size of the key of an interned {@link MethodSignature}: three references.
+     */
+    private static final int SIGNATURE_KEY = 24;
+
+    /**
+     * The size of the array of a {@link VisibilityBuckets} with one reference per visibility and of its factory.
+     */
+    private static final int BUCKET_ARRAY = 32;
+    /**
+     * The size of a recorded {@link Change}: the object with the database and up to three operands, and its slot in
+     * the list of its group.
+     */
+    private static final int CHANGE = 36;
+    /**
+     * The size of the list of a change group, its array and its slot in the history.
+     */
+    private static final int GROUP = 40;
+
+    private static final Map<java.lang.Class<?>, Long> SHALLOW_SIZES = new IdentityHashMap<>();
+
+    private final Set<String> countedStrings = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Object> countedShared = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Category constructs = new Category("constructs");
+    private final Category attributes = new Category("attributes");
+    private final Category methods = new Category("methods");
+    private final Category symbols = new Category("symbols");
+    private final Category signatures = new Category("signatures");
+    private final Category indexes = new Category("indexes");
+    private final Category strings = new Category("strings");
+    private final Category history = new Category("history");
+    /**
+     * The arena holding the members outside of the heap, null if they are kept on the heap.
+     */
+    private final OffHeapArena arena;
+
+    private MemoryEstimator(final OffHeapArena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Estimates the heap bytes the given construct adds to a database, for the accounting between two estimates of
+     * the whole database.
+     *
+     * @param construct the construct
+     * @param arena the arena holding the members outside of the heap or null if they are kept on the heap
+     *
+     * @return the estimated number of bytes
+     */
+    static long constructBytes(final NameableConstruct construct, final OffHeapArena arena) {
+        return estimate(Collections.singleton(construct), arena).heapBytes();
+    }
+
+    /**
+     * Estimates the heap bytes the given attribute adds to its construct, for the accounting between two estimates of
+     * the whole database. The name is counted as if it was a new symbol.
+     *
+     * @param attribute the attribute
+     * @param arena the arena holding the members outside of the heap or null if they are kept on the heap
+     *
+     * @return the estimated number of bytes, 0 for an attribute stored in the arena
+     */
+    static long attributeBytes(final Attribute attribute, final OffHeapArena arena) {
+        return arena != null
+                ? 0
+                : 2 * Integer.BYTES + 1 + symbolBytes(attribute.getName());
+    }
+
+    /**
+     * Estimates the heap bytes the given method adds to its construct, for the accounting between two estimates of
+     * the whole database. The name is counted as if it was a new symbol, the parameter list as if it was shared.
+     *
+     * @param method the method
+     * @param arena the arena holding the members outside of the heap or null if they are kept on the heap
+     *
+     * @return the estimated number of bytes, 0 for a method stored in the arena
+     */
+    static long methodBytes(final Method method, final OffHeapArena arena) {
+        return arena != null
+                ? 0
+                : 3 * Integer.BYTES + 1 + symbolBytes(method.getName());
+    }
+
+    /**
+     * Estimates the retained size of the given constructs. The parts of a database besides its constructs are added
+     * to the estimate with the other add methods.
+     *
+     * @param measured the constructs to estimate
+     * @param arena the arena holding the members outside of the heap or null if they are kept on the heap
+     *
+     * @return the estimate
+     */
+    static MemoryEstimator estimate(final Collection<NameableConstruct> measured, final OffHeapArena arena) {
+        final MemoryEstimator estimator = new MemoryEstimator(arena);
+        for (final NameableConstruct construct : measured) {
+            estimator.add(construct);
+        }
+        return estimator;
+    }
+
+    private void add(final NameableConstruct construct) {
+        addString(construct.getName());
+        // the construct itself, its entry in the dictionary, its buckets and one member store per used visibility
+        final java.lang.Class<?> store = arena != null
+                ? OffHeapMemberStore.class
+                : ColumnarMemberStore.class;
+        constructs.add(shallowSize(construct.getClass()) + TREE_MAP_ENTRY + shallowSize(VisibilityBuckets.class)
+                       + BUCKET_ARRAY + usedBuckets(construct) * shallowSize(store));
+        if (arena != null) {
+            // the members are records in the arena, only the stores with the addresses of their regions are on the heap
+            return;
+        }
+        final int attributeCount = construct.getAttributeCount();
+        if (attributeCount > 0) {
+            // the name, type and flag columns, the attribute objects are only created while reading
+            attributes.add(2 * align(ARRAY_HEADER + (long) Integer.BYTES * attributeCount) + align(
+                    ARRAY_HEADER + attributeCount), attributeCount);
+        }
+        final int methodCount = construct.getMethodCount();
+        if (methodCount > 0) {
+            // the name, parameter list, return type and flag columns, the method objects are only created while
+            // reading
+            methods.add(3 * align(ARRAY_HEADER + (long) Integer.BYTES * methodCount) + align(
+                    ARRAY_HEADER + methodCount), methodCount);
+        }
+    }
+
+    /**
+     * Adds the given history to this estimate.
+     *
+     * @param undoable the history of the database of the constructs
+     */
+    void add(final History undoable) {
+        // every change holds at most one member object and the signature it pins, the other operands are shared with
+        // the database
+        final long changes = undoable.getChangeCount();
+        history.add(undoable.getGroupCount() * GROUP + changes * (CHANGE + shallowSize(Method.class) + shallowSize(
+                MethodSignature.class)), changes);
+    }
+
+    /**
+     * Adds the given symbols and the signatures cached by them or by the arena to this estimate.
+     *
+     * @param table the symbols of the members kept on the heap, null if they are kept in the arena
+     */
+    void add(final SymbolTable table) {
+        // the names and parameter lists are shared by all constructs, the table is counted as a whole
+        if (table != null) {
+            symbols.add(align(ARRAY_HEADER + table.getArrayBytes()), table.getCount());
+        }
+        final int cached = table != null
+                ? table.getCachedSignatureCount()
+                : arena != null
+                        ? arena.getCachedSignatureCount()
+                        : 0;
+        if (cached > 0) {
+            signatures.add(align(ARRAY_HEADER + (long) REFERENCE * Symbols.CACHED_SIGNATURES) + cached * (
+                    CACHE_ENTRY + shallowSize(MethodSignature.class) + SIGNATURE_KEY), cached);
+        }
+    }
+
+    /**
+     * Adds the indexes of a database to this estimate.
+     *
+     * @param methodNames the index of the method names
+     * @param declarations the index of the declaring constructs
+     * @param members the sorted members of the constructs that were paged through
+     * @param conformance the interface methods missing in their implementing classes
+     */
+    void add(final MethodNameIndex methodNames, final DeclarationIndex declarations, final SortedMemberIndex members,
+            final ConformanceTracker conformance) {
+        indexes.add(align(ARRAY_HEADER + methodNames.getBytes()) + align(ARRAY_HEADER + declarations.getBytes()), 2);
+        // every paged member is kept with its signature, in the tree of the signatures and the lists of its key
+        final long paged = members.getEntryCount();
+        indexes.add(paged * (TREE_MAP_ENTRY + STRING + ARRAY_HEADER + shallowSize(Method.class) + HASH_MAP_ENTRY
+                             + ARRAY_LIST) + members.getSignatureLength(), paged);
+        final long missing = conformance.getEntryCount();
+        indexes.add(conformance.getClassCount() * (HASH_MAP_ENTRY + TREE_SET) + missing * (TREE_MAP_ENTRY
+                + shallowSize(Method.class)), missing);
+    }
+
+    private static int usedBuckets(final NameableConstruct construct) {
+        final Set<VisibilityModifier> visibilities = EnumSet.noneOf(VisibilityModifier.class);
+        construct.listAttributes().forEach(attribute -> visibilities.add(bucket(attribute.getVisibilityModifier())));
+        construct.listMethods().forEach(method -> visibilities.add(bucket(method.getVisibilityModifier())));
+        return visibilities.size();
+    }
+
+    private static VisibilityModifier bucket(final VisibilityModifier visibility) {
+        return visibility != null
+                ? visibility
+                : VisibilityModifier.DEFAULT;
+    }
+
+    private void addString(final String string) {
+        if (countedStrings.add(string)) {
+            strings.add(stringBytes(string));
+        }
+    }
+
+    private static long stringBytes(final String string) {
+        return STRING + align(ARRAY_HEADER + string.length());
+    }
+
+    private static long symbolBytes(final String name) {
+        return SYMBOL + name.length();
+    }
+
+    private Category[] categories() {
+        return new Category[] {constructs, attributes, methods, symbols, signatures, strings, indexes, history};
+    }
+
+    private long heapBytes() {
+        long total = 0;
+        for (final Category category : categories()) {
+            total += category.bytes;
+        }
+        return total;
+    }
+
+    /**
+     * @return the estimated number of bytes, including the bytes used outside of the heap
+     */
+    long totalBytes() {
+        return heapBytes() + (arena != null
+                ? arena.getUsedBytes()
+                : 0);
+    }
+
+    /**
+     * Produces a report of this estimate with one line per kind of object.
+     *
+     * @param separator the separator between two lines of the report
+     *
+     * @return the report
+     */
+    String report(final String separator) {
+        final StringJoiner joiner = new StringJoiner(separator);
+        for (final Category category : categories()) {
+            joiner.add(category.toString());
+        }
+        joiner.add("total: " + heapBytes() + " bytes");
+        if (arena != null) {
+            joiner.add("off-heap: " + arena.getUsedBytes() + " of " + arena.getReservedBytes() + " reserved bytes");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Estimates the shallow size of an instance of the given class from its declared instance fields.
+     *
+     * @param type the class
+     *
+     * @return the estimated shallow size in bytes
+     */
+    static synchronized long shallowSize(final java.lang.Class<?> type) {
+        return SHALLOW_SIZES.computeIfAbsent(type, key -> {
+            long size = OBJECT_HEADER;
+            for (java.lang.Class<?> current = key; current != null; current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+            return align(size);
+        });
+    }
+
+    private static int fieldSize(final java.lang.Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return type == int.class || type == float.class
+                ? 4
+                : REFERENCE;
+    }
+
+    private static long align(final long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * The counted objects and bytes of one kind of object.
+     */
+    private static final class Category {
+        private final String name;
+        private long objects;
+        private long bytes;
+
+        private Category(final String name) {
+            this.name = name;
+        }
+
+        private void add(final long size) {
+            add(size, 1);
+        }
+
+        private void add(final long size, final long count) {
+            objects += count;
+            bytes += size;
+        }
+
+        @Override public String toString() {
+            return name + ":" + Main.SEPARATOR + objects + " objects, " + bytes + " bytes";
+        }
+    }
+}
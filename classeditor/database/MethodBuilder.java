@@ -0,0 +1,108 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Final;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.Type;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.util.regex.Pattern;
+
+/**
+ * Builds a method and adds it to a construct of a {@link Database}, without formatting and parsing a command. Created
+ * by {@link Database#newMethod(String, String)}. The method has {@link VisibilityModifier#DEFAULT} visibility and is
+ * not final unless stated otherwise.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class MethodBuilder {
+    private static final Pattern NAME = Pattern.compile(Method.METHOD_NAME_PATTERN);
+    private static final Type[] NO_PARAMETERS = new Type[0];
+
+    private final Database database;
+    private final String constructName;
+    private final String name;
+    private VisibilityModifier visibilityModifier = VisibilityModifier.DEFAULT;
+    private Final finalState = Final.NOT_FINAL;
+    private Type[] parameters = NO_PARAMETERS;
+    private Type returnType;
+
+    /**
+     * Instantiates a new MethodBuilder.
+     *
+     * @param database the database containing the construct
+     * @param constructName the name of the construct to add the method to
+     * @param name the name of the method
+     */
+    MethodBuilder(final Database database, final String constructName, final String name) {
+        this.database = database;
+        this.constructName = constructName;
+        this.name = name;
+    }
+
+    /**
+     * @param visibility the visibility of the method
+     *
+     * @return this builder
+     */
+    public MethodBuilder visibility(final VisibilityModifier visibility) {
+        this.visibilityModifier = visibility;
+        return this;
+    }
+
+    /**
+     * Makes the method final.
+     *
+     * @return this builder
+     */
+    public MethodBuilder asFinal() {
+        this.finalState = Final.FINAL;
+        return this;
+    }
+
+    /**
+     * @param parameterTypes the types of the parameters, at least one
+     *
+     * @return this builder
+     */
+    public MethodBuilder parameters(final Type... parameterTypes) {
+        this.parameters = parameterTypes.clone();
+        return this;
+    }
+
+    /**
+     * @param type the return type of the method
+     *
+     * @return this builder
+     */
+    public MethodBuilder returns(final Type type) {
+        this.returnType = type;
+        return this;
+    }
+
+    /**
+     * Adds the method to its construct. Nothing is added if the construct does not exist, the name is invalid, there
+     * are no parameters, a type is missing or not of the database or the construct rejects the method, e.g. because
+     * it overrides a final one.
+     *
+     * @return the added method or null if it could not be added
+     */
+    public Method add() {
+        final NameableConstruct construct = database.getConstruct(constructName);
+        if (construct == null || !NAME.matcher(name).matches() || parameters.length == 0
+            || !database.containsType(returnType) || visibilityModifier == null) {
+            return null;
+        }
+        for (final Type parameter : parameters) {
+            if (!database.containsType(parameter)) {
+                return null;
+            }
+        }
+        final Method method = new Method(name, visibilityModifier, finalState, parameters, returnType, construct);
+        return database.addMethod(construct, method).startsWith(Main.ERROR)
+                ? null
+                : method;
+    }
+}
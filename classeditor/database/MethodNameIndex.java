@@ -0,0 +1,150 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.Symbols;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Indexes the names of the methods directly contained in the constructs. A name is mapped to the constructs declaring
+ * it, see {@link Declarers}, the methods themselves stay in the constructs and are only looked up for matching names.
+ * The names are referred to by their ids in the {@link Symbols} of the database and kept sorted in
+ * {@link SortedSymbols}, so a lookup by a {@link GlobPattern} only visits the names starting with its literal prefix
+ * and an indexed name costs little more than two references.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class MethodNameIndex {
+    private final Symbols symbols;
+    private final SortedSymbols names;
+    /**
+     * The declarers of the names by the ids of the names.
+     */
+    private Object[] declarers = new Object[0];
+
+    /**
+     * Instantiates a new empty MethodNameIndex.
+     *
+     * @param symbols the symbols the names of the methods are stored with
+     */
+    MethodNameIndex(final Symbols symbols) {
+        this.symbols = symbols;
+        names = new SortedSymbols(symbols);
+    }
+
+    /**
+     * Adds the given method to this index, after it was added to its construct.
+     *
+     * @param method the method
+     */
+    void add(final Method method) {
+        final NameableConstruct construct = method.getConstruct();
+        // overloaded methods share the entry made for the first one
+        if (construct.getDeclaredMethods(method.getName()).size() == 1) {
+            add(method.getName(), construct);
+        }
+    }
+
+    private void add(final String name, final NameableConstruct construct) {
+        final int id = symbols.internName(name);
+        if (id >= declarers.length) {
+            declarers = Arrays.copyOf(declarers, Math.max(id + 1, declarers.length * 2));
+        }
+        if (declarers[id] == null) {
+            names.add(id, name.getBytes(StandardCharsets.UTF_8));
+        }
+        declarers[id] = Declarers.add(declarers[id], construct);
+    }
+
+    /**
+     * Removes the given method from this index, after it was removed from its construct.
+     *
+     * @param method the method
+     */
+    void remove(final Method method) {
+        final NameableConstruct construct = method.getConstruct();
+        final byte[] name = method.getName().getBytes(StandardCharsets.UTF_8);
+        final int id = symbols.findName(name);
+        if (id >= 0 && id < declarers.length && construct.getDeclaredMethods(method.getName()).isEmpty()) {
+            declarers[id] = Declarers.remove(declarers[id], construct);
+            if (declarers[id] == null) {
+                names.remove(id, name);
+            }
+        }
+    }
+
+    /**
+     * Replaces the content of this index with the methods of the given constructs.
+     *
+     * @param constructs the constructs
+     */
+    void rebuild(final Collection<NameableConstruct> constructs) {
+        declarers = new Object[0];
+        names.clear();
+        for (final NameableConstruct construct : constructs) {
+            final Set<String> declared = new HashSet<>();
+            for (final Method method : construct.listMethods()) {
+                if (declared.add(method.getName())) {
+                    add(method.getName(), construct);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the constructs declaring a method with the given name.
+     *
+     * @param name the name of the methods
+     *
+     * @return an unmodifiable list of the declaring constructs, sorted by their names
+     */
+    List<NameableConstruct> declarers(final String name) {
+        final int id = symbols.findName(name.getBytes(StandardCharsets.UTF_8));
+        return Declarers.sorted(id >= 0 && id < declarers.length
+                ? declarers[id]
+                : null);
+    }
+
+    /**
+     * Returns the methods whose names match the given pattern, sorted by their names and then by their signatures.
+     * Only the methods of the matching names are created.
+     *
+     * @param pattern the pattern
+     *
+     * @return the matching methods
+     */
+    List<Method> find(final GlobPattern pattern) {
+        final Comparator<Method> bySignature = Method.lexicographicallySortingComparator();
+        final List<Method> found = new ArrayList<>();
+        names.forEachStartingWith(pattern.getPrefix(), (name, id) -> {
+            if (pattern.matches(name)) {
+                final int start = found.size();
+                for (final NameableConstruct construct : Declarers.sorted(declarers[id])) {
+                    found.addAll(construct.getDeclaredMethods(name));
+                }
+                found.subList(start, found.size()).sort(bySignature);
+            }
+        });
+        return found;
+    }
+
+    /**
+     * @return the estimated heap bytes of this index, its arrays and the declarers of the names declared several times
+     */
+    long getBytes() {
+        long bytes = names.getArrayBytes() + (long) declarers.length * Integer.BYTES;
+        for (final Object entry : declarers) {
+            bytes += Declarers.getBytes(entry);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,272 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * A package of constructs and its sub-packages. The root is the default package. Every package keeps its own
+ * constructs in a {@link Dictionary} by their qualified names, so a lookup only descends along the packages of the
+ * name and a listing of a package does not visit the others.
+ * <p>
+ * Construct names start with a capital letter and package names with a lowercase one, which sorts the constructs of a
+ * package before its sub-packages. Visiting the constructs first and the sub-packages in the order of their names
+ * therefore yields all constructs sorted by their qualified names, like one flat dictionary.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class Namespace {
+    /**
+     * The separator between the packages and the simple name of a qualified name.
+     */
+    static final char PACKAGE_SEPARATOR = '.';
+
+    private final Dictionary<NameableConstruct> constructs = new Dictionary<>();
+    /**
+     * The sub-packages by their last name segments.
+     */
+    private final NavigableMap<String, Namespace> packages = new TreeMap<>();
+
+    /**
+     * Returns the package part of the given qualified name.
+     *
+     * @param name the qualified name of a construct
+     *
+     * @return the package or an empty string for the default package
+     */
+    static String packageOf(final String name) {
+        final int separator = name.lastIndexOf(PACKAGE_SEPARATOR);
+        return separator >= 0
+                ? name.substring(0, separator)
+                : "";
+    }
+
+    /**
+     * Returns the name of the given qualified name without its package.
+     *
+     * @param name the qualified name of a construct
+     *
+     * @return the simple name
+     */
+    static String simpleNameOf(final String name) {
+        return name.substring(name.lastIndexOf(PACKAGE_SEPARATOR) + 1);
+    }
+
+    /**
+     * Adds the given construct to its package, creating the package if necessary.
+     *
+     * @param construct the construct
+     *
+     * @return the added construct or null if a construct with that name is already present
+     */
+    NameableConstruct add(final NameableConstruct construct) {
+        Namespace namespace = this;
+        final String packageName = packageOf(construct.getName());
+        if (!packageName.isEmpty()) {
+            for (final String segment : packageName.split("\\" + PACKAGE_SEPARATOR)) {
+                namespace = namespace.packages.computeIfAbsent(segment, key -> new Namespace());
+            }
+        }
+        return namespace.constructs.add(construct);
+    }
+
+    /**
+     * Removes the construct with the given name and the packages left empty by that.
+     *
+     * @param name the qualified name of the construct
+     *
+     * @return the removed construct or null if no construct with that name exists
+     */
+    NameableConstruct remove(final String name) {
+        final String packageName = packageOf(name);
+        if (packageName.isEmpty()) {
+            return constructs.remove(name);
+        }
+        return remove(name, packageName.split("\\" + PACKAGE_SEPARATOR), 0);
+    }
+
+    private NameableConstruct remove(final String name, final String[] segments, final int depth) {
+        if (depth == segments.length) {
+            return constructs.remove(name);
+        }
+        final Namespace child = packages.get(segments[depth]);
+        if (child == null) {
+            return null;
+        }
+        final NameableConstruct removed = child.remove(name, segments, depth + 1);
+        if (child.isEmpty()) {
+            packages.remove(segments[depth]);
+        }
+        return removed;
+    }
+
+    private boolean isEmpty() {
+        return packages.isEmpty() && constructs.values().isEmpty();
+    }
+
+    /**
+     * Returns the package with the given name.
+     *
+     * @param packageName the name of the package, an empty string for the default package
+     *
+     * @return the package or null if it does not exist
+     */
+    Namespace getPackage(final String packageName) {
+        if (packageName.isEmpty()) {
+            return this;
+        }
+        Namespace namespace = this;
+        int start = 0;
+        while (namespace != null && start <= packageName.length()) {
+            int end = packageName.indexOf(PACKAGE_SEPARATOR, start);
+            if (end < 0) {
+                end = packageName.length();
+            }
+            namespace = namespace.packages.get(packageName.substring(start, end));
+            start = end + 1;
+        }
+        return namespace;
+    }
+
+    /**
+     * Checks if a construct with the given qualified name is present.
+     *
+     * @param name the qualified name
+     *
+     * @return whether or not the construct is present
+     */
+    boolean containsKey(final String name) {
+        return name != null && get(name) != null;
+    }
+
+    /**
+     * Returns the construct with the given qualified name, only the packages of the name are visited.
+     *
+     * @param name the qualified name
+     *
+     * @return the construct or null if it does not exist
+     */
+    NameableConstruct get(final String name) {
+        final Namespace namespace = getPackage(packageOf(name));
+        return namespace != null
+                ? namespace.constructs.get(name)
+                : null;
+    }
+
+    /**
+     * Returns the constructs of this package and all of its sub-packages.
+     *
+     * @return the constructs, sorted by their qualified names
+     */
+    Collection<NameableConstruct> values() {
+        final List<NameableConstruct> values = new ArrayList<>();
+        collect(values);
+        return Collections.unmodifiableList(values);
+    }
+
+    private void collect(final List<NameableConstruct> values) {
+        values.addAll(constructs.values());
+        for (final Namespace child : packages.values()) {
+            child.collect(values);
+        }
+    }
+
+    /**
+     * Returns the constructs whose qualified names match the given pattern. Only the packages named by the literal
+     * prefix of the pattern are visited.
+     *
+     * @param pattern the pattern the qualified names have to match
+     *
+     * @return the matching constructs, sorted by their qualified names
+     */
+    List<NameableConstruct> find(final GlobPattern pattern) {
+        final String prefix = pattern.getPrefix();
+        final int separator = prefix.lastIndexOf(PACKAGE_SEPARATOR);
+        final Namespace namespace = separator >= 0
+                ? getPackage(prefix.substring(0, separator))
+                : this;
+        final List<NameableConstruct> found = new ArrayList<>();
+        if (namespace != null) {
+            final String partial = prefix.substring(separator + 1);
+            found.addAll(namespace.constructs.find(pattern));
+            final Map<String, Namespace> candidates = partial.isEmpty()
+                    ? namespace.packages
+                    : namespace.packages.subMap(partial, true, partial + Character.MAX_VALUE, false);
+            for (final Namespace child : candidates.values()) {
+                child.find(pattern, found);
+            }
+        }
+        return found;
+    }
+
+    private void find(final GlobPattern pattern, final List<NameableConstruct> found) {
+        found.addAll(constructs.find(pattern));
+        for (final Namespace child : packages.values()) {
+            child.find(pattern, found);
+        }
+    }
+
+    /**
+     * Writes the full names of all constructs to the given writer, each one followed by the given separator.
+     *
+     * @param writer the writer to write to
+     * @param separator the separator to be written after each construct
+     *
+     * @return whether or not anything was written
+     *
+     * @throws IOException if the writer fails
+     */
+    boolean write(final Writer writer, final String separator) throws IOException {
+        boolean written = constructs.write(writer, separator);
+        for (final Namespace child : packages.values()) {
+            written |= child.write(writer, separator);
+        }
+        return written;
+    }
+
+    /**
+     * Returns the full names of all constructs.
+     *
+     * @param separator the separator between two constructs
+     *
+     * @return the full names, sorted by the qualified names
+     */
+    String list(final String separator) {
+        final StringJoiner joiner = new StringJoiner(separator);
+        for (final NameableConstruct construct : values()) {
+            joiner.add(construct.getFullName());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Returns the full names of the constructs declared in this package followed by its direct sub-packages.
+     *
+     * @param packageName the name of this package, an empty string for the default package
+     * @param separator the separator between two lines
+     *
+     * @return the constructs and sub-packages, an empty string if there are none
+     */
+    String listPackage(final String packageName, final String separator) {
+        final StringJoiner joiner = new StringJoiner(separator);
+        if (!constructs.values().isEmpty()) {
+            joiner.add(constructs.list(separator));
+        }
+        for (final String child : packages.keySet()) {
+            joiner.add("package " + (packageName.isEmpty()
+                    ? child
+                    : packageName + PACKAGE_SEPARATOR + child));
+        }
+        return joiner.toString();
+    }
+}
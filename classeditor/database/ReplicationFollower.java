@@ -0,0 +1,302 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.ui.AllocationStatistics;
+import edu.kit.informatik.classeditor.ui.Command;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Keeps a read-only copy of the database of a {@link ReplicationLeader} by applying the commands it ships, in the
+ * order of their sequence numbers. The commands of a transaction are applied together once it is committed or rolled
+ * back, so a query never sees a part of a transaction. Only the read-only commands are served. A follower which lags
+ * behind the leader by more than the given number of commands refuses them until it caught up.
+ * <p>
+ * A lost connection is opened again every second, the follower continues after the latest command it applied. If the
+ * leader does not keep these commands any more, it sends its latest snapshot instead, which replaces the database of
+ * the follower.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class ReplicationFollower implements ReplicationStatus, AutoCloseable {
+    private static final long RETRY_MILLIS = 1000;
+
+    private final Database database;
+    private final String host;
+    private final int port;
+    private final long maxLag;
+    private final Thread applier;
+    private volatile boolean closed;
+    private volatile Socket connection;
+    /**
+     * The sequence number of the latest command applied, only changed by the applier while holding the write lock.
+     */
+    private volatile long applied;
+    /**
+     * The latest sequence number of the leader known to this follower.
+     */
+    private volatile long latest;
+    /**
+     * The time of the latest line received from the leader in milliseconds, 0 before the first one.
+     */
+    private volatile long lastContact;
+    /**
+     * The refusal of the leader to serve this follower, null if it did not refuse.
+     */
+    private volatile String failure;
+
+    /**
+     * Instantiates a new ReplicationFollower and starts replicating the commands of the leader into the given empty
+     * database.
+     *
+     * @param database the empty database to replicate into, it must not be changed by other means
+     * @param host the host of the leader
+     * @param port the port of the leader
+     * @param maxLag the number of commands this follower may lag behind and still serve queries, negative for any
+     */
+    public ReplicationFollower(final Database database, final String host, final int port, final long maxLag) {
+        this.database = database;
+        this.host = host;
+        this.port = port;
+        this.maxLag = maxLag;
+        database.setReplication(this);
+        applier = new Thread(this::replicate, "replication-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    /**
+     * @return the sequence number of the latest command applied to the database
+     */
+    public long getAppliedSequence() {
+        return applied;
+    }
+
+    /**
+     * Executes the given read-only command like {@link Command#executeCommand(String, Database)}. Quitting quits the
+     * database, other commands changing it are refused.
+     *
+     * @param input the line of input
+     *
+     * @return the result of the command execution, may be null if there is no output
+     */
+    public String execute(final String input) {
+        final String refusal = check(input);
+        if (refusal != null) {
+            return refusal;
+        }
+        final Lock lock = database.getReadLock();
+        lock.lock();
+        try {
+            return Command.executeCommand(input, database);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Executes the given read-only command like
+     * {@link Command#writeCommand(String, Database, Writer, AllocationStatistics)}. Quitting quits the database,
+     * other commands changing it are refused.
+     *
+     * @param input the line of input
+     * @param output the writer the output is written to
+     * @param statistics the statistics to record the allocations in, may be null to disable the recording
+     *
+     * @throws IOException if the writer fails
+     */
+    public void writeCommand(final String input, final Writer output, final AllocationStatistics statistics)
+            throws IOException {
+        final String refusal = check(input);
+        if (refusal != null) {
+            output.write(refusal);
+            output.write(Main.LINE_SEPARATOR);
+            return;
+        }
+        final Lock lock = database.getReadLock();
+        lock.lock();
+        try {
+            Command.writeCommand(input, database, output, statistics);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether or not this follower serves the given command.
+     *
+     * @return null if the command is served, an error message otherwise
+     */
+    private String check(final String input) {
+        if (!Command.isReadOnly(input) && !input.equals(Command.QUIT.getKeyword())) {
+            return Main.ERROR + "a follower only serves commands which do not change the database";
+        }
+        final long lag = latest - applied;
+        if (maxLag >= 0 && lag > maxLag && !input.equals(Command.REPLICATION_STATUS.getKeyword())) {
+            return Main.ERROR + "the follower lags behind the leader by " + lag + " commands";
+        }
+        return null;
+    }
+
+    /**
+     * Connects to the leader and applies its commands until this follower is closed or the leader refuses it.
+     */
+    private void replicate() {
+        while (!closed && failure == null) {
+            try (Socket socket = new Socket(host, port);
+                 BufferedReader reader = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 Writer writer = new BufferedWriter(
+                         new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                connection = socket;
+                ReplicationLeader.writeLine(ReplicationLeader.FROM + Main.SEPARATOR + (applied + 1), writer);
+                writer.flush();
+                final List<String> pending = new ArrayList<>();
+                final List<String> script = new ArrayList<>();
+                for (String line = reader.readLine(); line != null && !closed; line = reader.readLine()) {
+                    lastContact = System.currentTimeMillis();
+                    if (receive(line, pending, script)) {
+                        ReplicationLeader.writeLine(ReplicationLeader.ACK + Main.SEPARATOR + applied, writer);
+                        writer.flush();
+                    }
+                }
+            } catch (final IOException e) {
+                // the leader is not reachable, the commands not applied yet are requested again
+            }
+            if (!closed && failure == null) {
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles the given line of the leader. The commands of an open transaction are collected in the given list
+     * until it is ended, the lines of a snapshot are collected in the given script until it is complete.
+     *
+     * @return whether or not commands or a snapshot were applied
+     *
+     * @throws IOException if a sequence number is missing
+     */
+    private boolean receive(final String line, final List<String> pending, final List<String> script)
+            throws IOException {
+        if (line.startsWith(ReplicationLeader.SEED + Main.SEPARATOR)) {
+            script.add(line.substring(ReplicationLeader.SEED.length() + Main.SEPARATOR.length()));
+            return false;
+        }
+        final String[] parts = line.split(Main.SEPARATOR, 3);
+        try {
+            if (parts[0].equals(ReplicationLeader.SNAPSHOT) && parts.length == 2) {
+                final long sequence = Long.parseLong(parts[1]);
+                latest = Math.max(latest, sequence);
+                // the snapshot contains the commands of the transaction as well
+                pending.clear();
+                seed(script, sequence);
+                script.clear();
+                return true;
+            } else if (parts[0].equals(ReplicationLeader.HEARTBEAT) && parts.length == 2) {
+                latest = Math.max(latest, Long.parseLong(parts[1]));
+            } else if (parts[0].equals(ReplicationLeader.ENTRY) && parts.length == 3) {
+                final long sequence = Long.parseLong(parts[1]);
+                if (sequence != applied + pending.size() + 1) {
+                    throw new IOException("expected sequence " + (applied + pending.size() + 1) + ", got " + sequence);
+                }
+                latest = Math.max(latest, sequence);
+                pending.add(parts[2]);
+                if (!pending.get(0).equals(Command.BEGIN.getKeyword()) || pending.size() > 1
+                        && (parts[2].equals(Command.COMMIT.getKeyword())
+                            || parts[2].equals(Command.ROLLBACK.getKeyword()))) {
+                    apply(pending);
+                    return true;
+                }
+            } else if (parts[0].equals(ReplicationLeader.FAILURE)) {
+                failure = line.substring(ReplicationLeader.FAILURE.length()).trim();
+            }
+        } catch (final NumberFormatException e) {
+            throw new IOException("malformed line of the leader: " + line, e);
+        }
+        return false;
+    }
+
+    /**
+     * Applies the given commands while holding the write lock and clears them.
+     */
+    private void apply(final List<String> commands) {
+        database.locked(() -> {
+            for (final String command : commands) {
+                Command.executeCommand(command, database);
+            }
+            applied += commands.size();
+            return null;
+        });
+        commands.clear();
+    }
+
+    /**
+     * Replaces the database with the given script of a snapshot while holding the write lock, so a query sees either
+     * the old or the new database.
+     */
+    private void seed(final List<String> script, final long sequence) {
+        final String error = database.locked(() -> {
+            database.clear();
+            try {
+                final String failed = Snapshot.read(new BufferedReader(new StringReader(String.join("\n", script))),
+                        database);
+                if (failed == null) {
+                    applied = sequence;
+                }
+                return failed;
+            } catch (final IOException e) {
+                // reading from memory does not fail
+                return e.getMessage();
+            }
+        });
+        if (error != null) {
+            failure = "could not apply the snapshot at sequence " + sequence + ": " + error;
+        }
+    }
+
+    @Override public String status(final String separator) {
+        final long contact = lastContact;
+        final StringJoiner joiner = new StringJoiner(separator);
+        joiner.add("follower of " + host + ":" + port + ", applied sequence " + applied + ", leader sequence "
+                   + latest + ", lag " + (latest - applied));
+        joiner.add(contact > 0
+                ? "last contact " + (System.currentTimeMillis() - contact) + " ms ago"
+                : "no contact yet");
+        if (failure != null) {
+            joiner.add("refused by the leader: " + failure);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Stops replicating, the database keeps the commands applied so far.
+     *
+     * @throws IOException if the connection could not be closed
+     */
+    @Override public void close() throws IOException {
+        closed = true;
+        applier.interrupt();
+        final Socket socket = connection;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.ui.AllocationStatistics;
+import edu.kit.informatik.classeditor.ui.Command;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Executes the commands on the only writable database of a replication and ships the commands which changed it to
+ * the connected {@link ReplicationFollower}s. A command is shipped if it succeeded, if it changed the database while
+ * reporting errors like the repairs of {@link Command#END_BULK} or if it was executed in a transaction, since a
+ * failure fails the transaction on the followers as well. Followers connect over TCP and request the commands from a
+ * sequence number on, so a reconnecting follower catches up where it stopped. Only a bounded number of commands is
+ * kept: once there are more, the database is written as a snapshot replacing them, and a follower asking for commands
+ * before the snapshot is seeded with it instead.
+ * <p>
+ * The protocol consists of lines of UTF-8 text. The follower starts with {@code from <sequence>} and acknowledges
+ * the commands it applied with {@code ack <sequence>}. The leader answers with {@code entry <sequence> <command>}
+ * for every command and sends {@code heartbeat <latest sequence>} while no command is executed. A snapshot is sent as
+ * {@code seed <command>} for every line of its script, followed by {@code snapshot <sequence>} with the sequence
+ * number of the latest command it contains. A follower asking for commands the leader does not know yet gets
+ * {@code error <message>}. Imported classes are shipped as the
+ * {@link Command#IMPORT_CLASSES} command, so the path has to be readable by the followers as well.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class ReplicationLeader implements ReplicationStatus, AutoCloseable {
+    /**
+     * The request of a follower for the commands starting with a sequence number.
+     */
+    static final String FROM = "from";
+    /**
+     * The acknowledgement of a follower that it applied the commands up to a sequence number.
+     */
+    static final String ACK = "ack";
+    /**
+     * A command with its sequence number.
+     */
+    static final String ENTRY = "entry";
+    /**
+     * The sequence number of the latest command, sent while no command is executed.
+     */
+    static final String HEARTBEAT = "heartbeat";
+    /**
+     * A line of the script of a snapshot.
+     */
+    static final String SEED = "seed";
+    /**
+     * The end of a snapshot with the sequence number of the latest command it contains.
+     */
+    static final String SNAPSHOT = "snapshot";
+    /**
+     * The refusal of a request of a follower.
+     */
+    static final String FAILURE = "error";
+    /**
+     * The number of milliseconds between two heartbeats.
+     */
+    static final long HEARTBEAT_MILLIS = 500;
+    /**
+     * The default number of commands kept after the latest snapshot.
+     */
+    public static final int DEFAULT_RETAINED_COMMANDS = 10_000;
+
+    private final Database database;
+    private final CommandLog log = new CommandLog();
+    /**
+     * The number of commands kept after the latest snapshot before a new one replaces them.
+     */
+    private final int retainedCommands;
+    private final ServerSocket server;
+    /**
+     * The connected followers with the sequence numbers they acknowledged.
+     */
+    private final Map<Socket, AtomicLong> followers = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new ReplicationLeader accepting followers on the given port of all interfaces.
+     *
+     * @param database the database to execute the commands on, it must not be changed by other means
+     * @param port the port to listen on, 0 for any free port
+     *
+     * @throws IOException if the port could not be opened
+     */
+    public ReplicationLeader(final Database database, final int port) throws IOException {
+        this(database, port, DEFAULT_RETAINED_COMMANDS);
+    }
+
+    /**
+     * Instantiates a new ReplicationLeader accepting followers on the given port of all interfaces.
+     *
+     * @param database the database to execute the commands on, it must not be changed by other means
+     * @param port the port to listen on, 0 for any free port
+     * @param retainedCommands the number of commands kept before a snapshot of the database replaces them
+     *
+     * @throws IOException if the port could not be opened
+     */
+    public ReplicationLeader(final Database database, final int port, final int retainedCommands)
+            throws IOException {
+        this.database = database;
+        this.retainedCommands = retainedCommands;
+        this.server = new ServerSocket(port);
+        database.setReplication(this);
+        start(this::accept, "replication-acceptor");
+    }
+
+    /**
+     * @return the sequence number of the latest command shipped to the followers, 0 if there is none
+     */
+    public long getLatestSequence() {
+        return log.latest();
+    }
+
+    private static void start(final Runnable task, final String name) {
+        final Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return the port this leader accepts followers on
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Executes the given command like {@link Command#executeCommand(String, Database)} and ships it to the followers
+     * if it changed the database.
+     *
+     * @param input the line of input
+     *
+     * @return the result of the command execution, may be null if there is no output
+     */
+    public String execute(final String input) {
+        if (Command.isReadOnly(input)) {
+            return Command.executeCommand(input, database);
+        }
+        final boolean inTransaction = database.isInTransaction();
+        final long changes = database.getChangeCount();
+        final String output = Command.executeCommand(input, database);
+        ship(input, output, inTransaction, changes);
+        return output;
+    }
+
+    /**
+     * Executes the given command like {@link Command#writeCommand(String, Database, Writer, AllocationStatistics)}
+     * and ships it to the followers if it changed the database. Only the output of read-only commands is streamed.
+     *
+     * @param input the line of input
+     * @param output the writer the output is written to
+     * @param statistics the statistics to record the allocations in, may be null to disable the recording
+     *
+     * @throws IOException if the writer fails
+     */
+    public void writeCommand(final String input, final Writer output, final AllocationStatistics statistics)
+            throws IOException {
+        if (Command.isReadOnly(input)) {
+            Command.writeCommand(input, database, output, statistics);
+            return;
+        }
+        final boolean inTransaction = database.isInTransaction();
+        final long changes = database.getChangeCount();
+        final StringWriter result = new StringWriter();
+        Command.writeCommand(input, database, result, statistics);
+        output.write(result.toString());
+        ship(input, result.toString(), inTransaction, changes);
+    }
+
+    /**
+     * Appends the given command to the log if it changed the database: it succeeded, it made changes despite its
+     * errors or it was executed in a transaction. Quitting is not shipped, the followers keep serving. Once the log
+     * keeps too many commands they are replaced with a snapshot, unless a transaction or bulk loading is open.
+     */
+    private void ship(final String input, final String output, final boolean inTransaction, final long changes) {
+        if (database.isActive() && (inTransaction || output == null || !output.startsWith(Main.ERROR)
+                                    || database.getChangeCount() != changes)) {
+            log.append(input);
+            if (log.size() > retainedCommands && database.isSnapshotComplete()) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Replaces the commands of the log with a snapshot of the database after the latest one.
+     */
+    private void compact() {
+        final ByteArrayOutputStream script = new ByteArrayOutputStream();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(script),
+                StandardCharsets.UTF_8))) {
+            database.writeSnapshot(writer);
+        } catch (final IOException e) {
+            // writing to memory does not fail, the log keeps its commands otherwise
+            return;
+        }
+        log.truncate(log.latest(), script.toByteArray());
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                final Socket socket = server.accept();
+                start(() -> serve(socket), "replication-sender");
+            } catch (final IOException e) {
+                // the server was closed or the connection failed before it was accepted
+            }
+        }
+    }
+
+    /**
+     * Sends the requested commands to the follower connected to the given socket and keeps sending the new ones
+     * until the follower disconnects or this leader is closed.
+     */
+    private void serve(final Socket socket) {
+        try (Socket connection = socket;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+             Writer writer = new BufferedWriter(
+                     new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+            final String request = reader.readLine();
+            if (request == null || !request.startsWith(FROM + Main.SEPARATOR)) {
+                return;
+            }
+            long next = Long.parseLong(request.substring(FROM.length() + Main.SEPARATOR.length()));
+            if (next < 1 || next > log.latest() + 1) {
+                writeLine(FAILURE + Main.SEPARATOR + "the log of the leader ends at " + log.latest(), writer);
+                writer.flush();
+                return;
+            }
+            final AtomicLong acknowledged = new AtomicLong(next - 1);
+            followers.put(connection, acknowledged);
+            start(() -> receiveAcknowledgements(reader, acknowledged), "replication-acknowledgements");
+            while (!server.isClosed()) {
+                final CommandLog.Seed seed = log.getSeed();
+                if (seed != null && next <= seed.getSequence()) {
+                    writeSeed(seed, writer);
+                    next = seed.getSequence() + 1;
+                }
+                final List<String> commands = log.await(next, HEARTBEAT_MILLIS);
+                for (final String command : commands) {
+                    writeLine(ENTRY + Main.SEPARATOR + next++ + Main.SEPARATOR + command, writer);
+                }
+                if (commands.isEmpty()) {
+                    writeLine(HEARTBEAT + Main.SEPARATOR + log.latest(), writer);
+                }
+                writer.flush();
+            }
+        } catch (final IOException | NumberFormatException e) {
+            // the follower disconnected or sent garbage, it catches up when it connects again
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    private static void writeSeed(final CommandLog.Seed seed, final Writer writer) throws IOException {
+        try (BufferedReader script = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(seed.getScript())), StandardCharsets.UTF_8))) {
+            for (String line = script.readLine(); line != null; line = script.readLine()) {
+                writeLine(SEED + Main.SEPARATOR + line, writer);
+            }
+        }
+        writeLine(SNAPSHOT + Main.SEPARATOR + seed.getSequence(), writer);
+    }
+
+    private static void receiveAcknowledgements(final BufferedReader reader, final AtomicLong acknowledged) {
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith(ACK + Main.SEPARATOR)) {
+                    acknowledged.set(Long.parseLong(line.substring(ACK.length() + Main.SEPARATOR.length())));
+                }
+            }
+        } catch (final IOException | NumberFormatException e) {
+            // the sender notices the broken connection on its next write
+        }
+    }
+
+    static void writeLine(final String line, final Writer writer) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    @Override public String status(final String separator) {
+        final long latest = log.latest();
+        final StringJoiner joiner = new StringJoiner(separator);
+        final CommandLog.Seed seed = log.getSeed();
+        joiner.add("leader on port " + getPort() + ", latest sequence " + latest + ", " + followers.size()
+                   + " followers");
+        joiner.add(seed != null
+                ? "snapshot at sequence " + seed.getSequence() + ", " + seed.getScript().length + " bytes, "
+                  + log.size() + " commands after it"
+                : "no snapshot, " + log.size() + " commands");
+        for (final Map.Entry<Socket, AtomicLong> follower : followers.entrySet()) {
+            final long acknowledged = follower.getValue().get();
+            joiner.add("follower " + follower.getKey().getRemoteSocketAddress() + ": acknowledged " + acknowledged
+                       + ", lag " + (latest - acknowledged));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Stops accepting followers and disconnects the connected ones. The database stays usable.
+     *
+     * @throws IOException if the server socket could not be closed
+     */
+    @Override public void close() throws IOException {
+        server.close();
+        for (final Socket socket : followers.keySet()) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package edu.kit.informatik.classeditor.database;
+
+/**
+ * The part a database takes in the replication of the commands changing it, either as a {@link ReplicationLeader}
+ * or as a {@link ReplicationFollower}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+interface ReplicationStatus {
+
+    /**
+     * Describes the state of the replication.
+     *
+     * @param separator the separator between two lines of the description
+     *
+     * @return the description
+     */
+    String status(String separator);
+}
@@ -0,0 +1,216 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Class;
+import edu.kit.informatik.classeditor.entity.Interface;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.ui.Command;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a database as a script of commands and restores it from such a script. The constructs, their relationships
+ * and their members are added while bulk loading, which is ended without validating them again since they were valid
+ * when they were written. The interface methods missing in some classes are added afterwards with the checks, so the
+ * restored database knows them as unimplemented again. The imports follow at the end, every type in the script is
+ * qualified and does not depend on them.
+ * <p>
+ * The script describes the state before the kept history of the database. The groups of the history follow as the
+ * commands making their changes, each group introduced by {@value #GROUP}, and are made again while restoring, so
+ * their undone groups are undone once more and the restored history can be undone and redone like the original one.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class Snapshot {
+    /**
+     * The line introducing the history, followed by the number of undone groups.
+     */
+    private static final String HISTORY = "history";
+    /**
+     * The line introducing a group of the history.
+     */
+    private static final String GROUP = "group";
+
+    private Snapshot() {
+    }
+
+    /**
+     * Writes the given constructs as a command script.
+     *
+     * @param constructs the constructs
+     * @param unimplemented the interface methods which are missing in some classes
+     * @param imports the import declarations
+     * @param writer the writer the script is written to, one command per line
+     *
+     * @throws IOException if the writer fails
+     */
+    static void write(final Collection<NameableConstruct> constructs, final Set<Method> unimplemented,
+            final Collection<String> imports, final Writer writer) throws IOException {
+        writeLine(Command.BEGIN_BULK.getKeyword(), writer);
+        for (final NameableConstruct construct : constructs) {
+            writeLine(command(Command.ADD_CONSTRUCT, construct.getUnderlyingType(), construct.getName()), writer);
+        }
+        for (final NameableConstruct construct : constructs) {
+            if (construct instanceof Class) {
+                final Class aClass = (Class) construct;
+                if (aClass.getParentClass() != null) {
+                    writeLine(command(Command.ADD_EXTENDS, aClass.getName(), aClass.getParentClass().getName()),
+                            writer);
+                }
+                for (final Interface anInterface : aClass.getInterfaces()) {
+                    writeLine(command(Command.ADD_IMPLEMENTS, aClass.getName(), anInterface.getName()), writer);
+                }
+            } else if (construct instanceof Interface) {
+                for (final Interface parent : ((Interface) construct).getParentInterfaces()) {
+                    writeLine(command(Command.ADD_EXTENDS, construct.getName(), parent.getName()), writer);
+                }
+            }
+        }
+        final List<Method> deferred = new ArrayList<>();
+        for (final NameableConstruct construct : constructs) {
+            for (final Attribute attribute : construct.listAttributes()) {
+                writeLine(command(Command.ADD_ATTRIBUTE, attribute.getSignature()), writer);
+            }
+            for (final Method method : construct.listMethods()) {
+                if (unimplemented.contains(method) && construct instanceof Interface) {
+                    deferred.add(method);
+                } else {
+                    writeLine(command(Command.ADD_METHOD, method.getSignature()), writer);
+                }
+            }
+        }
+        writeLine(Command.END_BULK.getKeyword(), writer);
+        for (final Method method : deferred) {
+            writeLine(command(Command.ADD_METHOD, method.getSignature()), writer);
+        }
+        for (final String declaration : imports) {
+            writeLine(command(Command.ADD_IMPORT, declaration), writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the given groups of a history after the script written by
+     * {@link #write(Collection, Set, Collection, Writer)}.
+     *
+     * @param groups the groups in the order they were made, the undone ones last
+     * @param undone the number of undone groups
+     * @param writer the writer the script is written to, one command per line
+     *
+     * @throws IOException if the writer fails
+     */
+    static void writeHistory(final List<List<Change>> groups, final int undone, final Writer writer)
+            throws IOException {
+        writeLine(HISTORY + Main.SEPARATOR + undone, writer);
+        for (final List<Change> group : groups) {
+            writeLine(GROUP, writer);
+            for (final Change change : group) {
+                writeLine(change.command(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Restores the constructs and the history of a command script written by
+     * {@link #write(Collection, Set, Collection, Writer)} and {@link #writeHistory(List, int, Writer)} into the given
+     * empty database.
+     *
+     * @param reader the reader of the script
+     * @param database the database to restore the constructs into
+     *
+     * @return null or the error message of the first command that failed
+     *
+     * @throws IOException if the reader fails
+     */
+    static String read(final BufferedReader reader, final Database database) throws IOException {
+        // the number of undone groups once the history started, -1 before
+        int undone = -1;
+        List<String> group = new ArrayList<>();
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (undone >= 0) {
+                if (line.equals(GROUP)) {
+                    final String error = replay(group, database);
+                    if (error != null) {
+                        return error;
+                    }
+                    group = new ArrayList<>();
+                } else {
+                    group.add(line);
+                }
+                continue;
+            }
+            if (line.startsWith(HISTORY + Main.SEPARATOR)) {
+                undone = Integer.parseInt(line.substring(HISTORY.length() + Main.SEPARATOR.length()));
+                // the imports and deferred methods of the script are part of the state before the history
+                database.clearHistory();
+                continue;
+            }
+            final String output;
+            if (line.equals(Command.BEGIN_BULK.getKeyword())) {
+                output = database.beginBulk()
+                        ? Main.OK
+                        : Main.ERROR + "could not begin bulk loading";
+            } else if (line.equals(Command.END_BULK.getKeyword())) {
+                database.endBulkUnvalidated();
+                output = Main.OK;
+            } else {
+                output = Command.executeCommand(line, database);
+            }
+            if (output != null && output.startsWith(Main.ERROR)) {
+                return output + ": " + line;
+            }
+        }
+        final String error = replay(group, database);
+        for (int index = 0; error == null && index < undone; index++) {
+            database.undo();
+        }
+        return error;
+    }
+
+    /**
+     * Makes the commands of one group of the history as one group again.
+     *
+     * @return null or the error message of the first command that failed
+     */
+    private static String replay(final List<String> group, final Database database) {
+        if (group.isEmpty()) {
+            return null;
+        }
+        return database.grouped(() -> {
+            for (final String line : group) {
+                final String output = Command.executeCommand(line, database);
+                if (output != null && output.startsWith(Main.ERROR)) {
+                    return output + ": " + line;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns the command line of the given command with the given parameters.
+     *
+     * @param command the command
+     * @param parameters the parameters, separated by {@link Main#SEPARATOR}
+     *
+     * @return the command line
+     */
+    static String command(final Command command, final String... parameters) {
+        return command.getKeyword() + Main.COMMAND_SEPARATOR + String.join(Main.SEPARATOR, parameters);
+    }
+
+    private static void writeLine(final String line, final Writer writer) throws IOException {
+        writer.write(line);
+        writer.write(Main.LINE_SEPARATOR);
+    }
+}
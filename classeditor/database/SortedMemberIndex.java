@@ -0,0 +1,313 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Keeps the sorted output of list-all-methods and list-all-attributes of the constructs that were paged through, so
+ * that every further page is read from the index instead of resolving and sorting all members again. A changed member
+ * only updates its own entry in the indices of its construct and of the constructs inheriting from it, a changed edge
+ * the entries of the members declared above it. Only the indices of the most recently paged constructs are kept.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class SortedMemberIndex {
+    /**
+     * The prefix of the line containing the cursor of the next page.
+     */
+    static final String NEXT = "next";
+    /**
+     * The maximal number of constructs whose indices are kept.
+     */
+    static final int CAPACITY = 256;
+
+    private final Map<NameableConstruct, Index<Method, Method>> methods = new Cache<>();
+    private final Map<NameableConstruct, Index<String, Attribute>> attributes = new Cache<>();
+
+    /**
+     * Returns all methods of the given construct sorted by their signatures.
+     *
+     * @param construct the construct
+     *
+     * @return an unmodifiable map of the signatures to the methods
+     */
+    synchronized NavigableMap<String, Method> methods(final NameableConstruct construct) {
+        return methods.computeIfAbsent(construct, key -> {
+            final Index<Method, Method> index = new Index<>();
+            for (final Method method : key.listAllMethods(VisibilityModifier.PRIVATE)) {
+                index.add(method, method);
+            }
+            return index;
+        }).view;
+    }
+
+    /**
+     * Returns all attributes of the given construct sorted by their signatures.
+     *
+     * @param construct the construct
+     *
+     * @return an unmodifiable map of the signatures to the attributes
+     */
+    synchronized NavigableMap<String, Attribute> attributes(final NameableConstruct construct) {
+        return attributes.computeIfAbsent(construct, key -> {
+            final Index<String, Attribute> index = new Index<>();
+            for (final Attribute attribute : key.listAllAttributes()) {
+                index.add(attribute.getName(), attribute);
+            }
+            return index;
+        }).view;
+    }
+
+    /**
+     * Updates the entries of the given method after it was added to or removed from the given construct.
+     *
+     * @param construct the changed construct
+     * @param method the added or removed method
+     */
+    synchronized void methodChanged(final NameableConstruct construct, final Method method) {
+        if (!methods.isEmpty()) {
+            update(construct, Collections.singleton(method), Collections.emptySet());
+        }
+    }
+
+    /**
+     * Updates the entries of the given attribute after it was added to or removed from the given construct.
+     *
+     * @param construct the changed construct
+     * @param attribute the added or removed attribute
+     */
+    synchronized void attributeChanged(final NameableConstruct construct, final Attribute attribute) {
+        if (!attributes.isEmpty()) {
+            update(construct, Collections.emptySet(), Collections.singleton(attribute.getName()));
+        }
+    }
+
+    /**
+     * Updates the entries of the members declared by the given parent and its ancestors after the given child
+     * started or stopped extending or implementing it. Only the members declared there can be inherited or hidden
+     * differently, the order of the other ancestors in the linearization does not change.
+     *
+     * @param child the construct whose parents changed
+     * @param parent the added or removed parent
+     */
+    synchronized void edgeChanged(final NameableConstruct child, final NameableConstruct parent) {
+        if (methods.isEmpty() && attributes.isEmpty()) {
+            return;
+        }
+        final Set<Method> changedMethods = new HashSet<>();
+        final Set<String> changedAttributes = new HashSet<>();
+        for (final NameableConstruct ancestor : parent.getLinearization()) {
+            changedMethods.addAll(ancestor.listMethods());
+            for (final Attribute attribute : ancestor.listAttributes()) {
+                changedAttributes.add(attribute.getName());
+            }
+        }
+        update(child, changedMethods, changedAttributes);
+    }
+
+    /**
+     * Resolves the given members again in the indices of the given construct and of all constructs extending or
+     * implementing it.
+     */
+    private void update(final NameableConstruct construct, final Collection<Method> changedMethods,
+            final Collection<String> changedAttributes) {
+        final Set<NameableConstruct> visited = new HashSet<>();
+        final Deque<NameableConstruct> changed = new ArrayDeque<>();
+        changed.push(construct);
+        while (!changed.isEmpty()) {
+            final NameableConstruct current = changed.pop();
+            if (!visited.add(current)) {
+                continue;
+            }
+            final Index<Method, Method> methodIndex = methods.get(current);
+            if (methodIndex != null) {
+                for (final Method method : changedMethods) {
+                    final Method listed = current.resolveMethod(method, VisibilityModifier.PRIVATE);
+                    methodIndex.put(method, listed != null
+                            ? Collections.singleton(listed)
+                            : Collections.emptySet());
+                }
+            }
+            final Index<String, Attribute> attributeIndex = attributes.get(current);
+            if (attributeIndex != null) {
+                for (final String name : changedAttributes) {
+                    attributeIndex.put(name, current.resolveAttributes(name));
+                }
+            }
+            changed.addAll(current.getDirectSubtypes());
+        }
+    }
+
+    /**
+     * Drops the indices of the given construct and of all constructs extending or implementing it.
+     *
+     * @param construct the removed construct
+     */
+    synchronized void invalidate(final NameableConstruct construct) {
+        if (methods.isEmpty() && attributes.isEmpty()) {
+            return;
+        }
+        final Deque<NameableConstruct> changed = new ArrayDeque<>();
+        changed.push(construct);
+        while (!changed.isEmpty()) {
+            final NameableConstruct current = changed.pop();
+            methods.remove(current);
+            attributes.remove(current);
+            changed.addAll(current.getDirectSubtypes());
+        }
+    }
+
+    /**
+     * Drops the indices of all constructs.
+     */
+    synchronized void clear() {
+        methods.clear();
+        attributes.clear();
+    }
+
+    /**
+     * @return the number of members in the kept indices
+     */
+    synchronized long getEntryCount() {
+        long count = 0;
+        for (final Index<?, ?> index : methods.values()) {
+            count += index.sorted.size();
+        }
+        for (final Index<?, ?> index : attributes.values()) {
+            count += index.sorted.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return the total length of the signatures the kept indices are sorted by
+     */
+    synchronized long getSignatureLength() {
+        long length = 0;
+        for (final Index<?, ?> index : methods.values()) {
+            length += signatureLength(index);
+        }
+        for (final Index<?, ?> index : attributes.values()) {
+            length += signatureLength(index);
+        }
+        return length;
+    }
+
+    private static long signatureLength(final Index<?, ?> index) {
+        long length = 0;
+        for (final String signature : index.sorted.keySet()) {
+            length += signature.length();
+        }
+        return length;
+    }
+
+    /**
+     * Produces one page of the given index: at most limit signatures following the given cursor. If more
+     * signatures follow the page, the last line contains {@link #NEXT} and the cursor of the next page.
+     *
+     * @param index the sorted signatures to page through
+     * @param after the signature after which the page starts, null to start with the first one
+     * @param limit the maximal number of signatures on the page
+     * @param separator the separator between two lines
+     *
+     * @return the page or null if no signature follows the cursor
+     */
+    static String page(final NavigableMap<String, ?> index, final String after, final int limit,
+            final String separator) {
+        final NavigableMap<String, ?> remaining = after != null
+                ? index.tailMap(after, false)
+                : index;
+        final Iterator<String> signatures = remaining.keySet().iterator();
+        if (!signatures.hasNext()) {
+            return null;
+        }
+        final StringJoiner joiner = new StringJoiner(separator);
+        String last = null;
+        for (int count = 0; count < limit && signatures.hasNext(); count++) {
+            last = signatures.next();
+            joiner.add(last);
+        }
+        if (signatures.hasNext()) {
+            joiner.add(NEXT + Main.SEPARATOR + last);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * The listed members of one construct sorted by their signatures, together with the listed members of every
+     * key so that the members resolved again replace the entries of the previous ones.
+     *
+     * @param <K> the type of the keys, members with equal keys hide each other
+     * @param <T> the type of the members
+     */
+    private static final class Index<K, T extends Nameable> {
+        private final NavigableMap<String, T> sorted = new TreeMap<>();
+        private final NavigableMap<String, T> view = Collections.unmodifiableNavigableMap(sorted);
+        private final Map<K, Collection<T>> listed = new HashMap<>();
+
+        /**
+         * Adds the given member to the listed members of the given key.
+         *
+         * @param key the key
+         * @param member the listed member
+         */
+        void add(final K key, final T member) {
+            listed.computeIfAbsent(key, any -> new ArrayList<>()).add(member);
+            sorted.put(member.getSignature(), member);
+        }
+
+        /**
+         * Replaces the listed members of the given key.
+         *
+         * @param key the key
+         * @param members the listed members, empty if none is listed
+         */
+        void put(final K key, final Collection<? extends T> members) {
+            final Collection<T> previous = listed.remove(key);
+            if (previous != null) {
+                for (final T member : previous) {
+                    sorted.remove(member.getSignature());
+                }
+            }
+            for (final T member : members) {
+                add(key, member);
+            }
+        }
+    }
+
+    /**
+     * A map evicting its least recently used entry once it holds more than {@link #CAPACITY} entries.
+     *
+     * @param <V> the type of the values
+     */
+    private static final class Cache<V> extends LinkedHashMap<NameableConstruct, V> {
+        private static final long serialVersionUID = 4210928127153386342L;
+
+        Cache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override protected boolean removeEldestEntry(final Map.Entry<NameableConstruct, V> eldest) {
+            return size() > CAPACITY;
+        }
+    }
+}
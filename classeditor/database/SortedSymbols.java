@@ -0,0 +1,174 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Symbols;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The ids of names in {@link Symbols}, sorted by the names. The ids are kept in chunks of at most {@value #CHUNK_SIZE},
+ * so adding or removing an id moves the ids of a single chunk, and an id costs four bytes instead of a map entry.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class SortedSymbols {
+    private static final int CHUNK_SIZE = 256;
+
+    private final Symbols symbols;
+    private int[][] chunks = new int[0][];
+    private int[] sizes = new int[0];
+    private int chunkCount;
+
+    /**
+     * Instantiates a new empty SortedSymbols.
+     *
+     * @param symbols the symbols the ids refer to
+     */
+    SortedSymbols(final Symbols symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Adds the id of the given name, it must not be contained yet.
+     *
+     * @param id the id of the name
+     * @param name the encoded name
+     */
+    void add(final int id, final byte[] name) {
+        if (chunkCount == 0) {
+            final int[] ids = new int[CHUNK_SIZE];
+            ids[0] = id;
+            insertChunk(0, ids, 1);
+            return;
+        }
+        // the last chunk takes the names sorting after all others
+        final int chunk = Math.min(chunkOf(name), chunkCount - 1);
+        if (sizes[chunk] == CHUNK_SIZE) {
+            final int half = CHUNK_SIZE / 2;
+            final int[] upper = new int[CHUNK_SIZE];
+            System.arraycopy(chunks[chunk], half, upper, 0, half);
+            sizes[chunk] = half;
+            insertChunk(chunk + 1, upper, half);
+            add(id, name);
+            return;
+        }
+        final int position = position(chunk, name);
+        final int[] ids = chunks[chunk];
+        System.arraycopy(ids, position, ids, position + 1, sizes[chunk] - position);
+        ids[position] = id;
+        sizes[chunk]++;
+    }
+
+    /**
+     * Removes the id of the given name if it is contained.
+     *
+     * @param id the id of the name
+     * @param name the encoded name
+     */
+    void remove(final int id, final byte[] name) {
+        final int chunk = chunkOf(name);
+        if (chunk == chunkCount) {
+            return;
+        }
+        final int position = position(chunk, name);
+        final int[] ids = chunks[chunk];
+        if (position == sizes[chunk] || ids[position] != id) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, sizes[chunk] - position - 1);
+        if (--sizes[chunk] == 0) {
+            System.arraycopy(chunks, chunk + 1, chunks, chunk, chunkCount - chunk - 1);
+            System.arraycopy(sizes, chunk + 1, sizes, chunk, chunkCount - chunk - 1);
+            chunks[--chunkCount] = null;
+        }
+    }
+
+    /**
+     * Removes all ids.
+     */
+    void clear() {
+        chunks = new int[0][];
+        sizes = new int[0];
+        chunkCount = 0;
+    }
+
+    /**
+     * Passes the names starting with the given prefix and their ids to the given action, in the order of the names.
+     * Only these names are decoded.
+     *
+     * @param prefix the prefix
+     * @param action the action
+     */
+    void forEachStartingWith(final String prefix, final ObjIntConsumer<String> action) {
+        final byte[] encoded = prefix.getBytes(StandardCharsets.UTF_8);
+        final int first = chunkOf(encoded);
+        for (int chunk = first; chunk < chunkCount; chunk++) {
+            final int[] ids = chunks[chunk];
+            for (int position = chunk == first
+                    ? position(chunk, encoded)
+                    : 0; position < sizes[chunk]; position++) {
+                final String name = symbols.name(ids[position]);
+                if (!name.startsWith(prefix)) {
+                    return;
+                }
+                action.accept(name, ids[position]);
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes of the chunks and their sizes
+     */
+    long getArrayBytes() {
+        return (long) chunkCount * CHUNK_SIZE * Integer.BYTES + (long) chunks.length * 2 * Integer.BYTES;
+    }
+
+    /**
+     * Returns the first chunk whose last name is not less than the given one, the number of chunks if there is none.
+     */
+    private int chunkOf(final byte[] name) {
+        int low = 0;
+        int high = chunkCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (symbols.compareName(chunks[middle][sizes[middle] - 1], name) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position of the first name in the given chunk which is not less than the given one.
+     */
+    private int position(final int chunk, final byte[] name) {
+        final int[] ids = chunks[chunk];
+        int low = 0;
+        int high = sizes[chunk];
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (symbols.compareName(ids[middle], name) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void insertChunk(final int chunk, final int[] ids, final int size) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(1, chunkCount * 2));
+            sizes = Arrays.copyOf(sizes, Math.max(1, chunkCount * 2));
+        }
+        System.arraycopy(chunks, chunk, chunks, chunk + 1, chunkCount - chunk);
+        System.arraycopy(sizes, chunk, sizes, chunk + 1, chunkCount - chunk);
+        chunks[chunk] = ids;
+        sizes[chunk] = size;
+        chunkCount++;
+    }
+}
@@ -0,0 +1,263 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.entity.Attribute;
+import edu.kit.informatik.classeditor.entity.Class;
+import edu.kit.informatik.classeditor.entity.Final;
+import edu.kit.informatik.classeditor.entity.Interface;
+import edu.kit.informatik.classeditor.entity.Method;
+import edu.kit.informatik.classeditor.entity.NameableConstruct;
+import edu.kit.informatik.classeditor.entity.ParameterList;
+import edu.kit.informatik.classeditor.entity.PrimitiveType;
+import edu.kit.informatik.classeditor.entity.Type;
+import edu.kit.informatik.classeditor.entity.VisibilityModifier;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates Java source skeletons for constructs: one file per construct with its relationships, fields for its
+ * attributes and stubs for its methods. The source is streamed to the files while it is generated.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class StubExporter {
+    private static final String SOURCE_SUFFIX = ".java";
+    private static final String ARCHIVE_SUFFIX = ".zip";
+    private static final String INDENT = "    ";
+    private static final String PARAMETER_PREFIX = "arg";
+    /**
+     * The visibilities from the weakest to the strongest access.
+     */
+    private static final List<VisibilityModifier> ACCESS = Arrays.asList(VisibilityModifier.PRIVATE,
+            VisibilityModifier.DEFAULT, VisibilityModifier.PROTECTED, VisibilityModifier.PUBLIC);
+
+    private StubExporter() {
+    }
+
+    /**
+     * Generates the skeletons of the given constructs. If the target ends with {@value #ARCHIVE_SUFFIX}, the files
+     * are written to a new archive one after another, otherwise they are written to the target directory in
+     * parallel.
+     *
+     * @param constructs the constructs to generate skeletons for
+     * @param target the directory or archive to write to
+     *
+     * @throws IOException if a file cannot be written
+     */
+    static void export(final Collection<NameableConstruct> constructs, final Path target) throws IOException {
+        if (target.toString().endsWith(ARCHIVE_SUFFIX)) {
+            exportArchive(constructs, target);
+            return;
+        }
+        Files.createDirectories(target);
+        for (final NameableConstruct construct : constructs) {
+            // the directories of the packages, before the files are written in parallel
+            Files.createDirectories(target.resolve(sourceFile(construct)).getParent());
+        }
+        try {
+            constructs.parallelStream().forEach(construct -> {
+                try (Writer writer = Files.newBufferedWriter(target.resolve(sourceFile(construct)))) {
+                    write(construct, writer);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void exportArchive(final Collection<NameableConstruct> constructs, final Path target)
+            throws IOException {
+        try (OutputStream output = Files.newOutputStream(target);
+             ZipOutputStream archive = new ZipOutputStream(output)) {
+            // the writer is only flushed per entry, closing it would close the archive
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(archive, StandardCharsets.UTF_8));
+            for (final NameableConstruct construct : constructs) {
+                archive.putNextEntry(new ZipEntry(sourceFile(construct)));
+                write(construct, writer);
+                writer.flush();
+                archive.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Finds a construct of a named package referring to a construct of the default package by its parents or the types
+     * of its members. Such a reference cannot be compiled, since the default package can neither be imported nor
+     * named in a qualified name.
+     *
+     * @param constructs the constructs to search
+     *
+     * @return a description of the first such reference or null if there is none
+     */
+    static String findDefaultPackageReference(final Collection<NameableConstruct> constructs) {
+        for (final NameableConstruct construct : constructs) {
+            if (Namespace.packageOf(construct.getName()).isEmpty()) {
+                continue;
+            }
+            final List<Type> types = new ArrayList<>(construct.getDirectParents());
+            for (final Attribute attribute : construct.listAttributes()) {
+                types.add(attribute.getType());
+            }
+            for (final Method method : construct.listMethods()) {
+                types.add(method.getReturnType());
+                final ParameterList parameters = method.getParameterList();
+                for (int index = 0; index < parameters.size(); index++) {
+                    types.add(parameters.get(index));
+                }
+            }
+            for (final Type type : types) {
+                if (type instanceof NameableConstruct && Namespace.packageOf(type.getType()).isEmpty()) {
+                    return construct.getName() + " refers to " + type.getType() + " of the default package";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the path of the source file of the given construct, in the directories of its package.
+     */
+    private static String sourceFile(final NameableConstruct construct) {
+        return construct.getName().replace(Namespace.PACKAGE_SEPARATOR, '/') + SOURCE_SUFFIX;
+    }
+
+    /**
+     * Writes the skeleton of the given construct.
+     *
+     * @param construct the construct
+     * @param writer the writer to write the source to
+     *
+     * @throws IOException if the writer fails
+     */
+    static void write(final NameableConstruct construct, final Writer writer) throws IOException {
+        final String packageName = Namespace.packageOf(construct.getName());
+        if (!packageName.isEmpty()) {
+            // the other constructs are referred to by their qualified names, so no imports are needed
+            writer.write("package " + packageName + ";" + Main.LINE_SEPARATOR + Main.LINE_SEPARATOR);
+        }
+        writer.write(VisibilityModifier.PUBLIC.getPattern() + Main.SEPARATOR + construct.getUnderlyingType()
+                     + Main.SEPARATOR + Namespace.simpleNameOf(construct.getName()));
+        if (construct instanceof Class) {
+            final Class aClass = (Class) construct;
+            if (aClass.getParentClass() != null) {
+                writer.write(Main.SEPARATOR + Class.EXTENDS + Main.SEPARATOR + aClass.getParentClass().getName());
+            }
+            if (!aClass.getInterfaces().isEmpty()) {
+                writer.write(Main.SEPARATOR + Class.IMPLEMENTS + Main.SEPARATOR + aClass.listParents(", "));
+            }
+        } else if (construct instanceof Interface && !((Interface) construct).getParentInterfaces().isEmpty()) {
+            writer.write(Main.SEPARATOR + Class.EXTENDS + Main.SEPARATOR + ((Interface) construct).listParents(", "));
+        }
+        writer.write(" {" + Main.LINE_SEPARATOR);
+        if (construct instanceof edu.kit.informatik.classeditor.entity.Enum) {
+            // an enum without constants
+            writer.write(INDENT + ";" + Main.LINE_SEPARATOR);
+        }
+        final boolean isInterface = construct instanceof Interface;
+        for (final Attribute attribute : construct.listAttributes()) {
+            writeAttribute(attribute, isInterface, writer);
+        }
+        for (final Method method : construct.listMethods()) {
+            writeMethod(method, isInterface
+                    ? method.getVisibilityModifier()
+                    : visibility(construct, method), isInterface, writer);
+        }
+        writer.write("}" + Main.LINE_SEPARATOR);
+    }
+
+    private static void writeAttribute(final Attribute attribute, final boolean isInterface, final Writer writer)
+            throws IOException {
+        writer.write(INDENT);
+        if (!isInterface) {
+            // fields of interfaces are implicitly public, static and final
+            writer.write(modifiers(attribute.getVisibilityModifier(), attribute.getaFinal()));
+        }
+        writer.write(attribute.getType().getType() + Main.SEPARATOR + attribute.getName());
+        if (isInterface || attribute.getaFinal() == Final.FINAL) {
+            writer.write(" = " + defaultValue(attribute.getType()));
+        }
+        writer.write(";" + Main.LINE_SEPARATOR);
+    }
+
+    /**
+     * Returns the visibility the stub of the given method of a class or enum is written with. Java forbids an
+     * overriding method to have weaker access than the method it overrides, so the stub gets the strongest access of
+     * the equal methods of the ancestors, which is public for the implicitly public methods of interfaces.
+     */
+    private static VisibilityModifier visibility(final NameableConstruct construct, final Method method) {
+        VisibilityModifier visibility = method.getVisibilityModifier();
+        for (final NameableConstruct ancestor : construct.getLinearization()) {
+            final Method inherited = ancestor.getDeclaredMethod(method);
+            if (ancestor == construct || inherited == null
+                    || inherited.getVisibilityModifier() == VisibilityModifier.PRIVATE) {
+                continue;
+            }
+            final VisibilityModifier required = ancestor instanceof Interface
+                    ? VisibilityModifier.PUBLIC
+                    : inherited.getVisibilityModifier();
+            if (ACCESS.indexOf(required) > ACCESS.indexOf(visibility)) {
+                visibility = required;
+            }
+        }
+        return visibility;
+    }
+
+    private static void writeMethod(final Method method, final VisibilityModifier visibility,
+            final boolean isInterface, final Writer writer) throws IOException {
+        final boolean isAbstract = isInterface && visibility != VisibilityModifier.PRIVATE;
+        writer.write(Main.LINE_SEPARATOR + INDENT);
+        if (!isInterface || !isAbstract) {
+            writer.write(modifiers(visibility, method.getFinalState()));
+        }
+        final StringJoiner parameters = new StringJoiner(", ", Method.PARAMETER_LIST_START,
+                Method.PARAMETER_LIST_END);
+        final ParameterList types = method.getParameterList();
+        for (int index = 0; index < types.size(); index++) {
+            parameters.add(types.get(index).getType() + Main.SEPARATOR + PARAMETER_PREFIX + index);
+        }
+        writer.write(method.getReturnType().getType() + Main.SEPARATOR + method.getName() + parameters);
+        if (isAbstract) {
+            writer.write(";" + Main.LINE_SEPARATOR);
+            return;
+        }
+        writer.write(" {" + Main.LINE_SEPARATOR);
+        writer.write(INDENT + INDENT + "return " + defaultValue(method.getReturnType()) + ";" + Main.LINE_SEPARATOR);
+        writer.write(INDENT + "}" + Main.LINE_SEPARATOR);
+    }
+
+    private static String modifiers(final VisibilityModifier visibilityModifier, final Final finalState) {
+        return (visibilityModifier != VisibilityModifier.DEFAULT
+                ? visibilityModifier.getPattern() + Main.SEPARATOR
+                : Main.EMPTY_STRING)
+               + (finalState == Final.FINAL
+                ? finalState.getPattern() + Main.SEPARATOR
+                : Main.EMPTY_STRING);
+    }
+
+    private static String defaultValue(final Type type) {
+        if (type == PrimitiveType.BOOLEAN) {
+            return "false";
+        }
+        return type instanceof PrimitiveType && type != PrimitiveType.STRING
+                ? "0"
+                : "null";
+    }
+}
@@ -0,0 +1,286 @@
+package edu.kit.informatik.classeditor.database;
+
+import edu.kit.informatik.classeditor.ui.Command;
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hosts many independent databases, one per tenant, within a global memory budget. The size of every tenant is
+ * estimated with the {@link MemoryEstimator}. When the resident tenants exceed the budget, the least recently used
+ * ones are written to a gzipped {@link Snapshot} in the snapshot directory and dropped. An evicted tenant is restored
+ * from its snapshot by its next command.
+ * <p>
+ * After every changing command the size of the tenant is adjusted by the delta the command caused, see
+ * {@link Database#takeBytesDelta()}. Since these deltas do not know which names and signatures are shared, a tenant is
+ * estimated as a whole again after every {@value #RECOUNT_INTERVAL} changing commands and when it is restored, which
+ * corrects the drift. Switching between tenants does not estimate anything. Tenants with an open transaction or active
+ * bulk loading are never evicted, since their snapshot would lose them. The history of an evicted tenant is written
+ * into its snapshot as well, so its changes can still be undone and redone after restoring it.
+ * <p>
+ * Every tenant has a lock of its own, its commands, its eviction and its restore hold only this lock. The registry
+ * itself is only locked to look up the tenants and to choose the ones to evict, so commands of different tenants run
+ * concurrently and no command waits for the snapshot of another tenant to be written.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class TenantRegistry {
+    private static final Pattern TENANT_NAME = Pattern.compile("[a-zA-Z0-9_-]+");
+    private static final String SNAPSHOT_SUFFIX = ".commands.gz";
+    private static final int RECOUNT_INTERVAL = 256;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long budget;
+    private final Path directory;
+    private final boolean offHeap;
+    /**
+     * All tenants by their names, resident or evicted.
+     */
+    private final Map<String, Tenant> tenants = new HashMap<>();
+    /**
+     * The resident tenants by their names, the least recently used one first.
+     */
+    private final Map<String, Tenant> resident = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The names of the tenants whose snapshots are in the snapshot directory.
+     */
+    private final Set<String> evicted = new TreeSet<>();
+    private long evictions;
+    private long failedEvictions;
+    private long reloads;
+    private long reloadNanos;
+    private long maxReloadNanos;
+
+    /**
+     * Instantiates a new empty TenantRegistry.
+     *
+     * @param budget the number of bytes all resident tenants may occupy together
+     * @param directory the directory to write the snapshots of the evicted tenants to
+     * @param offHeap whether or not the members of the tenants are stored outside of the heap
+     */
+    public TenantRegistry(final long budget, final Path directory, final boolean offHeap) {
+        this.budget = budget;
+        this.directory = directory;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Executes the given command on the database of the given tenant, like
+     * {@link Command#executeCommand(String, Database)}. A new tenant starts with an empty database, an evicted one
+     * is restored first. Afterwards the least recently used tenants are evicted until the budget is kept.
+     *
+     * @param tenant the name of the tenant, letters, digits, underscores and hyphens
+     * @param input the line of input
+     *
+     * @return the result of the command or an error message if the tenant could not be restored
+     */
+    public String execute(final String tenant, final String input) {
+        if (!TENANT_NAME.matcher(tenant).matches()) {
+            return Main.ERROR + "invalid tenant name";
+        }
+        final Tenant target = lookup(tenant);
+        final String output;
+        target.lock.lock();
+        try {
+            if (target.database == null) {
+                try {
+                    restore(target);
+                } catch (final IOException e) {
+                    return Main.ERROR + "could not restore tenant " + tenant + ": " + e.getMessage();
+                }
+            }
+            output = Command.executeCommand(input, target.database);
+            if (!Command.isReadOnly(input)) {
+                target.bytes += target.database.takeBytesDelta();
+                if (++target.changes >= RECOUNT_INTERVAL) {
+                    measure(target);
+                }
+            }
+        } finally {
+            target.lock.unlock();
+        }
+        enforceBudget(target);
+        return output;
+    }
+
+    /**
+     * Returns the tenant with the given name, a new resident one if it is not known yet. A resident tenant becomes the
+     * most recently used one.
+     */
+    private synchronized Tenant lookup(final String name) {
+        Tenant tenant = tenants.get(name);
+        if (tenant == null) {
+            tenant = new Tenant(name);
+            tenant.database = new Database(offHeap);
+            tenants.put(name, tenant);
+            resident.put(name, tenant);
+        } else {
+            resident.get(name);
+        }
+        return tenant;
+    }
+
+    private static void measure(final Tenant tenant) {
+        tenant.bytes = tenant.database.estimateBytes();
+        tenant.changes = 0;
+    }
+
+    private synchronized long residentBytes() {
+        long total = 0;
+        for (final Tenant tenant : resident.values()) {
+            total += tenant.bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Evicts the least recently used tenants except the given one until the resident tenants keep the budget. The
+     * tenants are chosen while holding the lock of this registry and evicted while only holding their own locks, a
+     * tenant which is busy is skipped.
+     */
+    private void enforceBudget(final Tenant excluded) {
+        final List<Tenant> candidates = new ArrayList<>();
+        long excess;
+        synchronized (this) {
+            excess = residentBytes() - budget;
+            for (final Tenant tenant : resident.values()) {
+                if (excess <= 0) {
+                    break;
+                }
+                if (tenant != excluded) {
+                    candidates.add(tenant);
+                    excess -= tenant.bytes;
+                }
+            }
+        }
+        for (final Tenant tenant : candidates) {
+            if (tenant.lock.tryLock()) {
+                try {
+                    if (tenant.database != null && tenant.database.isSnapshotComplete()) {
+                        evict(tenant);
+                    }
+                } finally {
+                    tenant.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the snapshot of the given tenant and drops its database, the lock of the tenant must be held.
+     */
+    private void evict(final Tenant tenant) {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(snapshot(tenant.name))), StandardCharsets.UTF_8))) {
+            tenant.database.writeSnapshot(writer);
+        } catch (final IOException e) {
+            // the tenant stays resident, the budget is exceeded until another tenant can be evicted
+            synchronized (this) {
+                failedEvictions++;
+            }
+            return;
+        }
+        tenant.database = null;
+        synchronized (this) {
+            resident.remove(tenant.name);
+            evicted.add(tenant.name);
+            evictions++;
+        }
+    }
+
+    /**
+     * Restores the database of the given evicted tenant from its snapshot, the lock of the tenant must be held.
+     */
+    private void restore(final Tenant tenant) throws IOException {
+        final long start = System.nanoTime();
+        final Database database = new Database(offHeap);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(snapshot(tenant.name))), StandardCharsets.UTF_8))) {
+            final String error = Snapshot.read(reader, database);
+            if (error != null) {
+                throw new IOException(error);
+            }
+        }
+        Files.delete(snapshot(tenant.name));
+        tenant.database = database;
+        measure(tenant);
+        final long nanos = System.nanoTime() - start;
+        synchronized (this) {
+            evicted.remove(tenant.name);
+            resident.put(tenant.name, tenant);
+            reloads++;
+            reloadNanos += nanos;
+            maxReloadNanos = Math.max(maxReloadNanos, nanos);
+        }
+    }
+
+    private Path snapshot(final String name) {
+        return directory.resolve(name + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Produces the metrics of this registry: the resident tenants and their estimated bytes, the evicted tenants, the
+     * number of evictions and the latencies of restoring evicted tenants.
+     *
+     * @param separator the separator between two lines of the metrics
+     *
+     * @return the metrics
+     */
+    public synchronized String metrics(final String separator) {
+        final StringJoiner joiner = new StringJoiner(separator);
+        joiner.add("resident tenants: " + resident.size() + ", " + residentBytes() + " of " + budget + " bytes");
+        joiner.add("evicted tenants: " + evicted.size() + ", " + evictions + " evictions, " + failedEvictions
+                   + " failed");
+        joiner.add("reloads: " + reloads + ", average " + String.format("%.2f", reloads > 0
+                ? reloadNanos / NANOS_PER_MILLI / reloads
+                : 0.0) + " ms, maximum " + String.format("%.2f", maxReloadNanos / NANOS_PER_MILLI) + " ms");
+        for (final Map.Entry<String, Tenant> entry : new TreeMap<>(resident).entrySet()) {
+            joiner.add("tenant " + entry.getKey() + ": " + entry.getValue().bytes + " bytes");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * A tenant with its lock, its database while it is resident and its estimated size.
+     */
+    private static final class Tenant {
+        private final String name;
+        private final Lock lock = new ReentrantLock();
+        /**
+         * The database of the tenant, null while it is evicted.
+         */
+        private volatile Database database;
+        private volatile long bytes;
+        /**
+         * The number of changing commands since the size was estimated as a whole.
+         */
+        private int changes;
+
+        private Tenant(final String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package edu.kit.informatik.classeditor.database;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes made to a database since a transaction was begun. Committing hands them to the {@link History} as one
+ * group, rolling back reverts them in the opposite order, so its cost only depends on the number of changes and not on
+ * the size of the database.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class Transaction {
+    private final List<Change> changes = new ArrayList<>();
+    /**
+     * The error of the first change that failed in this transaction, null if none failed.
+     */
+    private String failure;
+
+    /**
+     * Records a change made in this transaction.
+     *
+     * @param change the change
+     */
+    void record(final Change change) {
+        changes.add(change);
+    }
+
+    /**
+     * Marks this transaction as failed, so it is rolled back instead of committed. Only the first failure is kept.
+     *
+     * @param error the error of the failed change
+     */
+    void fail(final String error) {
+        if (failure == null) {
+            failure = error;
+        }
+    }
+
+    /**
+     * @return the error of the first failed change or null if no change failed
+     */
+    String getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return the changes made in this transaction in the order they were made
+     */
+    List<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Reverts all recorded changes, the latest first.
+     */
+    void rollback() {
+        for (int index = changes.size() - 1; index >= 0; index--) {
+            changes.get(index).revert();
+        }
+    }
+}
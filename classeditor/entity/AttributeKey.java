@@ -0,0 +1,114 @@
+package edu.kit.informatik.classeditor.entity;
+
+import edu.kit.informatik.classeditor.ui.Main;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The signature of an attribute searched in a store of {@link Symbols} ids. The signatures of the stored attributes
+ * share the name of their construct, so only the rest of the signature is encoded once. A stored attribute is compared
+ * with it segment by segment on its flags and ids, so no attribute and no string is created per probe.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class AttributeKey {
+    private static final byte[] SEPARATOR = Main.SEPARATOR.getBytes(StandardCharsets.UTF_8);
+    private static final byte[][] VISIBILITY_PREFIXES = new byte[VisibilityModifier.values().length][];
+    private static final byte[][] FINAL_PREFIXES = new byte[Final.values().length][];
+
+    static {
+        for (final VisibilityModifier visibility : VisibilityModifier.values()) {
+            VISIBILITY_PREFIXES[visibility.ordinal()] = (visibility.getPattern() + Main.SEPARATOR)
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+        for (final Final finalState : Final.values()) {
+            FINAL_PREFIXES[finalState.ordinal()] = (finalState.getPattern() + Main.SEPARATOR)
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The part of the signature following the name of the construct, see {@link Attribute#getSignature()}.
+     */
+    private final byte[] key;
+
+    /**
+     * Instantiates a new AttributeKey for the attribute with the same signature as the given one.
+     *
+     * @param attribute the attribute
+     */
+    AttributeKey(final Attribute attribute) {
+        key = ((attribute.getVisibilityModifier() != VisibilityModifier.DEFAULT
+                ? attribute.getVisibilityModifier().getPattern() + Main.SEPARATOR
+                : Main.EMPTY_STRING)
+               + (attribute.getaFinal() != Final.NOT_FINAL
+                ? attribute.getaFinal().getPattern() + Main.SEPARATOR
+                : Main.EMPTY_STRING)
+               + attribute.getType().getType() + Main.SEPARATOR + attribute.getName()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the stored attribute with the given flags and ids with this key like
+     * {@link Attribute#compareTo(Attribute)}.
+     *
+     * @param symbols the symbols of the ids
+     * @param flags the packed modifiers of the stored attribute
+     * @param type the id of the stored type
+     * @param name the id of the stored name
+     *
+     * @return the sign of the comparison of the stored attribute with this key
+     */
+    int compareTo(final Symbols symbols, final byte flags, final int type, final int name) {
+        final VisibilityModifier visibilityModifier = MemberFlags.visibility(flags);
+        final Final finalState = MemberFlags.finalState(flags);
+        int offset = 0;
+        int comparison;
+        if (visibilityModifier != VisibilityModifier.DEFAULT) {
+            final byte[] prefix = VISIBILITY_PREFIXES[visibilityModifier.ordinal()];
+            if ((comparison = compareSegment(prefix, offset)) != 0) {
+                return comparison;
+            }
+            offset += prefix.length;
+        }
+        if (finalState != Final.NOT_FINAL) {
+            final byte[] prefix = FINAL_PREFIXES[finalState.ordinal()];
+            if ((comparison = compareSegment(prefix, offset)) != 0) {
+                return comparison;
+            }
+            offset += prefix.length;
+        }
+        if (type < 0) {
+            comparison = compareSegment(SymbolTable.PRIMITIVE_NAMES[-type - 1], offset);
+            offset += SymbolTable.PRIMITIVE_NAMES[-type - 1].length;
+        } else {
+            comparison = symbols.compareSegment(type, key, offset);
+            offset += symbols.length(type);
+        }
+        if (comparison != 0 || (comparison = compareSegment(SEPARATOR, offset)) != 0) {
+            return comparison;
+        }
+        offset += SEPARATOR.length;
+        comparison = symbols.compareSegment(name, key, offset);
+        offset += symbols.length(name);
+        return comparison != 0
+                ? comparison
+                : offset - key.length;
+    }
+
+    /**
+     * Compares the given segment with the bytes of the key starting at the given offset.
+     *
+     * @return 0 if the key continues with the segment, the sign of the comparison of the two otherwise
+     */
+    private int compareSegment(final byte[] segment, final int offset) {
+        final int length = Math.min(segment.length, Math.max(key.length - offset, 0));
+        for (int index = 0; index < length; index++) {
+            final int comparison = (segment[index] & 0xFF) - (key[offset + index] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return segment.length - length;
+    }
+}
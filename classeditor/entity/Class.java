@@ -10,11 +10,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.StringJoiner;
 import java.util.TreeSet;
-import java.util.stream.Collectors;
 
 /**
  * Encapsulates a class as one of the central types of the type hierarchy.
@@ -57,9 +58,8 @@ public class Class extends NameableConstruct {
      */
     public String listParents(final String separator) {
         final StringJoiner joiner = new StringJoiner(separator);
-        final List<Interface> sortedParents = new ArrayList<>(interfaces);
-        Collections.sort(sortedParents);
-        for (final Interface element : sortedParents) {
+        // the interfaces are already sorted by their names
+        for (final Interface element : interfaces) {
             joiner.add(element.getName());
         }
         return joiner.toString();
@@ -89,13 +89,65 @@ public class Class extends NameableConstruct {
         if (!toBeImplemented.getUnderlyingType().equals(Interface.PATTERN)) {
             return false;
         }
-        final Collection<Method> methods = listAllMethods(VisibilityModifier.PRIVATE);
-        for (final Method method : toBeImplemented.listAllMethods(VisibilityModifier.PRIVATE)) {
+        final Collection<Method> methods = listAllMethods(VisibilityModifier.ALL);
+        for (final Method method : toBeImplemented.listAllMethods(VisibilityModifier.NOT_PRIVATE)) {
             if (!methods.contains(method)) {
                 return false;
             }
         }
-        return interfaces.add((Interface) toBeImplemented);
+        return implement((Interface) toBeImplemented);
+    }
+
+    @Override public boolean addImplementUnchecked(final NameableConstruct toBeImplemented) {
+        return toBeImplemented.getUnderlyingType().equals(Interface.PATTERN) && implement(
+                (Interface) toBeImplemented);
+    }
+
+    private boolean implement(final Interface toBeImplemented) {
+        if (!interfaces.add(toBeImplemented)) {
+            return false;
+        }
+        toBeImplemented.addSubtype(this);
+        invalidateLinearization();
+        return true;
+    }
+
+    /**
+     * Removes the given interface from the interfaces implemented by this class.
+     *
+     * @param toBeRemoved the interface to remove
+     *
+     * @return whether or not the interface was implemented by this class
+     */
+    public boolean removeImplement(final Interface toBeRemoved) {
+        if (!interfaces.remove(toBeRemoved)) {
+            return false;
+        }
+        toBeRemoved.removeSubtype(this);
+        invalidateLinearization();
+        return true;
+    }
+
+    /**
+     * @return the class this class extends or null
+     */
+    public Class getParentClass() {
+        return parentClass;
+    }
+
+    /**
+     * @return an unmodifiable view of the interfaces implemented by this class, sorted by their names
+     */
+    public Collection<Interface> getInterfaces() {
+        return Collections.unmodifiableSet(interfaces);
+    }
+
+    @Override public Collection<NameableConstruct> getDirectParents() {
+        final List<NameableConstruct> parents = new ArrayList<>(interfaces);
+        if (parentClass != null) {
+            parents.add(parentClass);
+        }
+        return parents;
     }
 
     @Override public boolean addExtend(final NameableConstruct toBeExtended) {
@@ -122,6 +174,18 @@ public class Class extends NameableConstruct {
             return false;
         }
         parentClass = (Class) toBeExtended;
+        parentClass.addSubtype(this);
+        invalidateLinearization();
+        return true;
+    }
+
+    @Override public boolean removeExtend(final NameableConstruct toBeRemoved) {
+        if (parentClass == null || parentClass != toBeRemoved) {
+            return false;
+        }
+        parentClass.removeSubtype(this);
+        parentClass = null;
+        invalidateLinearization();
         return true;
     }
 
@@ -143,30 +207,35 @@ public class Class extends NameableConstruct {
         return constructs;
     }
 
+    /**
+     * Returns the attributes of this class and its ancestors. The private attributes of the ancestors are never
+     * inherited and the own ones are always listed, so the given modifiers are ignored.
+     *
+     * @param visibilityModifier ignored
+     *
+     * @return a collection of the attributes contained in this class
+     */
     @Override public Collection<Attribute> listAllAttributes(final VisibilityModifier... visibilityModifier) {
+        return listAllAttributes(VisibilityModifier.ALL);
+    }
+
+    @Override public Collection<Attribute> listAllAttributes(final int visibilities) {
         final TreeSet<Attribute> attributes = new TreeSet<>(Comparator.comparing(Nameable::getName));
-        return listAttributes(attributes, new TreeSet<>());
+        return listAttributes(attributes, new TreeSet<>(), visibilities);
     }
 
     @Override public Collection<Attribute> listShadowingAttributes() {
-        return listAttributes(new TreeSet<>(), new TreeSet<>());
+        return listAttributes(new TreeSet<>(), new TreeSet<>(), VisibilityModifier.ALL);
     }
 
     private Collection<Attribute> listAttributes(final Collection<Attribute> collectCollection,
-            final Collection<Attribute> sortCollection) {
-        if (super.listAllAttributes() != null) {
-            collectCollection.addAll(super.listAllAttributes());
-        }
+            final Collection<Attribute> sortCollection, final int visibilities) {
+        collectCollection.addAll(super.listAllAttributes(visibilities));
         for (final Interface interface1 : interfaces) {
-            if (interface1.listAllAttributes() != null) {
-                collectCollection.addAll(interface1.listAllAttributes());
-            }
+            collectCollection.addAll(interface1.listAllAttributes(visibilities));
         }
         if (parentClass != null) {
-            collectCollection.addAll(parentClass.listAllAttributes(VisibilityModifier.PRIVATE).stream()
-                    .filter(method -> method.getVisibilityModifier() != VisibilityModifier.PRIVATE)
-                    .collect(Collectors.toSet()));
-
+            collectCollection.addAll(parentClass.listAllAttributes(visibilities & VisibilityModifier.NOT_PRIVATE));
         }
         sortCollection.addAll(collectCollection);
         return sortCollection;
@@ -174,28 +243,92 @@ public class Class extends NameableConstruct {
 
     private Collection<Method> listMethods(final Collection<Method> collectCollection,
             final Collection<Method> sortCollection) {
-        if (super.listAllMethods() != null) {
-            collectCollection.addAll(super.listAllMethods());
-        }
+        collectCollection.addAll(super.listAllMethods(VisibilityModifier.ALL));
         for (final Interface interface1 : interfaces) {
-            if (interface1.listAllMethods(VisibilityModifier.PRIVATE) != null) {
-                collectCollection.addAll(interface1.listAllMethods(VisibilityModifier.PRIVATE));
-            }
+            collectCollection.addAll(interface1.listAllMethods(VisibilityModifier.NOT_PRIVATE));
         }
         if (parentClass != null) {
-            collectCollection.addAll(parentClass.listAllMethods(VisibilityModifier.PRIVATE).stream()
-                    .filter(method -> method.getVisibilityModifier() != VisibilityModifier.PRIVATE)
-                    .collect(Collectors.toSet()));
+            collectCollection.addAll(parentClass.listAllMethods(VisibilityModifier.NOT_PRIVATE));
         }
         sortCollection.addAll(collectCollection);
         return sortCollection;
     }
 
+    /**
+     * Returns the methods of this class and its ancestors found by dynamic binding. The private methods of the
+     * ancestors are never inherited and the own ones are always listed, so the given modifiers are ignored.
+     *
+     * @param visibilityModifier ignored
+     *
+     * @return a collection of the methods contained in this class
+     */
     @Override public Collection<Method> listAllMethods(final VisibilityModifier... visibilityModifier) {
-        final Collection<Method> methods = listMethods(new HashSet<>(), new HashSet<>());
-        return methods.stream().filter(method -> !(!method.getConstruct().equals(this)
-                                                   && method.getVisibilityModifier() == VisibilityModifier.PRIVATE))
-                .collect(Collectors.toSet());
+        return listAllMethods(VisibilityModifier.ALL);
+    }
+
+    @Override public Collection<Method> listAllMethods(final int visibilities) {
+        // every ancestor is visited once, in the order the recursive lookup of the parents would reach it first
+        final Set<Method> found = new HashSet<>();
+        final Set<Method> methods = new HashSet<>();
+        for (final NameableConstruct ancestor : getLinearization()) {
+            for (final VisibilityModifier visibility : VisibilityModifier.values()) {
+                final boolean isPrivate = visibility == VisibilityModifier.PRIVATE;
+                if (isPrivate && ancestor instanceof Interface) {
+                    // private methods of interfaces are neither inherited nor hide other methods
+                    continue;
+                }
+                // a private method of a class hides the equal methods of the constructs after it
+                final boolean listed = visibility.isIn(visibilities) && (ancestor == this || !isPrivate);
+                for (final Method method : ancestor.getDeclaredMethods(visibility)) {
+                    if (found.add(method) && listed) {
+                        methods.add(method);
+                    }
+                }
+            }
+        }
+        return methods;
+    }
+
+    @Override public Method resolveMethod(final Method method, final VisibilityModifier... visibilityModifier) {
+        return resolveMethod(method, VisibilityModifier.ALL);
+    }
+
+    @Override public Method resolveMethod(final Method method, final int visibilities) {
+        // the first declaration in the linearization decides, like in listAllMethods
+        for (final NameableConstruct ancestor : getLinearization()) {
+            final Method declared = ancestor.getDeclaredMethod(method);
+            if (declared == null) {
+                continue;
+            }
+            final boolean isPrivate = declared.getVisibilityModifier() == VisibilityModifier.PRIVATE;
+            if (isPrivate && ancestor instanceof Interface) {
+                continue;
+            }
+            return declared.getVisibilityModifier().isIn(visibilities) && (ancestor == this || !isPrivate)
+                    ? declared
+                    : null;
+        }
+        return null;
+    }
+
+    @Override public SortedSet<Attribute> resolveAttributes(final String name,
+            final VisibilityModifier... visibilityModifier) {
+        return resolveAttributes(name, VisibilityModifier.ALL);
+    }
+
+    @Override public SortedSet<Attribute> resolveAttributes(final String name, final int visibilities) {
+        // the same order as listAttributes: the own attributes, the interfaces and the parent class, the first
+        // attribute in the order of the signatures wins
+        SortedSet<Attribute> attributes = super.resolveAttributes(name, visibilities);
+        for (final Iterator<Interface> iterator = interfaces.iterator(); attributes.isEmpty() && iterator.hasNext();) {
+            attributes = iterator.next().resolveAttributes(name, visibilities);
+        }
+        if (attributes.isEmpty() && parentClass != null) {
+            attributes = parentClass.resolveAttributes(name, visibilities & VisibilityModifier.NOT_PRIVATE);
+        }
+        return attributes.size() > 1
+                ? new TreeSet<>(Collections.singleton(attributes.first()))
+                : attributes;
     }
 
     @Override public Collection<Method> findMethodOverride(final Method method, final List<Method> occurrences) {
@@ -240,7 +373,7 @@ public class Class extends NameableConstruct {
     }
 
     @Override public String addMethod(final Method method) {
-        final Collection<Method> methods = listAllMethods(VisibilityModifier.PRIVATE);
+        final Collection<Method> methods = listAllMethods(VisibilityModifier.ALL);
         if (methods.contains(method)) {
             for (final Method availableMethod : methods) {
                 if (availableMethod.equals(method)) {
@@ -263,4 +396,8 @@ public class Class extends NameableConstruct {
         return output;
     }
 
+    @Override public String addMethodUnchecked(final Method method) {
+        return super.addMethod(method);
+    }
+
 }
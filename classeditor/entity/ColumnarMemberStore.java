@@ -0,0 +1,292 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores the members of a construct column by column in sorted arrays instead of one object and one tree node per
+ * member. A method is kept as the ids of its name, parameter list and return type in {@link Symbols} and a flag
+ * byte, an attribute as the ids of its name and type and a flag byte. The {@link Method} and {@link Attribute}
+ * objects are only created when they are read, the signatures of the methods are taken from the cache of the symbols.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class ColumnarMemberStore implements MemberStore {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int[] NO_IDS = new int[0];
+    private static final byte[] NO_FLAGS = new byte[0];
+
+    private final NameableConstruct owner;
+    private final Symbols symbols;
+    /**
+     * The ids of the names of the methods, sorted by the names and parameters of the methods like
+     * {@link Method#compareTo(Method)}.
+     */
+    private int[] methodNames = NO_IDS;
+    private int[] methodParameters = NO_IDS;
+    private int[] methodTypes = NO_IDS;
+    private byte[] methodFlags = NO_FLAGS;
+    private int methodCount;
+    /**
+     * The ids of the names of the attributes, sorted by the signatures of the attributes like
+     * {@link Attribute#compareTo(Attribute)}.
+     */
+    private int[] attributeNames = NO_IDS;
+    private int[] attributeTypes = NO_IDS;
+    private byte[] attributeFlags = NO_FLAGS;
+    private int attributeCount;
+
+    /**
+     * Instantiates a new empty ColumnarMemberStore for the given construct.
+     *
+     * @param owner the construct containing the stored members
+     * @param symbols the symbols the ids of the members refer to
+     */
+    ColumnarMemberStore(final NameableConstruct owner, final Symbols symbols) {
+        this.owner = owner;
+        this.symbols = symbols;
+    }
+
+    @Override public boolean addMethod(final Method method) {
+        final int index = findMethod(method);
+        if (index >= 0) {
+            return false;
+        }
+        final int insertion = -index - 1;
+        if (methodCount == methodNames.length) {
+            final int capacity = Math.max(INITIAL_CAPACITY, methodCount * 2);
+            methodNames = Arrays.copyOf(methodNames, capacity);
+            methodParameters = Arrays.copyOf(methodParameters, capacity);
+            methodTypes = Arrays.copyOf(methodTypes, capacity);
+            methodFlags = Arrays.copyOf(methodFlags, capacity);
+        }
+        final int moved = methodCount - insertion;
+        System.arraycopy(methodNames, insertion, methodNames, insertion + 1, moved);
+        System.arraycopy(methodParameters, insertion, methodParameters, insertion + 1, moved);
+        System.arraycopy(methodTypes, insertion, methodTypes, insertion + 1, moved);
+        System.arraycopy(methodFlags, insertion, methodFlags, insertion + 1, moved);
+        methodNames[insertion] = symbols.internName(method.getName());
+        methodParameters[insertion] = symbols.internTypes(method.getParameterList().toArray());
+        methodTypes[insertion] = symbols.typeId(method.getReturnType());
+        methodFlags[insertion] = MemberFlags.pack(method.getVisibilityModifier(), method.getFinalState());
+        methodCount++;
+        return true;
+    }
+
+    @Override public boolean removeMethod(final Method method) {
+        final int index = findMethod(method);
+        if (index < 0) {
+            return false;
+        }
+        final int moved = methodCount - index - 1;
+        System.arraycopy(methodNames, index + 1, methodNames, index, moved);
+        System.arraycopy(methodParameters, index + 1, methodParameters, index, moved);
+        System.arraycopy(methodTypes, index + 1, methodTypes, index, moved);
+        System.arraycopy(methodFlags, index + 1, methodFlags, index, moved);
+        methodCount--;
+        return true;
+    }
+
+    @Override public boolean containsMethod(final Method method) {
+        return findMethod(method) >= 0;
+    }
+
+    @Override public Method getMethod(final Method method) {
+        final int index = findMethod(method);
+        if (index < 0 || methodTypes[index] != symbols.findTypeId(method.getReturnType())) {
+            return null;
+        }
+        // the given method has the same signature, so it is not materialized again
+        final byte flags = methodFlags[index];
+        return new Method(method.getMethodSignature(), MemberFlags.visibility(flags), MemberFlags.finalState(flags),
+                owner);
+    }
+
+    @Override public boolean addAttribute(final Attribute attribute) {
+        final int index = findAttribute(attribute);
+        if (index >= 0) {
+            return false;
+        }
+        final int low = -index - 1;
+        if (attributeCount == attributeNames.length) {
+            final int capacity = Math.max(INITIAL_CAPACITY, attributeCount * 2);
+            attributeNames = Arrays.copyOf(attributeNames, capacity);
+            attributeTypes = Arrays.copyOf(attributeTypes, capacity);
+            attributeFlags = Arrays.copyOf(attributeFlags, capacity);
+        }
+        System.arraycopy(attributeNames, low, attributeNames, low + 1, attributeCount - low);
+        System.arraycopy(attributeTypes, low, attributeTypes, low + 1, attributeCount - low);
+        System.arraycopy(attributeFlags, low, attributeFlags, low + 1, attributeCount - low);
+        attributeNames[low] = symbols.internName(attribute.getName());
+        attributeTypes[low] = symbols.typeId(attribute.getType());
+        attributeFlags[low] = MemberFlags.pack(attribute.getVisibilityModifier(), attribute.getaFinal());
+        attributeCount++;
+        return true;
+    }
+
+    @Override public boolean removeAttribute(final Attribute attribute) {
+        final int index = findAttribute(attribute);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(attributeNames, index + 1, attributeNames, index, attributeCount - index - 1);
+        System.arraycopy(attributeTypes, index + 1, attributeTypes, index, attributeCount - index - 1);
+        System.arraycopy(attributeFlags, index + 1, attributeFlags, index, attributeCount - index - 1);
+        attributeCount--;
+        return true;
+    }
+
+    @Override public int getMethodCount() {
+        return methodCount;
+    }
+
+    @Override public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    @Override public List<Method> methods() {
+        return new AbstractList<Method>() {
+            @Override public Method get(final int index) {
+                if (index >= methodCount) {
+                    throw new IndexOutOfBoundsException("index " + index + ", size " + methodCount);
+                }
+                return methodAt(index);
+            }
+
+            @Override public int size() {
+                return methodCount;
+            }
+        };
+    }
+
+    @Override public List<Method> methods(final String name) {
+        if (methodCount == 0) {
+            return methods();
+        }
+        final MethodKey key = new MethodKey(symbols, name);
+        return methods().subList(boundary(key, false), boundary(key, true));
+    }
+
+    @Override public List<Attribute> attributes() {
+        return new AbstractList<Attribute>() {
+            @Override public Attribute get(final int index) {
+                if (index >= attributeCount) {
+                    throw new IndexOutOfBoundsException("index " + index + ", size " + attributeCount);
+                }
+                return attributeAt(index);
+            }
+
+            @Override public int size() {
+                return attributeCount;
+            }
+        };
+    }
+
+    @Override public void release() {
+        methodNames = shrink(methodNames, methodCount);
+        methodParameters = shrink(methodParameters, methodCount);
+        methodTypes = shrink(methodTypes, methodCount);
+        methodFlags = methodCount > 0
+                ? Arrays.copyOf(methodFlags, methodCount)
+                : NO_FLAGS;
+        attributeNames = shrink(attributeNames, attributeCount);
+        attributeTypes = shrink(attributeTypes, attributeCount);
+        attributeFlags = attributeCount > 0
+                ? Arrays.copyOf(attributeFlags, attributeCount)
+                : NO_FLAGS;
+    }
+
+    private static int[] shrink(final int[] column, final int count) {
+        return count > 0
+                ? Arrays.copyOf(column, count)
+                : NO_IDS;
+    }
+
+    /**
+     * Returns the index of the first method whose name is not less than the one of the given key, or greater than it
+     * if the methods with the name are skipped.
+     */
+    private int boundary(final MethodKey key, final boolean skipEqual) {
+        int low = 0;
+        int high = methodCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = key.compareName(symbols, methodNames[middle]);
+            if (comparison < 0 || skipEqual && comparison == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Searches the method with the same name and parameters as the given one.
+     *
+     * @return the index of the method or (-(insertion point) - 1) if there is none
+     */
+    private int findMethod(final Method method) {
+        if (methodCount == 0) {
+            return -1;
+        }
+        final MethodKey key = new MethodKey(symbols, method);
+        int low = 0;
+        int high = methodCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = key.compareTo(symbols, methodNames[middle], methodParameters[middle]);
+            if (comparison == 0) {
+                return middle;
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the attribute with the same signature as the given one.
+     *
+     * @return the index of the attribute or (-(insertion point) - 1) if there is none
+     */
+    private int findAttribute(final Attribute attribute) {
+        if (attributeCount == 0) {
+            return -1;
+        }
+        final AttributeKey key = new AttributeKey(attribute);
+        int low = 0;
+        int high = attributeCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = key.compareTo(symbols, attributeFlags[middle], attributeTypes[middle],
+                    attributeNames[middle]);
+            if (comparison == 0) {
+                return middle;
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private Method methodAt(final int index) {
+        final byte flags = methodFlags[index];
+        return new Method(symbols.signature(methodNames[index], methodParameters[index], methodTypes[index]),
+                MemberFlags.visibility(flags), MemberFlags.finalState(flags), owner);
+    }
+
+    private Attribute attributeAt(final int index) {
+        final byte flags = attributeFlags[index];
+        return new Attribute(symbols.name(attributeNames[index]), MemberFlags.visibility(flags),
+                MemberFlags.finalState(flags), symbols.type(attributeTypes[index]), owner);
+    }
+}
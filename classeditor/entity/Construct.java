@@ -117,7 +117,19 @@ public interface Construct extends Type {
      *
      * @return a collection of the attributes contained in this construct
      */
-    Collection<Attribute> listAllAttributes(VisibilityModifier... modifier);
+    default Collection<Attribute> listAllAttributes(VisibilityModifier... modifier) {
+        return listAllAttributes(VisibilityModifier.allExcept(modifier));
+    }
+
+    /**
+     * Returns a collection of the attributes contained in this construct or any parental structures of this
+     * construct with one of the given visibilities. Only shadowing attributes are returned.
+     *
+     * @param visibilities the bitmask of the visibilities to list, see {@link VisibilityModifier#bit()}
+     *
+     * @return a collection of the attributes contained in this construct
+     */
+    Collection<Attribute> listAllAttributes(int visibilities);
 
     /**
      * Returns a collection of the attributes contained in this construct or any parental structures of this
@@ -135,7 +147,19 @@ public interface Construct extends Type {
      *
      * @return a collection of the methods contained in this construct
      */
-    Collection<Method> listAllMethods(VisibilityModifier... modifier);
+    default Collection<Method> listAllMethods(VisibilityModifier... modifier) {
+        return listAllMethods(VisibilityModifier.allExcept(modifier));
+    }
+
+    /**
+     * Returns a collection of the methods contained in this construct or any parental structures of this
+     * construct with one of the given visibilities. Only methods found by dynamic binding are returned.
+     *
+     * @param visibilities the bitmask of the visibilities to list, see {@link VisibilityModifier#bit()}
+     *
+     * @return a collection of the methods contained in this construct
+     */
+    Collection<Method> listAllMethods(int visibilities);
 
     /**
      * Returns a collection of the methods contained in this construct or any parental structures of this
@@ -2,8 +2,19 @@
 
 package edu.kit.informatik.classeditor.entity;
 
+import edu.kit.informatik.classeditor.database.Nameable;
 import edu.kit.informatik.classeditor.ui.Main;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
 /**
  * @author Sara
  * @version 1.0
@@ -13,6 +24,7 @@ public class Interface extends NameableConstruct {
      * The string of a underlying type for the interface.
      */
     public static final String PATTERN = "interface";
+    private final Set<Interface> parents = new TreeSet<>();
 
     /**
      * Instantiates a new Interface with the given name.
@@ -28,11 +40,60 @@ public class Interface extends NameableConstruct {
     }
 
     @Override public boolean addExtend(final NameableConstruct toBeExtended) {
-        return false;
+        if (!toBeExtended.getUnderlyingType().equals(PATTERN)) {
+            return false;
+        }
+        // the linearization contains the interface itself, so this also rejects extending itself
+        if (toBeExtended.getLinearization().contains(this)) {
+            return false;
+        }
+        if (!parents.add((Interface) toBeExtended)) {
+            return false;
+        }
+        toBeExtended.addSubtype(this);
+        invalidateLinearization();
+        return true;
+    }
+
+    @Override public boolean removeExtend(final NameableConstruct toBeRemoved) {
+        if (!parents.remove(toBeRemoved)) {
+            return false;
+        }
+        toBeRemoved.removeSubtype(this);
+        invalidateLinearization();
+        return true;
+    }
+
+    /**
+     * @return an unmodifiable view of the interfaces this interface extends, sorted by their names
+     */
+    public Collection<Interface> getParentInterfaces() {
+        return Collections.unmodifiableSet(parents);
+    }
+
+    @Override public Collection<NameableConstruct> getDirectParents() {
+        return new ArrayList<>(parents);
+    }
+
+    /**
+     * Produces a string representation of the interfaces this interface extends.
+     *
+     * @param separator the separator used to separate the parent representations
+     *
+     * @return a string containing the names of the extended interfaces
+     */
+    public String listParents(final String separator) {
+        final StringJoiner joiner = new StringJoiner(separator);
+        for (final Interface element : parents) {
+            joiner.add(element.getName());
+        }
+        return joiner.toString();
     }
 
     @Override public String getFullName() {
-        return PATTERN + Main.SEPARATOR + getName();
+        return PATTERN + Main.SEPARATOR + getName() + (!parents.isEmpty()
+                ? Main.SEPARATOR + Class.EXTENDS + Main.SEPARATOR + listParents(",")
+                : Main.EMPTY_STRING);
     }
 
     @Override public String getUnderlyingType() {
@@ -45,4 +106,76 @@ public class Interface extends NameableConstruct {
         }
         return super.addMethod(method);
     }
+
+    @Override public Collection<Method> listAllMethods(final int visibilities) {
+        final Collection<Method> methods = super.listAllMethods(visibilities);
+        if (parents.isEmpty()) {
+            return methods;
+        }
+        final Set<Method> found = new HashSet<>(methods);
+        for (final NameableConstruct ancestor : getLinearization()) {
+            // private methods of interfaces are not inherited
+            if (ancestor != this) {
+                for (final Method method : ancestor.getDeclaredMethods(visibilities & VisibilityModifier.NOT_PRIVATE)) {
+                    if (found.add(method)) {
+                        methods.add(method);
+                    }
+                }
+            }
+        }
+        return methods;
+    }
+
+    @Override public Method resolveMethod(final Method method, final int visibilities) {
+        final Method declared = super.resolveMethod(method, visibilities);
+        if (declared != null) {
+            return declared;
+        }
+        for (final NameableConstruct ancestor : getLinearization()) {
+            if (ancestor != this) {
+                final Method inherited = ancestor.getDeclaredMethod(method);
+                if (inherited != null
+                        && inherited.getVisibilityModifier().isIn(visibilities & VisibilityModifier.NOT_PRIVATE)) {
+                    return inherited;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override public SortedSet<Attribute> resolveAttributes(final String name, final int visibilities) {
+        final SortedSet<Attribute> attributes = super.resolveAttributes(name, visibilities);
+        if (!attributes.isEmpty()) {
+            return attributes;
+        }
+        for (final NameableConstruct ancestor : getLinearization()) {
+            if (ancestor != this) {
+                final Attribute inherited = ancestor.getDeclaredAttribute(name, visibilities);
+                if (inherited != null) {
+                    attributes.add(inherited);
+                    break;
+                }
+            }
+        }
+        return attributes;
+    }
+
+    @Override public Collection<Attribute> listAllAttributes(final int visibilities) {
+        final Collection<Attribute> attributes = super.listAllAttributes(visibilities);
+        if (parents.isEmpty()) {
+            return attributes;
+        }
+        final Set<Attribute> found = new TreeSet<>(Comparator.comparing(Nameable::getName));
+        found.addAll(attributes);
+        for (final NameableConstruct ancestor : getLinearization()) {
+            if (ancestor != this) {
+                for (final Attribute attribute : ancestor.getDeclaredAttributes(visibilities)) {
+                    if (found.add(attribute)) {
+                        attributes.add(attribute);
+                    }
+                }
+            }
+        }
+        return attributes;
+    }
 }
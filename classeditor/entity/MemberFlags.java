@@ -0,0 +1,60 @@
+package edu.kit.informatik.classeditor.entity;
+
+/**
+ * Packs the modifiers of a member into a byte, the lower bits hold the visibility and the upper bits the final state.
+ * Both are stored with their ordinal plus one, zero stands for a missing modifier.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class MemberFlags {
+    private static final int FINAL_SHIFT = 3;
+    private static final int VISIBILITY_MASK = (1 << FINAL_SHIFT) - 1;
+    private static final VisibilityModifier[] VISIBILITY_MODIFIERS = VisibilityModifier.values();
+    private static final Final[] FINAL_STATES = Final.values();
+
+    private MemberFlags() {
+    }
+
+    /**
+     * Packs the given modifiers.
+     *
+     * @param visibilityModifier the visibility or null
+     * @param finalState the final state or null
+     *
+     * @return the packed modifiers
+     */
+    static byte pack(final VisibilityModifier visibilityModifier, final Final finalState) {
+        final int visibility = visibilityModifier != null
+                ? visibilityModifier.ordinal() + 1
+                : 0;
+        final int state = finalState != null
+                ? finalState.ordinal() + 1
+                : 0;
+        return (byte) (visibility | state << FINAL_SHIFT);
+    }
+
+    /**
+     * @param flags the packed modifiers
+     *
+     * @return the visibility or null
+     */
+    static VisibilityModifier visibility(final byte flags) {
+        final int visibility = flags & VISIBILITY_MASK;
+        return visibility != 0
+                ? VISIBILITY_MODIFIERS[visibility - 1]
+                : null;
+    }
+
+    /**
+     * @param flags the packed modifiers
+     *
+     * @return the final state or null
+     */
+    static Final finalState(final byte flags) {
+        final int state = flags >>> FINAL_SHIFT;
+        return state != 0
+                ? FINAL_STATES[state - 1]
+                : null;
+    }
+}
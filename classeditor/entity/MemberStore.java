@@ -0,0 +1,108 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.util.List;
+
+/**
+ * Stores the attributes and methods directly contained in a construct. The methods are kept sorted by their names and
+ * parameters like {@link Method#compareTo(Method)}, the attributes by their signatures like
+ * {@link Attribute#compareTo(Attribute)}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public interface MemberStore {
+
+    /**
+     * Adds the given method unless a method with the same name and parameters is stored already.
+     *
+     * @param method the method
+     *
+     * @return whether or not the method was added
+     */
+    boolean addMethod(Method method);
+
+    /**
+     * Removes the stored method with the same name and parameters as the given one.
+     *
+     * @param method the method
+     *
+     * @return whether or not a method was removed
+     */
+    boolean removeMethod(Method method);
+
+    /**
+     * Checks whether or not a method with the same name and parameters as the given one is stored.
+     *
+     * @param method the method
+     *
+     * @return whether or not such a method is stored
+     */
+    boolean containsMethod(Method method);
+
+    /**
+     * Returns the stored method which equals the given one.
+     *
+     * @param method the method to look up
+     *
+     * @return the stored method or null if there is none
+     */
+    Method getMethod(Method method);
+
+    /**
+     * Adds the given attribute unless an attribute with the same signature is stored already.
+     *
+     * @param attribute the attribute
+     *
+     * @return whether or not the attribute was added
+     */
+    boolean addAttribute(Attribute attribute);
+
+    /**
+     * Removes the stored attribute with the same signature as the given one.
+     *
+     * @param attribute the attribute
+     *
+     * @return whether or not an attribute was removed
+     */
+    boolean removeAttribute(Attribute attribute);
+
+    /**
+     * @return the number of stored methods
+     */
+    int getMethodCount();
+
+    /**
+     * @return the number of stored attributes
+     */
+    int getAttributeCount();
+
+    /**
+     * Returns a view of the stored methods sorted by their names and parameters.
+     *
+     * @return an unmodifiable view of the methods
+     */
+    List<Method> methods();
+
+    /**
+     * Returns a view of the stored methods with the given name, sorted by their parameters. The methods with one name
+     * follow each other in the sorted methods, so they are found by a binary search.
+     *
+     * @param name the name of the methods
+     *
+     * @return an unmodifiable view of the methods
+     */
+    List<Method> methods(String name);
+
+    /**
+     * Returns a view of the stored attributes sorted by their signatures.
+     *
+     * @return an unmodifiable view of the attributes
+     */
+    List<Attribute> attributes();
+
+    /**
+     * Frees the storage that is not needed for the stored members, all of it if the store is empty. The store stays
+     * usable, members added later allocate new storage.
+     */
+    void release();
+}
@@ -7,10 +7,7 @@ import edu.kit.informatik.classeditor.database.Database;
 import edu.kit.informatik.classeditor.database.Nameable;
 import edu.kit.informatik.classeditor.ui.Main;
 
-import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Objects;
-import java.util.StringJoiner;
 import java.util.regex.MatchResult;
 
 /**
@@ -83,8 +80,10 @@ public class Method extends Nameable implements Comparable<Method>, Containable
                                                                   .getCaseInsensitivePattern();
     private final VisibilityModifier visibilityModifier;
     private final Final finalState;
-    private final Type[] parameters;
-    private final Type returnType;
+    /**
+     * The interned name, parameter types and return type, shared by all equal methods.
+     */
+    private final MethodSignature signature;
     private final NameableConstruct construct;
 
     /**
@@ -99,11 +98,23 @@ public class Method extends Nameable implements Comparable<Method>, Containable
      */
     public Method(final String name, final VisibilityModifier visibilityModifier, final Final finalState,
             final Type[] parameters, final Type returnType, final NameableConstruct construct) {
-        super(name);
+        this(MethodSignature.of(name, parameters, returnType), visibilityModifier, finalState, construct);
+    }
+
+    /**
+     * Instantiates a new Method with the given interned signature. No checks are performed.
+     *
+     * @param signature the name, parameter types and return type of this method
+     * @param visibilityModifier the visibilityModifier of this method
+     * @param finalState the final state of this method
+     * @param construct the construct this method is contained in
+     */
+    public Method(final MethodSignature signature, final VisibilityModifier visibilityModifier,
+            final Final finalState, final NameableConstruct construct) {
+        super(signature.getName());
         this.visibilityModifier = visibilityModifier;
         this.finalState = finalState;
-        this.parameters = parameters;
-        this.returnType = returnType;
+        this.signature = signature;
         this.construct = construct;
     }
 
@@ -123,8 +134,8 @@ public class Method extends Nameable implements Comparable<Method>, Containable
         final Final afinal = Final.parseFromString(input.group(Method.FINAL_INDEX));
         final String methodName = input.group(Method.METHOD_NAME_INDEX);
         final String[] parameterArray = input.group(Method.METHOD_PARAMETER_START_INDEX).split(Method.TYPE_SEPARATOR);
-        final Type[] parameterTypes = getParameterTypes(database, parameterArray);
-        final Type returnType = checkTypes(input, database, parameterTypes);
+        final Type[] parameterTypes = getParameterTypes(database, parameterArray, construct);
+        final Type returnType = checkTypes(input, database, parameterTypes, construct);
         if (returnType == null) {
             return null;
         }
@@ -137,17 +148,19 @@ public class Method extends Nameable implements Comparable<Method>, Containable
      *
      * @param database the database which contains the type information
      * @param parameterArray an array containing the string representation of the types to be parsed
+     * @param construct the construct declaring the method, used to resolve simple type names
      *
      * @return an array containing the parsed types if possible, null if not
      */
-    private static Type[] getParameterTypes(final Database database, final String[] parameterArray) {
+    private static Type[] getParameterTypes(final Database database, final String[] parameterArray,
+            final NameableConstruct construct) {
         final Type[] parameterTypes = new Type[parameterArray.length];
         for (int index = 0; index < parameterTypes.length; index++) {
-            if (database.typeAvailable(parameterArray[index]) == null) {
+            if (database.typeAvailable(parameterArray[index], construct) == null) {
                 return null;
             }
             // add the return type in the list and filter it later
-            parameterTypes[index] = database.typeAvailable(parameterArray[index]);
+            parameterTypes[index] = database.typeAvailable(parameterArray[index], construct);
 
         }
         return parameterTypes;
@@ -168,8 +181,8 @@ public class Method extends Nameable implements Comparable<Method>, Containable
         final NameableConstruct construct = database.getConstruct(input.group(Method.CONSTRUCT_INDEX));
         final String methodName = input.group(Method.VISIBILITY_INDEX);
         final String[] parameterArray = input.group(Method.FINAL_INDEX).split(Method.TYPE_SEPARATOR);
-        final Type[] parameterTypes = getParameterTypes(database, parameterArray);
-        final Type returnType = checkTypes(input, database, parameterTypes);
+        final Type[] parameterTypes = getParameterTypes(database, parameterArray, construct);
+        final Type returnType = checkTypes(input, database, parameterTypes, construct);
         if (returnType == null) {
             return null;
         }
@@ -182,10 +195,12 @@ public class Method extends Nameable implements Comparable<Method>, Containable
      * @param input the input containing the method information
      * @param database the database used to get the types
      * @param parameterTypes the array containing the types of the parameters
+     * @param construct the construct declaring the method, used to resolve simple type names
      *
      * @return the type of the return type if all types are valid, null otherwise
      */
-    private static Type checkTypes(final MatchResult input, final Database database, final Type[] parameterTypes) {
+    private static Type checkTypes(final MatchResult input, final Database database, final Type[] parameterTypes,
+            final NameableConstruct construct) {
         if (parameterTypes == null) {
             return null;
         }
@@ -194,7 +209,7 @@ public class Method extends Nameable implements Comparable<Method>, Containable
                 return null;
             }
         }
-        return database.typeAvailable(input.group(input.groupCount()));
+        return database.typeAvailable(input.group(input.groupCount()), construct);
     }
 
     /**
@@ -208,7 +223,7 @@ public class Method extends Nameable implements Comparable<Method>, Containable
      * @return the return type of this method
      */
     public Type getReturnType() {
-        return returnType;
+        return signature.getReturnType();
     }
 
     /**
@@ -217,7 +232,23 @@ public class Method extends Nameable implements Comparable<Method>, Containable
      * @return the parameters of this method
      */
     public Type[] getParameters() {
-        return Arrays.copyOf(parameters, parameters.length);
+        return signature.getParameters().toArray();
+    }
+
+    /**
+     * Returns the shared parameter list of this method without copying it.
+     *
+     * @return the parameters of this method
+     */
+    public ParameterList getParameterList() {
+        return signature.getParameters();
+    }
+
+    /**
+     * @return the interned signature of this method
+     */
+    public MethodSignature getMethodSignature() {
+        return signature;
     }
 
     /**
@@ -243,48 +274,28 @@ public class Method extends Nameable implements Comparable<Method>, Containable
                + (finalState != Final.NOT_FINAL && finalState != null
                         ? finalState.getPattern() + Main.SEPARATOR
                         : Main.EMPTY_STRING)
-               + getShortenedSignature()
+               + signature.getShortenedSignature()
                + RETURN_TYPE_SEPARATOR
-               + returnType.getType();
+               + signature.getReturnType().getType();
         // @formatter:on
     }
 
-    private String getShortenedSignature() {
-        final StringJoiner parameterTypes = getParameterList();
-        return getName() + PARAMETER_LIST_START + parameterTypes.toString() + PARAMETER_LIST_END;
-    }
-
-    private StringJoiner getParameterList() {
-        final StringJoiner parameterTypes = new StringJoiner(TYPE_SEPARATOR);
-        for (final Type type : parameters) {
-            parameterTypes.add(type.getType());
-        }
-        return parameterTypes;
-    }
-
     @Override public boolean equals(final Object o) {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof Method)) {
-            return false;
-        }
-        if (!super.equals(o)) {
-            return false;
-        }
-        final Method method = (Method) o;
-        return Arrays.equals(parameters, method.parameters) && Objects.equals(returnType, method.returnType)
-               && getName().equals(method.getName());
+        // equal signatures are interned to the same instance
+        return o instanceof Method && signature == ((Method) o).signature;
     }
 
     @Override public int hashCode() {
-        int result = Objects.hash(super.hashCode(), returnType);
-        result = 31 * result + Arrays.hashCode(parameters) + getName().hashCode();
-        return result;
+        return signature.hashCode();
     }
 
     @Override public int compareTo(final Method o) {
-        return getShortenedSignature().compareTo(o.getShortenedSignature());
+        return signature == o.signature
+                ? 0
+                : signature.getShortenedSignature().compareTo(o.signature.getShortenedSignature());
     }
 
     /**
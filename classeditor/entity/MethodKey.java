@@ -0,0 +1,81 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The name and the parameters of a method searched in a store of {@link Symbols} ids. The name and the parameter types
+ * are encoded and looked up once, the stored methods are compared with them on their ids, equal ids without looking
+ * at the symbols at all.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class MethodKey {
+    private final byte[] name;
+    private final int nameId;
+    private final int[] typeIds;
+    private final byte[][] typeNames;
+
+    /**
+     * Instantiates a new MethodKey for the methods with the given name, regardless of their parameters.
+     *
+     * @param symbols the symbols of the searched store
+     * @param name the name of the methods
+     */
+    MethodKey(final Symbols symbols, final String name) {
+        this.name = name.getBytes(StandardCharsets.UTF_8);
+        this.nameId = symbols.findName(this.name);
+        this.typeIds = null;
+        this.typeNames = null;
+    }
+
+    /**
+     * Instantiates a new MethodKey for the method with the same name and parameters as the given one.
+     *
+     * @param symbols the symbols of the searched store
+     * @param method the method
+     */
+    MethodKey(final Symbols symbols, final Method method) {
+        name = method.getName().getBytes(StandardCharsets.UTF_8);
+        nameId = symbols.findName(name);
+        final ParameterList parameters = method.getParameterList();
+        typeIds = new int[parameters.size()];
+        typeNames = new byte[parameters.size()][];
+        for (int index = 0; index < typeIds.length; index++) {
+            typeIds[index] = symbols.findTypeId(parameters.get(index));
+            typeNames[index] = parameters.get(index).getType().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Compares the name with the given id with the name of this key.
+     *
+     * @param symbols the symbols of the id
+     * @param id the id of the stored name
+     *
+     * @return the sign of the comparison of the stored name with the name of this key
+     */
+    int compareName(final Symbols symbols, final int id) {
+        return id == nameId
+                ? 0
+                : symbols.compareName(id, name);
+    }
+
+    /**
+     * Compares the stored method with the given ids with this key. The characters of names and types sort after the
+     * separators of the shortened signatures, so comparing the names and then the parameters in turn gives the order
+     * of {@link MethodSignature#getShortenedSignature()}.
+     *
+     * @param symbols the symbols of the ids
+     * @param id the id of the stored name
+     * @param parameters the id of the stored parameter list
+     *
+     * @return the sign of the comparison of the stored method with this key
+     */
+    int compareTo(final Symbols symbols, final int id, final int parameters) {
+        final int comparison = compareName(symbols, id);
+        return comparison != 0
+                ? comparison
+                : symbols.compareTypes(parameters, typeIds, typeNames);
+    }
+}
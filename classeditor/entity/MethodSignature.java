@@ -0,0 +1,116 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The name, the parameter types and the return type of a method. Equal signatures are interned, so all methods with
+ * the same signature share one instance and signatures are compared by their identity.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class MethodSignature {
+    private static final WeakInterner<Key, MethodSignature> POOL = new WeakInterner<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final Key key;
+    private final int id;
+    /**
+     * The name and the parameter list, e.g. {@code run(int,String)}, created on first use.
+     */
+    private volatile String shortened;
+
+    private MethodSignature(final Key key) {
+        this.key = key;
+        this.id = NEXT_ID.getAndIncrement();
+    }
+
+    /**
+     * Returns the canonical signature of the given parts.
+     *
+     * @param name the name of the method
+     * @param parameters the parameter types, the array is copied
+     * @param returnType the return type
+     *
+     * @return the interned signature
+     */
+    public static MethodSignature of(final String name, final Type[] parameters, final Type returnType) {
+        return POOL.intern(new Key(name, ParameterList.of(parameters), returnType), MethodSignature::new);
+    }
+
+    /**
+     * @return the name of the method
+     */
+    public String getName() {
+        return key.name;
+    }
+
+    /**
+     * @return the parameter types of the method
+     */
+    public ParameterList getParameters() {
+        return key.parameters;
+    }
+
+    /**
+     * @return the return type of the method
+     */
+    public Type getReturnType() {
+        return key.returnType;
+    }
+
+    /**
+     * Returns the name followed by the parameter list, the part of the signature that identifies a method.
+     *
+     * @return the shortened signature
+     */
+    public String getShortenedSignature() {
+        String result = shortened;
+        if (result == null) {
+            final StringJoiner parameterTypes = new StringJoiner(Method.TYPE_SEPARATOR);
+            for (int index = 0; index < key.parameters.size(); index++) {
+                parameterTypes.add(key.parameters.get(index).getType());
+            }
+            result = key.name + Method.PARAMETER_LIST_START + parameterTypes + Method.PARAMETER_LIST_END;
+            shortened = result;
+        }
+        return result;
+    }
+
+    @Override public boolean equals(final Object o) {
+        return this == o;
+    }
+
+    @Override public int hashCode() {
+        return id;
+    }
+
+    /**
+     * The parts of a signature, the interned parameter list and the return type are compared by their identity.
+     */
+    private static final class Key {
+        private final String name;
+        private final ParameterList parameters;
+        private final Type returnType;
+
+        private Key(final String name, final ParameterList parameters, final Type returnType) {
+            this.name = name;
+            this.parameters = parameters;
+            this.returnType = returnType;
+        }
+
+        @Override public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return name.equals(other.name) && parameters == other.parameters && returnType == other.returnType;
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(name, parameters.hashCode(), System.identityHashCode(returnType));
+        }
+    }
+}
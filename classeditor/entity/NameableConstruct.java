@@ -4,10 +4,16 @@ package edu.kit.informatik.classeditor.entity;
 
 import edu.kit.informatik.classeditor.database.Nameable;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
 
 /**
@@ -18,8 +24,20 @@ import java.util.TreeSet;
  */
 public abstract class NameableConstruct extends Nameable implements Construct, Comparable<NameableConstruct> {
 
-    private final Set<Attribute> attributes = new TreeSet<>();
-    private final Set<Method> methods = new TreeSet<>();
+    /**
+     * The attributes and methods directly contained in this construct.
+     */
+    private VisibilityBuckets members = new VisibilityBuckets(() -> new ColumnarMemberStore(this, new SymbolTable()));
+    /**
+     * The constructs directly extending or implementing this construct.
+     */
+    private final Set<NameableConstruct> subtypes = new TreeSet<>();
+    /**
+     * This construct followed by all of its ancestors, each one placed where a depth-first walk over the direct
+     * parents reaches it first. Computed on demand and dropped whenever the parents of this construct or of one of
+     * its ancestors change.
+     */
+    private volatile List<NameableConstruct> linearization;
 
     /**
      * Instantiates a new NameableConstruct with the given name.
@@ -41,25 +59,355 @@ public abstract class NameableConstruct extends Nameable implements Construct, C
         return getFullName();
     }
 
+    /**
+     * Moves the members of this construct into stores referring to the given symbols, usually the ones shared by all
+     * constructs of a database. Members added later are stored there as well.
+     *
+     * @param symbols the symbols to store the members with
+     */
+    public void moveMembers(final Symbols symbols) {
+        move(new VisibilityBuckets(() -> new ColumnarMemberStore(this, symbols)));
+    }
+
+    /**
+     * Moves the members of this construct into the given arena outside of the heap. Members added later are stored
+     * there as well.
+     *
+     * @param arena the arena to store the members in
+     */
+    public void moveMembersOffHeap(final OffHeapArena arena) {
+        move(new VisibilityBuckets(() -> new OffHeapMemberStore(this, arena)));
+    }
+
+    private void move(final VisibilityBuckets moved) {
+        members.attributes().forEach(moved::addAttribute);
+        members.methods().forEach(moved::addMethod);
+        members = moved;
+    }
+
+    /**
+     * Frees the storage of the members that is not needed any more, e.g. in the arena of
+     * {@link #moveMembersOffHeap(OffHeapArena)} once this construct was removed with its members.
+     */
+    public void releaseMembers() {
+        members.release();
+    }
+
     @Override public boolean addAttribute(final Attribute attribute) {
-        return attributes.add(attribute);
+        return members.addAttribute(attribute);
     }
 
     @Override public String addMethod(final Method method) {
-        return methods.add(method)
+        return members.addMethod(method)
                 ? "OK"
                 : "Error, could not add method";
     }
 
+    /**
+     * Adds the given method to this construct without checking it against the inherited methods. Used while the
+     * hierarchy is bulk loaded and validated afterwards.
+     *
+     * @param method the method to add
+     *
+     * @return a message containing information about the adding
+     */
+    public String addMethodUnchecked(final Method method) {
+        return addMethod(method);
+    }
+
+    /**
+     * Checks if this construct can implement the given NameableConstruct without checking that all of its methods
+     * are available and implements it if possible. Used while the hierarchy is bulk loaded and validated afterwards.
+     *
+     * @param toBeImplemented the NameableConstruct that should be implemented
+     *
+     * @return whether or not the NameableConstruct could be implemented by this construct
+     */
+    public boolean addImplementUnchecked(final NameableConstruct toBeImplemented) {
+        return addImplement(toBeImplemented);
+    }
+
+    /**
+     * Removes the given method from the methods directly contained in this construct.
+     *
+     * @param method the method to remove
+     *
+     * @return whether or not the method was contained in this construct
+     */
+    public boolean removeMethod(final Method method) {
+        return members.removeMethod(method);
+    }
+
+    /**
+     * Removes the given attribute from the attributes directly contained in this construct.
+     *
+     * @param attribute the attribute to remove
+     *
+     * @return whether or not the attribute was contained in this construct
+     */
+    public boolean removeAttribute(final Attribute attribute) {
+        return members.removeAttribute(attribute);
+    }
+
+    /**
+     * Removes the given construct from the constructs this construct extends.
+     *
+     * @param toBeRemoved the extended construct
+     *
+     * @return whether or not this construct extended the given one
+     */
+    public boolean removeExtend(final NameableConstruct toBeRemoved) {
+        return false;
+    }
+
+    /**
+     * Returns the method directly contained in this construct which equals the given one.
+     *
+     * @param method the method to look up
+     *
+     * @return the contained method or null if there is none
+     */
+    public Method getDeclaredMethod(final Method method) {
+        return members.getMethod(method);
+    }
+
+    /**
+     * Returns the methods with the given name directly contained in this construct.
+     *
+     * @param name the name of the methods
+     *
+     * @return an unmodifiable view of the methods, sorted by their parameters
+     */
+    public List<Method> getDeclaredMethods(final String name) {
+        return members.methods(name);
+    }
+
+    /**
+     * Returns the methods which {@link #listAllMethods(VisibilityModifier...)} lists for this construct in the order of
+     * {@link Method#lexicographicallySortingComparator()}. The sorted declared methods of the ancestors are merged
+     * while iterating, so neither the set of all methods nor a sorted copy of it is built.
+     *
+     * @param visibilityModifier the visibilities not to be listed
+     *
+     * @return an iterator over the methods, which must not be used after a construct changed
+     */
+    public Iterator<Method> sortedAllMethods(final VisibilityModifier... visibilityModifier) {
+        return new SortedMethodIterator(this, visibilityModifier);
+    }
+
+    /**
+     * Returns the method equal to the given one which {@link #listAllMethods(VisibilityModifier...)} lists for this
+     * construct, without resolving the other methods.
+     *
+     * @param method the method to look up
+     * @param visibilityModifier the visibilities not to be listed
+     *
+     * @return the listed method or null if no equal method is listed
+     */
+    public Method resolveMethod(final Method method, final VisibilityModifier... visibilityModifier) {
+        return resolveMethod(method, VisibilityModifier.allExcept(visibilityModifier));
+    }
+
+    /**
+     * Returns the method equal to the given one which {@link #listAllMethods(int)} lists for this construct, without
+     * resolving the other methods.
+     *
+     * @param method the method to look up
+     * @param visibilities the bitmask of the visibilities to be listed
+     *
+     * @return the listed method or null if no equal method is listed
+     */
+    public Method resolveMethod(final Method method, final int visibilities) {
+        final Method declared = getDeclaredMethod(method);
+        return declared != null && declared.getVisibilityModifier().isIn(visibilities)
+                ? declared
+                : null;
+    }
+
+    /**
+     * Returns the attributes with the given name which {@link #listAllAttributes(VisibilityModifier...)} lists for
+     * this construct, without resolving the other attributes.
+     *
+     * @param name the name of the attributes
+     * @param visibilityModifier the visibilities not to be listed
+     *
+     * @return the listed attributes sorted by their signatures, empty if none is listed
+     */
+    public SortedSet<Attribute> resolveAttributes(final String name, final VisibilityModifier... visibilityModifier) {
+        return resolveAttributes(name, VisibilityModifier.allExcept(visibilityModifier));
+    }
+
+    /**
+     * Returns the attributes with the given name which {@link #listAllAttributes(int)} lists for this construct,
+     * without resolving the other attributes.
+     *
+     * @param name the name of the attributes
+     * @param visibilities the bitmask of the visibilities to be listed
+     *
+     * @return the listed attributes sorted by their signatures, empty if none is listed
+     */
+    public SortedSet<Attribute> resolveAttributes(final String name, final int visibilities) {
+        final SortedSet<Attribute> attributes = new TreeSet<>();
+        for (final Attribute attribute : getDeclaredAttributes(visibilities)) {
+            if (attribute.getName().equals(name)) {
+                attributes.add(attribute);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Returns the first attribute with the given name in {@link #getDeclaredAttributes(int)}.
+     *
+     * @param name the name of the attribute
+     * @param visibilities the bitmask of the visibilities the attribute may have
+     *
+     * @return the attribute or null if there is none with one of the given visibilities
+     */
+    Attribute getDeclaredAttribute(final String name, final int visibilities) {
+        for (final Attribute attribute : getDeclaredAttributes(visibilities)) {
+            if (attribute.getName().equals(name)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the constructs this construct directly extends or implements.
+     *
+     * @return a collection of the direct parents of this construct
+     */
+    public Collection<NameableConstruct> getDirectParents() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns this construct followed by all of its ancestors without duplicates, in the order a depth-first walk
+     * over {@link #getDirectParents()} reaches them first. Shared ancestors are only resolved once, since the
+     * linearization is built from the cached linearizations of the direct parents.
+     *
+     * @return an unmodifiable list of this construct and its ancestors
+     */
+    public List<NameableConstruct> getLinearization() {
+        List<NameableConstruct> result = linearization;
+        if (result == null) {
+            final Set<NameableConstruct> ancestors = new LinkedHashSet<>();
+            ancestors.add(this);
+            for (final NameableConstruct parent : getDirectParents()) {
+                ancestors.addAll(parent.getLinearization());
+            }
+            result = Collections.unmodifiableList(new ArrayList<>(ancestors));
+            linearization = result;
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached linearization of this construct and of all of its descendants. The descendants of a construct
+     * without a cached linearization cannot have one either, so the walk stops there.
+     */
+    void invalidateLinearization() {
+        final Deque<NameableConstruct> queue = new ArrayDeque<>();
+        queue.add(this);
+        while (!queue.isEmpty()) {
+            final NameableConstruct current = queue.poll();
+            if (current.linearization != null) {
+                current.linearization = null;
+                queue.addAll(current.subtypes);
+            }
+        }
+    }
+
+    /**
+     * Returns the methods directly contained in this construct with one of the given visibilities, without testing the
+     * visibility of every method.
+     *
+     * @param visibilities the bitmask of the visibilities, see {@link VisibilityModifier#bit()}
+     *
+     * @return an unmodifiable view of the methods, sorted by their names and parameters within each visibility
+     */
+    Collection<Method> getDeclaredMethods(final int visibilities) {
+        return members.methods(visibilities);
+    }
+
+    /**
+     * Returns the methods directly contained in this construct with the given visibility.
+     *
+     * @param visibility the visibility
+     *
+     * @return an unmodifiable view of the methods, sorted by their names and parameters
+     */
+    Collection<Method> getDeclaredMethods(final VisibilityModifier visibility) {
+        return members.methods(visibility);
+    }
+
+    /**
+     * Returns the attributes directly contained in this construct with one of the given visibilities, without testing
+     * the visibility of every attribute.
+     *
+     * @param visibilities the bitmask of the visibilities, see {@link VisibilityModifier#bit()}
+     *
+     * @return an unmodifiable view of the attributes, sorted by their signatures within each visibility
+     */
+    Collection<Attribute> getDeclaredAttributes(final int visibilities) {
+        return members.attributes(visibilities);
+    }
+
+    /**
+     * Returns the number of attributes directly contained in this construct.
+     *
+     * @return the number of attributes
+     */
+    public int getAttributeCount() {
+        return members.getAttributeCount();
+    }
+
+    /**
+     * Returns the number of methods directly contained in this construct.
+     *
+     * @return the number of methods
+     */
+    public int getMethodCount() {
+        return members.getMethodCount();
+    }
+
+    /**
+     * Returns the constructs directly extending or implementing this construct.
+     *
+     * @return an unmodifiable view of the direct subtypes of this construct
+     */
+    public Collection<NameableConstruct> getDirectSubtypes() {
+        return Collections.unmodifiableSet(subtypes);
+    }
+
+    /**
+     * Registers the given construct as a direct subtype of this construct.
+     *
+     * @param subtype the construct extending or implementing this construct
+     */
+    void addSubtype(final NameableConstruct subtype) {
+        subtypes.add(subtype);
+    }
+
+    /**
+     * Removes the given construct from the direct subtypes of this construct.
+     *
+     * @param subtype the construct no longer extending or implementing this construct
+     */
+    void removeSubtype(final NameableConstruct subtype) {
+        subtypes.remove(subtype);
+    }
+
     @Override public Collection<Attribute> listAttributes() {
-        return attributes.size() > 0
-                ? Collections.unmodifiableSet(attributes)
+        return members.getAttributeCount() > 0
+                ? members.attributes()
                 : Collections.emptySet();
     }
 
     @Override public Collection<Method> listMethods() {
         final Set<Method> sortedMethods = new TreeSet<>(Method.lexicographicallySortingComparator());
-        sortedMethods.addAll(methods);
+        sortedMethods.addAll(members.methods());
         return sortedMethods.size() > 0
                 ? Collections.unmodifiableSet(sortedMethods)
                 : Collections.emptySet();
@@ -73,19 +421,8 @@ public abstract class NameableConstruct extends Nameable implements Construct, C
         return getName();
     }
 
-    @Override public Collection<Attribute> listAllAttributes(final VisibilityModifier... modifier) {
-        final Collection<Attribute> attributes = listAttributes();
-        final Collection<Attribute> availableAttributes = new TreeSet<>();
-        for (final Attribute attribute : attributes) {
-            boolean available = true;
-            for (final VisibilityModifier forbiddenModifier : modifier) {
-                available = available && attribute.getVisibilityModifier() != forbiddenModifier;
-            }
-            if (available) {
-                availableAttributes.add(attribute);
-            }
-        }
-        return availableAttributes;
+    @Override public Collection<Attribute> listAllAttributes(final int visibilities) {
+        return new TreeSet<>(members.attributes(visibilities));
     }
 
     @Override public Collection<Attribute> listShadowingAttributes() {
@@ -96,19 +433,8 @@ public abstract class NameableConstruct extends Nameable implements Construct, C
         return constructs;
     }
 
-    @Override public Collection<Method> listAllMethods(final VisibilityModifier... modifier) {
-        final Collection<Method> methods = listMethods();
-        final Collection<Method> availableMethods = new TreeSet<>();
-        for (final Method method : methods) {
-            boolean available = true;
-            for (final VisibilityModifier forbiddenModifier : modifier) {
-                available = available && method.getVisibilityModifier() != forbiddenModifier;
-            }
-            if (available) {
-                availableMethods.add(method);
-            }
-        }
-        return availableMethods;
+    @Override public Collection<Method> listAllMethods(final int visibilities) {
+        return new TreeSet<>(members.methods(visibilities));
     }
 
     @Override public Collection<Method> findMethodOverride(final Method method, final List<Method> occurrences) {
@@ -0,0 +1,391 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory outside of the Java heap for the members of very large hierarchies. The memory is reserved in direct chunks
+ * of {@value #CHUNK_SIZE} bytes and handed out in blocks of a power of two bytes, freed blocks are reused for blocks
+ * of the same size. A block is addressed by the index of its chunk in the upper and its offset in the lower half of
+ * a long.
+ * <p>
+ * The arena is the {@link Symbols} of the members stored in it: names and parameter lists are interned in a symbol
+ * table kept in the arena as well, so every distinct one is stored once and referred to by an int id.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class OffHeapArena implements Symbols {
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int MIN_BLOCK_SHIFT = 3;
+    private static final int SIZE_CLASSES = Integer.SIZE;
+    private static final int INITIAL_SYMBOLS = 1024;
+    private static final int INITIAL_FREE_BLOCKS = 8;
+    /**
+     * The bytes in front of the content of a symbol, its hash and its length.
+     */
+    private static final int SYMBOL_HEADER = 2 * Integer.BYTES;
+    private static final PrimitiveType[] PRIMITIVE_TYPES = PrimitiveType.values();
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    /**
+     * The addresses of the freed blocks per size class, used as stacks.
+     */
+    private final long[][] freeBlocks = new long[SIZE_CLASSES][];
+    private final int[] freeCounts = new int[SIZE_CLASSES];
+    private ByteBuffer current;
+    /**
+     * The index of the chunk small blocks are currently taken from, blocks larger than a chunk get chunks of their
+     * own which never become the current one.
+     */
+    private int currentIndex;
+    private long usedBytes;
+    private long reservedBytes;
+    /**
+     * The addresses of the symbols by their ids.
+     */
+    private LongBuffer symbolAddresses;
+    /**
+     * An open addressing hash table of the symbol ids plus one, zero marks an empty slot.
+     */
+    private IntBuffer symbolTable;
+    private int symbolCount;
+    /**
+     * The constructs by the ids of their names, the constructs themselves live on the heap.
+     */
+    private final Map<Integer, Type> constructs = new HashMap<>();
+    /**
+     * The cache of the materialized signatures, created with the first one.
+     */
+    private SignatureCache signatures;
+
+    /**
+     * Instantiates a new empty OffHeapArena.
+     */
+    public OffHeapArena() {
+        symbolAddresses = allocateDirect(INITIAL_SYMBOLS * Long.BYTES).asLongBuffer();
+        symbolTable = allocateDirect(2 * INITIAL_SYMBOLS * Integer.BYTES).asIntBuffer();
+    }
+
+    private ByteBuffer allocateDirect(final int capacity) {
+        reservedBytes += capacity;
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Returns a block of at least the given size. The content of the block is undefined.
+     *
+     * @param size the number of bytes needed
+     *
+     * @return the address of the block
+     */
+    public long allocate(final int size) {
+        final int sizeClass = sizeClass(size);
+        final int blockSize = 1 << sizeClass;
+        usedBytes += blockSize;
+        if (freeCounts[sizeClass] > 0) {
+            return freeBlocks[sizeClass][--freeCounts[sizeClass]];
+        }
+        if (blockSize > CHUNK_SIZE) {
+            chunks.add(allocateDirect(blockSize));
+            return (long) (chunks.size() - 1) << Integer.SIZE;
+        }
+        if (current == null || current.position() + blockSize > current.capacity()) {
+            current = allocateDirect(CHUNK_SIZE);
+            currentIndex = chunks.size();
+            chunks.add(current);
+        }
+        final int offset = current.position();
+        current.position(offset + blockSize);
+        return (long) currentIndex << Integer.SIZE | offset;
+    }
+
+    /**
+     * Returns the given block to this arena, it is reused by the next allocation of the same size.
+     *
+     * @param address the address of the block
+     * @param size the size the block was allocated with
+     */
+    public void free(final long address, final int size) {
+        final int sizeClass = sizeClass(size);
+        usedBytes -= 1 << sizeClass;
+        long[] stack = freeBlocks[sizeClass];
+        if (stack == null) {
+            stack = new long[INITIAL_FREE_BLOCKS];
+        } else if (freeCounts[sizeClass] == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[freeCounts[sizeClass]++] = address;
+        freeBlocks[sizeClass] = stack;
+    }
+
+    private static int sizeClass(final int size) {
+        return Math.max(MIN_BLOCK_SHIFT, Integer.SIZE - Integer.numberOfLeadingZeros(size - 1));
+    }
+
+    private ByteBuffer chunk(final long address) {
+        return chunks.get((int) (address >>> Integer.SIZE));
+    }
+
+    /**
+     * Reads an int of a block.
+     *
+     * @param address the address of the block
+     * @param offset the offset of the int in the block
+     *
+     * @return the int
+     */
+    public int getInt(final long address, final int offset) {
+        return chunk(address).getInt((int) address + offset);
+    }
+
+    /**
+     * Writes an int into a block.
+     *
+     * @param address the address of the block
+     * @param offset the offset of the int in the block
+     * @param value the int
+     */
+    public void putInt(final long address, final int offset, final int value) {
+        chunk(address).putInt((int) address + offset, value);
+    }
+
+    /**
+     * Copies ints from one block to another or within a block, overlapping ranges are copied correctly.
+     *
+     * @param source the address of the source block
+     * @param sourceOffset the offset of the first int in the source block
+     * @param target the address of the target block
+     * @param targetOffset the offset of the first int in the target block
+     * @param length the number of bytes, a multiple of {@link Integer#BYTES}
+     */
+    public void copy(final long source, final int sourceOffset, final long target, final int targetOffset,
+            final int length) {
+        final ByteBuffer from = chunk(source);
+        final ByteBuffer to = chunk(target);
+        final int start = (int) source + sourceOffset;
+        final int destination = (int) target + targetOffset;
+        if (from != to || destination < start) {
+            for (int index = 0; index < length; index += Integer.BYTES) {
+                to.putInt(destination + index, from.getInt(start + index));
+            }
+        } else {
+            for (int index = length - Integer.BYTES; index >= 0; index -= Integer.BYTES) {
+                to.putInt(destination + index, from.getInt(start + index));
+            }
+        }
+    }
+
+    @Override public int internName(final String name) {
+        return intern(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override public String name(final int id) {
+        return new String(symbol(id), StandardCharsets.UTF_8);
+    }
+
+    @Override public int findName(final byte[] name) {
+        final int hash = Arrays.hashCode(name);
+        final int mask = symbolTable.capacity() - 1;
+        int slot = hash & mask;
+        for (int entry = symbolTable.get(slot); entry != 0; entry = symbolTable.get(slot)) {
+            if (getInt(symbolAddresses.get(entry - 1), 0) == hash && compareName(entry - 1, name) == 0) {
+                return entry - 1;
+            }
+            slot = slot + 1 & mask;
+        }
+        return ABSENT;
+    }
+
+    @Override public int findTypeId(final Type type) {
+        return type instanceof PrimitiveType
+                ? -((PrimitiveType) type).ordinal() - 1
+                : findName(type.getType().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override public int compareName(final int id, final byte[] name) {
+        final int comparison = compareSegment(id, name, 0);
+        return comparison != 0
+                ? comparison
+                : length(id) - name.length;
+    }
+
+    @Override public int compareSegment(final int id, final byte[] key, final int offset) {
+        final long address = symbolAddresses.get(id);
+        final int length = getInt(address, Integer.BYTES);
+        final ByteBuffer chunk = chunk(address);
+        final int start = (int) address + SYMBOL_HEADER;
+        final int compared = Math.min(length, Math.max(key.length - offset, 0));
+        for (int index = 0; index < compared; index++) {
+            final int comparison = (chunk.get(start + index) & 0xFF) - (key[offset + index] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return length - compared;
+    }
+
+    @Override public int length(final int id) {
+        return getInt(symbolAddresses.get(id), Integer.BYTES);
+    }
+
+    @Override public int compareTypes(final int id, final int[] typeIds, final byte[][] typeNames) {
+        final long address = symbolAddresses.get(id);
+        final int count = getInt(address, Integer.BYTES) / Integer.BYTES;
+        for (int index = 0; index < Math.min(count, typeIds.length); index++) {
+            final int typeId = getInt(address, SYMBOL_HEADER + index * Integer.BYTES);
+            if (typeId == typeIds[index]) {
+                continue;
+            }
+            final int comparison = typeId < 0
+                    ? compare(SymbolTable.PRIMITIVE_NAMES[-typeId - 1], typeNames[index])
+                    : compareName(typeId, typeNames[index]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return count - typeIds.length;
+    }
+
+    private static int compare(final byte[] first, final byte[] second) {
+        for (int index = 0; index < Math.min(first.length, second.length); index++) {
+            final int comparison = (first[index] & 0xFF) - (second[index] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return first.length - second.length;
+    }
+
+    @Override public int typeId(final Type type) {
+        if (type instanceof PrimitiveType) {
+            return -((PrimitiveType) type).ordinal() - 1;
+        }
+        final int id = internName(type.getType());
+        final Type replaced = constructs.put(id, type);
+        if (replaced != null && replaced != type && signatures != null) {
+            // a construct of the same name replaced the removed one, the signatures refer to the removed one
+            signatures.clear();
+        }
+        return id;
+    }
+
+    @Override public Type type(final int id) {
+        return id < 0
+                ? PRIMITIVE_TYPES[-id - 1]
+                : constructs.get(id);
+    }
+
+    @Override public int internTypes(final Type[] types) {
+        final ByteBuffer bytes = ByteBuffer.allocate(types.length * Integer.BYTES);
+        for (final Type type : types) {
+            bytes.putInt(typeId(type));
+        }
+        return intern(bytes.array());
+    }
+
+    @Override public Type[] types(final int id) {
+        final ByteBuffer bytes = ByteBuffer.wrap(symbol(id));
+        final Type[] types = new Type[bytes.remaining() / Integer.BYTES];
+        for (int index = 0; index < types.length; index++) {
+            types[index] = type(bytes.getInt());
+        }
+        return types;
+    }
+
+    @Override public MethodSignature signature(final int name, final int parameters, final int returnType) {
+        SignatureCache cache = signatures;
+        if (cache == null) {
+            cache = new SignatureCache();
+            signatures = cache;
+        }
+        return cache.get(this, name, parameters, returnType);
+    }
+
+    private int intern(final byte[] content) {
+        final int hash = Arrays.hashCode(content);
+        final int mask = symbolTable.capacity() - 1;
+        int slot = hash & mask;
+        for (int entry = symbolTable.get(slot); entry != 0; entry = symbolTable.get(slot)) {
+            final long address = symbolAddresses.get(entry - 1);
+            if (getInt(address, 0) == hash && compareName(entry - 1, content) == 0) {
+                return entry - 1;
+            }
+            slot = slot + 1 & mask;
+        }
+        final long address = allocate(SYMBOL_HEADER + content.length);
+        putInt(address, 0, hash);
+        putInt(address, Integer.BYTES, content.length);
+        final ByteBuffer chunk = chunk(address);
+        for (int index = 0; index < content.length; index++) {
+            chunk.put((int) address + SYMBOL_HEADER + index, content[index]);
+        }
+        if (symbolCount == symbolAddresses.capacity()) {
+            final LongBuffer grown = allocateDirect(symbolCount * 2 * Long.BYTES).asLongBuffer();
+            symbolAddresses.rewind();
+            grown.put(symbolAddresses);
+            reservedBytes -= (long) symbolCount * Long.BYTES;
+            symbolAddresses = grown;
+        }
+        symbolAddresses.put(symbolCount, address);
+        symbolTable.put(slot, ++symbolCount);
+        if (symbolCount * 2 > symbolTable.capacity()) {
+            rehash();
+        }
+        return symbolCount - 1;
+    }
+
+    private void rehash() {
+        final IntBuffer grown = allocateDirect(symbolTable.capacity() * 2 * Integer.BYTES).asIntBuffer();
+        reservedBytes -= (long) symbolTable.capacity() * Integer.BYTES;
+        final int mask = grown.capacity() - 1;
+        for (int id = 0; id < symbolCount; id++) {
+            int slot = getInt(symbolAddresses.get(id), 0) & mask;
+            while (grown.get(slot) != 0) {
+                slot = slot + 1 & mask;
+            }
+            grown.put(slot, id + 1);
+        }
+        symbolTable = grown;
+    }
+
+    private byte[] symbol(final int id) {
+        final long address = symbolAddresses.get(id);
+        final byte[] content = new byte[getInt(address, Integer.BYTES)];
+        final ByteBuffer chunk = chunk(address);
+        for (int index = 0; index < content.length; index++) {
+            content[index] = chunk.get((int) address + SYMBOL_HEADER + index);
+        }
+        return content;
+    }
+
+    /**
+     * @return the number of signatures in the cache on the heap, see {@link #signature(int, int, int)}
+     */
+    public int getCachedSignatureCount() {
+        return signatures != null
+                ? signatures.getCount()
+                : 0;
+    }
+
+    /**
+     * @return the number of bytes in the blocks currently allocated
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * @return the number of bytes reserved outside of the heap
+     */
+    public long getReservedBytes() {
+        return reservedBytes;
+    }
+}
@@ -0,0 +1,308 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Stores the members of a construct as fixed size records in an {@link OffHeapArena}, so very large hierarchies do not
+ * occupy the heap with their members. A method is kept as the ids of its name, return type and parameter list and its
+ * flags, an attribute as the ids of its name and type and its flags. The records are sorted like in a
+ * {@link ColumnarMemberStore}, the {@link Method} and {@link Attribute} objects are only created when they are read.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class OffHeapMemberStore implements MemberStore {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int METHOD_RECORD = 4 * Integer.BYTES;
+    private static final int ATTRIBUTE_RECORD = 3 * Integer.BYTES;
+    private static final int NAME = 0;
+    private static final int TYPE = Integer.BYTES;
+    private static final int PARAMETERS = 2 * Integer.BYTES;
+    private static final int METHOD_FLAGS = 3 * Integer.BYTES;
+    private static final int ATTRIBUTE_FLAGS = 2 * Integer.BYTES;
+
+    private final NameableConstruct owner;
+    private final OffHeapArena arena;
+    private long methodRegion;
+    private int methodCapacity;
+    private int methodCount;
+    private long attributeRegion;
+    private int attributeCapacity;
+    private int attributeCount;
+
+    /**
+     * Instantiates a new empty OffHeapMemberStore for the given construct.
+     *
+     * @param owner the construct containing the stored members
+     * @param arena the arena holding the records
+     */
+    OffHeapMemberStore(final NameableConstruct owner, final OffHeapArena arena) {
+        this.owner = owner;
+        this.arena = arena;
+    }
+
+    @Override public boolean addMethod(final Method method) {
+        final int index = findMethod(method);
+        if (index >= 0) {
+            return false;
+        }
+        final int insertion = -index - 1;
+        if (methodCount == methodCapacity) {
+            final int capacity = Math.max(INITIAL_CAPACITY, methodCount * 2);
+            methodRegion = grow(methodRegion, methodCapacity * METHOD_RECORD, capacity * METHOD_RECORD);
+            methodCapacity = capacity;
+        }
+        final int offset = insertion * METHOD_RECORD;
+        arena.copy(methodRegion, offset, methodRegion, offset + METHOD_RECORD,
+                (methodCount - insertion) * METHOD_RECORD);
+        arena.putInt(methodRegion, offset + NAME, arena.internName(method.getName()));
+        arena.putInt(methodRegion, offset + TYPE, arena.typeId(method.getReturnType()));
+        arena.putInt(methodRegion, offset + PARAMETERS, arena.internTypes(method.getParameterList().toArray()));
+        arena.putInt(methodRegion, offset + METHOD_FLAGS,
+                MemberFlags.pack(method.getVisibilityModifier(), method.getFinalState()));
+        methodCount++;
+        return true;
+    }
+
+    @Override public boolean removeMethod(final Method method) {
+        final int index = findMethod(method);
+        if (index < 0) {
+            return false;
+        }
+        final int offset = index * METHOD_RECORD;
+        arena.copy(methodRegion, offset + METHOD_RECORD, methodRegion, offset,
+                (methodCount - index - 1) * METHOD_RECORD);
+        methodCount--;
+        return true;
+    }
+
+    @Override public boolean containsMethod(final Method method) {
+        return findMethod(method) >= 0;
+    }
+
+    @Override public Method getMethod(final Method method) {
+        final int index = findMethod(method);
+        if (index < 0 || arena.getInt(methodRegion, index * METHOD_RECORD + TYPE) != arena.findTypeId(
+                method.getReturnType())) {
+            return null;
+        }
+        // the given method has the same signature, so it is not materialized again
+        final byte flags = (byte) arena.getInt(methodRegion, index * METHOD_RECORD + METHOD_FLAGS);
+        return new Method(method.getMethodSignature(), MemberFlags.visibility(flags), MemberFlags.finalState(flags),
+                owner);
+    }
+
+    @Override public boolean addAttribute(final Attribute attribute) {
+        final int index = findAttribute(attribute);
+        if (index >= 0) {
+            return false;
+        }
+        final int low = -index - 1;
+        if (attributeCount == attributeCapacity) {
+            final int capacity = Math.max(INITIAL_CAPACITY, attributeCount * 2);
+            attributeRegion = grow(attributeRegion, attributeCapacity * ATTRIBUTE_RECORD,
+                    capacity * ATTRIBUTE_RECORD);
+            attributeCapacity = capacity;
+        }
+        final int offset = low * ATTRIBUTE_RECORD;
+        arena.copy(attributeRegion, offset, attributeRegion, offset + ATTRIBUTE_RECORD,
+                (attributeCount - low) * ATTRIBUTE_RECORD);
+        arena.putInt(attributeRegion, offset + NAME, arena.internName(attribute.getName()));
+        arena.putInt(attributeRegion, offset + TYPE, arena.typeId(attribute.getType()));
+        arena.putInt(attributeRegion, offset + ATTRIBUTE_FLAGS,
+                MemberFlags.pack(attribute.getVisibilityModifier(), attribute.getaFinal()));
+        attributeCount++;
+        return true;
+    }
+
+    @Override public boolean removeAttribute(final Attribute attribute) {
+        final int index = findAttribute(attribute);
+        if (index < 0) {
+            return false;
+        }
+        final int offset = index * ATTRIBUTE_RECORD;
+        arena.copy(attributeRegion, offset + ATTRIBUTE_RECORD, attributeRegion, offset,
+                (attributeCount - index - 1) * ATTRIBUTE_RECORD);
+        attributeCount--;
+        return true;
+    }
+
+    @Override public int getMethodCount() {
+        return methodCount;
+    }
+
+    @Override public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    @Override public List<Method> methods() {
+        return new AbstractList<Method>() {
+            @Override public Method get(final int index) {
+                if (index >= methodCount) {
+                    throw new IndexOutOfBoundsException("index " + index + ", size " + methodCount);
+                }
+                return methodAt(index);
+            }
+
+            @Override public int size() {
+                return methodCount;
+            }
+        };
+    }
+
+    @Override public List<Method> methods(final String name) {
+        final MethodKey key = new MethodKey(arena, name);
+        return methods().subList(boundary(key, false), boundary(key, true));
+    }
+
+    @Override public List<Attribute> attributes() {
+        return new AbstractList<Attribute>() {
+            @Override public Attribute get(final int index) {
+                if (index >= attributeCount) {
+                    throw new IndexOutOfBoundsException("index " + index + ", size " + attributeCount);
+                }
+                return attributeAt(index);
+            }
+
+            @Override public int size() {
+                return attributeCount;
+            }
+        };
+    }
+
+    @Override public void release() {
+        final int methodSize = methodCount > 0
+                ? methodCount * METHOD_RECORD
+                : 0;
+        methodRegion = shrink(methodRegion, methodCapacity * METHOD_RECORD, methodSize);
+        methodCapacity = methodCount;
+        final int attributeSize = attributeCount > 0
+                ? attributeCount * ATTRIBUTE_RECORD
+                : 0;
+        attributeRegion = shrink(attributeRegion, attributeCapacity * ATTRIBUTE_RECORD, attributeSize);
+        attributeCapacity = attributeCount;
+    }
+
+    /**
+     * Moves the records of the given region into a new region of the given size and frees the old one.
+     *
+     * @return the address of the new region
+     */
+    private long grow(final long region, final int size, final int newSize) {
+        final long grown = arena.allocate(newSize);
+        if (size > 0) {
+            arena.copy(region, 0, grown, 0, size);
+            arena.free(region, size);
+        }
+        return grown;
+    }
+
+    /**
+     * Moves the records of the given region into a new region of the given smaller size and frees the old one. No
+     * region is allocated for the size 0.
+     *
+     * @return the address of the new region
+     */
+    private long shrink(final long region, final int size, final int newSize) {
+        if (size == newSize) {
+            return region;
+        }
+        final long shrunk = newSize > 0
+                ? arena.allocate(newSize)
+                : 0;
+        if (newSize > 0) {
+            arena.copy(region, 0, shrunk, 0, newSize);
+        }
+        arena.free(region, size);
+        return shrunk;
+    }
+
+    /**
+     * Searches the method with the same name and parameters as the given one. The names and parameter lists of the
+     * records are compared in the arena, equal ids without looking at the symbols at all.
+     *
+     * @return the index of the method or (-(insertion point) - 1) if there is none
+     */
+    private int findMethod(final Method method) {
+        final MethodKey key = new MethodKey(arena, method);
+        int low = 0;
+        int high = methodCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int offset = middle * METHOD_RECORD;
+            final int comparison = key.compareTo(arena, arena.getInt(methodRegion, offset + NAME),
+                    arena.getInt(methodRegion, offset + PARAMETERS));
+            if (comparison == 0) {
+                return middle;
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the first method whose name is not less than the one of the given key, or greater than it
+     * if the methods with the name are skipped.
+     */
+    private int boundary(final MethodKey key, final boolean skipEqual) {
+        int low = 0;
+        int high = methodCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = key.compareName(arena, arena.getInt(methodRegion, middle * METHOD_RECORD + NAME));
+            if (comparison < 0 || skipEqual && comparison == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Searches the attribute with the same signature as the given one. The records are compared in the arena, so no
+     * attribute is created per probe.
+     *
+     * @return the index of the attribute or (-(insertion point) - 1) if there is none
+     */
+    private int findAttribute(final Attribute attribute) {
+        final AttributeKey key = new AttributeKey(attribute);
+        int low = 0;
+        int high = attributeCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int offset = middle * ATTRIBUTE_RECORD;
+            final int comparison = key.compareTo(arena, (byte) arena.getInt(attributeRegion, offset + ATTRIBUTE_FLAGS),
+                    arena.getInt(attributeRegion, offset + TYPE), arena.getInt(attributeRegion, offset + NAME));
+            if (comparison == 0) {
+                return middle;
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private Method methodAt(final int index) {
+        final int offset = index * METHOD_RECORD;
+        final byte flags = (byte) arena.getInt(methodRegion, offset + METHOD_FLAGS);
+        return new Method(arena.signature(arena.getInt(methodRegion, offset + NAME),
+                arena.getInt(methodRegion, offset + PARAMETERS), arena.getInt(methodRegion, offset + TYPE)),
+                MemberFlags.visibility(flags), MemberFlags.finalState(flags), owner);
+    }
+
+    private Attribute attributeAt(final int index) {
+        final int offset = index * ATTRIBUTE_RECORD;
+        final byte flags = (byte) arena.getInt(attributeRegion, offset + ATTRIBUTE_FLAGS);
+        return new Attribute(arena.name(arena.getInt(attributeRegion, offset + NAME)), MemberFlags.visibility(flags),
+                MemberFlags.finalState(flags), arena.type(arena.getInt(attributeRegion, offset + TYPE)), owner);
+    }
+}
@@ -0,0 +1,121 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable list of parameter types. Equal lists are interned, so all methods with the same parameter types share
+ * one instance and lists are compared by their identity.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class ParameterList {
+    private static final WeakInterner<Key, ParameterList> POOL = new WeakInterner<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final Key key;
+    private final int id;
+
+    private ParameterList(final Key key) {
+        this.key = key;
+        this.id = NEXT_ID.getAndIncrement();
+    }
+
+    /**
+     * Returns the canonical list of the given types.
+     *
+     * @param types the parameter types, the array is copied
+     *
+     * @return the interned parameter list
+     */
+    public static ParameterList of(final Type[] types) {
+        return POOL.intern(new Key(Arrays.copyOf(types, types.length)), ParameterList::new);
+    }
+
+    /**
+     * @return the number of parameters
+     */
+    public int size() {
+        return key.types.length;
+    }
+
+    /**
+     * Returns the type of the parameter at the given index.
+     *
+     * @param index the index of the parameter
+     *
+     * @return the type of the parameter
+     */
+    public Type get(final int index) {
+        return key.types[index];
+    }
+
+    /**
+     * Returns an unmodifiable view of the parameter types, no copy is made.
+     *
+     * @return the parameter types
+     */
+    public List<Type> asList() {
+        return new AbstractList<Type>() {
+            @Override public Type get(final int index) {
+                return key.types[index];
+            }
+
+            @Override public int size() {
+                return key.types.length;
+            }
+        };
+    }
+
+    /**
+     * @return a copy of the parameter types
+     */
+    public Type[] toArray() {
+        return Arrays.copyOf(key.types, key.types.length);
+    }
+
+    @Override public boolean equals(final Object o) {
+        return this == o;
+    }
+
+    @Override public int hashCode() {
+        return id;
+    }
+
+    /**
+     * The types of a list, compared element by element by their identity, as types with equal names may belong to
+     * different databases.
+     */
+    private static final class Key {
+        private final Type[] types;
+        private final int hash;
+
+        private Key(final Type[] types) {
+            this.types = types;
+            int result = 1;
+            for (final Type type : types) {
+                result = 31 * result + System.identityHashCode(type);
+            }
+            hash = result;
+        }
+
+        @Override public boolean equals(final Object o) {
+            if (!(o instanceof Key) || ((Key) o).types.length != types.length) {
+                return false;
+            }
+            for (int index = 0; index < types.length; index++) {
+                if (types[index] != ((Key) o).types[index]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+    }
+}
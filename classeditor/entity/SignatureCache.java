@@ -0,0 +1,75 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.util.Arrays;
+
+/**
+ * A direct-mapped cache of the signatures materialized from the ids of {@link Symbols}. A signature replaces the one
+ * in its slot, so the cache holds at most {@link Symbols#CACHED_SIGNATURES} of them. The entries are immutable, so
+ * concurrent readers may race on a slot and at worst intern a signature once more.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class SignatureCache {
+    private final Entry[] entries = new Entry[Symbols.CACHED_SIGNATURES];
+
+    /**
+     * Returns the signature of the given ids, materializing it from the given symbols if it is not cached.
+     *
+     * @param symbols the symbols of the ids
+     * @param name the id of the name
+     * @param parameters the id of the parameter list
+     * @param returnType the id of the return type
+     *
+     * @return the interned signature
+     */
+    MethodSignature get(final Symbols symbols, final int name, final int parameters, final int returnType) {
+        final int hash = (name * 31 + parameters) * 31 + returnType;
+        final int slot = (hash ^ hash >>> 16) & entries.length - 1;
+        final Entry entry = entries[slot];
+        if (entry != null && entry.name == name && entry.parameters == parameters && entry.returnType == returnType) {
+            return entry.signature;
+        }
+        final MethodSignature signature = MethodSignature.of(symbols.name(name), symbols.types(parameters),
+                symbols.type(returnType));
+        entries[slot] = new Entry(name, parameters, returnType, signature);
+        return signature;
+    }
+
+    /**
+     * @return the number of cached signatures
+     */
+    int getCount() {
+        int count = 0;
+        for (final Entry entry : entries) {
+            if (entry != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Forgets all signatures, used when an id refers to another type than before.
+     */
+    void clear() {
+        Arrays.fill(entries, null);
+    }
+
+    /**
+     * A cached signature and the ids it was materialized from.
+     */
+    private static final class Entry {
+        private final int name;
+        private final int parameters;
+        private final int returnType;
+        private final MethodSignature signature;
+
+        private Entry(final int name, final int parameters, final int returnType, final MethodSignature signature) {
+            this.name = name;
+            this.parameters = parameters;
+            this.returnType = returnType;
+            this.signature = signature;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Iterates the methods a construct lists in the order of {@link Method#lexicographicallySortingComparator()} without
+ * collecting them first. The declared methods of an ancestor with one visibility and one final state share the prefix
+ * of their signatures and are stored sorted by the rest of it, so these runs are merged by their next signatures. A
+ * method is only returned if the construct resolves it to the declaring ancestor, so hidden and overridden methods
+ * are skipped like in {@link Construct#listAllMethods(VisibilityModifier...)}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class SortedMethodIterator implements Iterator<Method> {
+    private final NameableConstruct construct;
+    private final VisibilityModifier[] visibilityModifier;
+    private final PriorityQueue<Run> runs = new PriorityQueue<>();
+    private Method next;
+
+    /**
+     * Instantiates a new SortedMethodIterator.
+     *
+     * @param construct the construct whose methods are iterated
+     * @param visibilityModifier the visibilities not to be listed
+     */
+    SortedMethodIterator(final NameableConstruct construct, final VisibilityModifier... visibilityModifier) {
+        this.construct = construct;
+        this.visibilityModifier = visibilityModifier;
+        for (final NameableConstruct ancestor : construct.getLinearization()) {
+            for (final VisibilityModifier visibility : VisibilityModifier.values()) {
+                if (ancestor.getDeclaredMethods(visibility).isEmpty()) {
+                    continue;
+                }
+                for (final Final finalState : Final.values()) {
+                    final Run run = new Run(ancestor.getDeclaredMethods(visibility).iterator(), finalState);
+                    if (run.advance()) {
+                        runs.add(run);
+                    }
+                }
+            }
+        }
+        next = find();
+    }
+
+    @Override public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override public Method next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        final Method method = next;
+        next = find();
+        return method;
+    }
+
+    private Method find() {
+        while (!runs.isEmpty()) {
+            final Run run = runs.poll();
+            final Method method = run.head;
+            if (run.advance()) {
+                runs.add(run);
+            }
+            final Method resolved = construct.resolveMethod(method, visibilityModifier);
+            if (resolved != null && resolved.getConstruct() == method.getConstruct()) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The remaining declared methods of one ancestor with one visibility and one final state.
+     */
+    private static final class Run implements Comparable<Run> {
+        private final Iterator<Method> methods;
+        private final Final finalState;
+        private Method head;
+        private String signature;
+
+        private Run(final Iterator<Method> methods, final Final finalState) {
+            this.methods = methods;
+            this.finalState = finalState;
+        }
+
+        /**
+         * Moves to the next method of this run.
+         *
+         * @return whether or not there is one
+         */
+        private boolean advance() {
+            while (methods.hasNext()) {
+                final Method method = methods.next();
+                if (method.getFinalState() == finalState) {
+                    head = method;
+                    signature = method.getSignature();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override public int compareTo(final Run o) {
+            return signature.compareTo(o.signature);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The {@link Symbols} of the members kept on the heap. The encoded symbols are packed one after another into a single
+ * byte array and found by an open addressing hash table of their ids, so a symbol costs its bytes and a few ints
+ * instead of a string and a map entry.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class SymbolTable implements Symbols {
+    private static final int INITIAL_SYMBOLS = 8;
+    private static final int INITIAL_CONTENTS = 64;
+    private static final PrimitiveType[] PRIMITIVE_TYPES = PrimitiveType.values();
+    /**
+     * The encoded names of the primitive types by their ordinals.
+     */
+    static final byte[][] PRIMITIVE_NAMES = new byte[PRIMITIVE_TYPES.length][];
+
+    static {
+        for (final PrimitiveType type : PRIMITIVE_TYPES) {
+            PRIMITIVE_NAMES[type.ordinal()] = type.getType().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The contents of the symbols one after another.
+     */
+    private byte[] contents = new byte[INITIAL_CONTENTS];
+    /**
+     * The offsets of the symbols in the contents by their ids, followed by the end of the last symbol.
+     */
+    private int[] starts = new int[INITIAL_SYMBOLS + 1];
+    /**
+     * An open addressing hash table of the symbol ids plus one, zero marks an empty slot.
+     */
+    private int[] table = new int[2 * INITIAL_SYMBOLS];
+    /**
+     * The constructs by the ids of their names, null for the other symbols.
+     */
+    private Type[] constructs = new Type[INITIAL_SYMBOLS];
+    private int count;
+    /**
+     * The cache of the materialized signatures, created with the first one.
+     */
+    private SignatureCache signatures;
+
+    @Override public int internName(final String name) {
+        return intern(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override public String name(final int id) {
+        return new String(contents, starts[id], length(id), StandardCharsets.UTF_8);
+    }
+
+    @Override public int findName(final byte[] name) {
+        final int mask = table.length - 1;
+        int slot = Arrays.hashCode(name) & mask;
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            if (compareName(entry - 1, name) == 0) {
+                return entry - 1;
+            }
+            slot = slot + 1 & mask;
+        }
+        return ABSENT;
+    }
+
+    @Override public int compareName(final int id, final byte[] name) {
+        final int comparison = compareSegment(id, name, 0);
+        return comparison != 0
+                ? comparison
+                : length(id) - name.length;
+    }
+
+    @Override public int compareSegment(final int id, final byte[] key, final int offset) {
+        final int start = starts[id];
+        final int length = length(id);
+        final int compared = Math.min(length, Math.max(key.length - offset, 0));
+        for (int index = 0; index < compared; index++) {
+            final int comparison = (contents[start + index] & 0xFF) - (key[offset + index] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return length - compared;
+    }
+
+    @Override public int length(final int id) {
+        return starts[id + 1] - starts[id];
+    }
+
+    @Override public int typeId(final Type type) {
+        if (type instanceof PrimitiveType) {
+            return -((PrimitiveType) type).ordinal() - 1;
+        }
+        final int id = internName(type.getType());
+        if (constructs[id] != type) {
+            if (constructs[id] != null && signatures != null) {
+                // a construct of the same name replaced the removed one, the signatures refer to the removed one
+                signatures.clear();
+            }
+            constructs[id] = type;
+        }
+        return id;
+    }
+
+    @Override public int findTypeId(final Type type) {
+        return type instanceof PrimitiveType
+                ? -((PrimitiveType) type).ordinal() - 1
+                : findName(type.getType().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override public Type type(final int id) {
+        return id < 0
+                ? PRIMITIVE_TYPES[-id - 1]
+                : constructs[id];
+    }
+
+    @Override public int internTypes(final Type[] types) {
+        final ByteBuffer bytes = ByteBuffer.allocate(types.length * Integer.BYTES);
+        for (final Type type : types) {
+            bytes.putInt(typeId(type));
+        }
+        return intern(bytes.array());
+    }
+
+    @Override public Type[] types(final int id) {
+        final ByteBuffer bytes = ByteBuffer.wrap(contents, starts[id], length(id));
+        final Type[] types = new Type[length(id) / Integer.BYTES];
+        for (int index = 0; index < types.length; index++) {
+            types[index] = type(bytes.getInt());
+        }
+        return types;
+    }
+
+    @Override public int compareTypes(final int id, final int[] typeIds, final byte[][] typeNames) {
+        final ByteBuffer bytes = ByteBuffer.wrap(contents, starts[id], length(id));
+        final int size = length(id) / Integer.BYTES;
+        for (int index = 0; index < Math.min(size, typeIds.length); index++) {
+            final int typeId = bytes.getInt();
+            if (typeId == typeIds[index]) {
+                continue;
+            }
+            final int comparison = typeId < 0
+                    ? compare(PRIMITIVE_NAMES[-typeId - 1], typeNames[index])
+                    : compareName(typeId, typeNames[index]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return size - typeIds.length;
+    }
+
+    private static int compare(final byte[] first, final byte[] second) {
+        for (int index = 0; index < Math.min(first.length, second.length); index++) {
+            final int comparison = (first[index] & 0xFF) - (second[index] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return first.length - second.length;
+    }
+
+    @Override public MethodSignature signature(final int name, final int parameters, final int returnType) {
+        SignatureCache cache = signatures;
+        if (cache == null) {
+            cache = new SignatureCache();
+            signatures = cache;
+        }
+        return cache.get(this, name, parameters, returnType);
+    }
+
+    private int intern(final byte[] content) {
+        final int mask = table.length - 1;
+        int slot = Arrays.hashCode(content) & mask;
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            if (compareName(entry - 1, content) == 0) {
+                return entry - 1;
+            }
+            slot = slot + 1 & mask;
+        }
+        final int start = starts[count];
+        if (start + content.length > contents.length) {
+            contents = Arrays.copyOf(contents, Math.max(contents.length * 2, start + content.length));
+        }
+        System.arraycopy(content, 0, contents, start, content.length);
+        if (count == constructs.length) {
+            constructs = Arrays.copyOf(constructs, count * 2);
+            starts = Arrays.copyOf(starts, count * 2 + 1);
+        }
+        starts[count + 1] = start + content.length;
+        table[slot] = ++count;
+        if (count * 2 > table.length) {
+            rehash();
+        }
+        return count - 1;
+    }
+
+    private void rehash() {
+        final int[] grown = new int[table.length * 2];
+        final int mask = grown.length - 1;
+        for (int id = 0; id < count; id++) {
+            int slot = hash(starts[id], starts[id + 1]) & mask;
+            while (grown[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            grown[slot] = id + 1;
+        }
+        table = grown;
+    }
+
+    /**
+     * Returns the hash of the given range of the contents like {@link Arrays#hashCode(byte[])} of the range.
+     */
+    private int hash(final int from, final int to) {
+        int hash = 1;
+        for (int index = from; index < to; index++) {
+            hash = 31 * hash + contents[index];
+        }
+        return hash;
+    }
+
+    /**
+     * @return the number of stored symbols
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of signatures in the cache of this table, see {@link #signature(int, int, int)}
+     */
+    public int getCachedSignatureCount() {
+        return signatures != null
+                ? signatures.getCount()
+                : 0;
+    }
+
+    /**
+     * @return the number of bytes of the arrays of this table
+     */
+    public long getArrayBytes() {
+        return contents.length + (long) (starts.length + table.length) * Integer.BYTES
+               + (long) constructs.length * Integer.BYTES;
+    }
+}
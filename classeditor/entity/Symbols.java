@@ -0,0 +1,144 @@
+package edu.kit.informatik.classeditor.entity;
+
+/**
+ * Interns the names and parameter lists of members, so every distinct one is stored once and referred to by an int
+ * id. A primitive type is referred to by its negated ordinal plus one, a construct by the id of its name. Names are
+ * compared as UTF-8 encoded bytes, which gives the order of the strings for the characters allowed in names.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public interface Symbols {
+    /**
+     * The id returned for a name or type which is not stored.
+     */
+    int ABSENT = Integer.MIN_VALUE;
+    /**
+     * The number of signatures cached by {@link #signature(int, int, int)} at most.
+     */
+    int CACHED_SIGNATURES = 1 << 10;
+
+    /**
+     * Returns the id of the given name, storing the name if it is new.
+     *
+     * @param name the name
+     *
+     * @return the id of the name
+     */
+    int internName(String name);
+
+    /**
+     * Returns the name with the given id.
+     *
+     * @param id the id returned by {@link #internName(String)}
+     *
+     * @return the name
+     */
+    String name(int id);
+
+    /**
+     * Returns the id of the given UTF-8 encoded name without storing it.
+     *
+     * @param name the encoded name
+     *
+     * @return the id of the name or {@link #ABSENT} if it is not stored
+     */
+    int findName(byte[] name);
+
+    /**
+     * Compares the name with the given id with the given UTF-8 encoded name, without decoding it.
+     *
+     * @param id the id returned by {@link #internName(String)}
+     * @param name the encoded name
+     *
+     * @return the sign of the comparison of the two names
+     */
+    int compareName(int id, byte[] name);
+
+    /**
+     * Compares the name with the given id with the bytes of the given key starting at the given offset.
+     *
+     * @param id the id returned by {@link #internName(String)}
+     * @param key the encoded key
+     * @param offset the offset of the compared bytes in the key
+     *
+     * @return 0 if the key continues with the name, the sign of the comparison of the two otherwise
+     */
+    int compareSegment(int id, byte[] key, int offset);
+
+    /**
+     * @param id the id returned by {@link #internName(String)}
+     *
+     * @return the number of bytes of the encoded name with the given id
+     */
+    int length(int id);
+
+    /**
+     * Returns the id of the given type. Constructs are registered, so their ids can be resolved again.
+     *
+     * @param type the type
+     *
+     * @return the id of the type
+     */
+    int typeId(Type type);
+
+    /**
+     * Returns the id of the given type without storing the name of a construct.
+     *
+     * @param type the type
+     *
+     * @return the id of the type or {@link #ABSENT} if the name of the construct is not stored
+     */
+    int findTypeId(Type type);
+
+    /**
+     * Returns the type with the given id.
+     *
+     * @param id the id returned by {@link #typeId(Type)}
+     *
+     * @return the type
+     */
+    Type type(int id);
+
+    /**
+     * Returns the id of the given list of types, storing the list if it is new.
+     *
+     * @param types the types
+     *
+     * @return the id of the list
+     */
+    int internTypes(Type[] types);
+
+    /**
+     * Returns the list of types with the given id.
+     *
+     * @param id the id returned by {@link #internTypes(Type[])}
+     *
+     * @return the types
+     */
+    Type[] types(int id);
+
+    /**
+     * Compares the list of types with the given id with the given types element by element, a list which is a prefix
+     * of the other one comes first. Types with equal ids are equal, the others are compared by their names.
+     *
+     * @param id the id returned by {@link #internTypes(Type[])}
+     * @param typeIds the ids of the other types, see {@link #findTypeId(Type)}
+     * @param typeNames the UTF-8 encoded names of the other types
+     *
+     * @return the sign of the comparison of the two lists
+     */
+    int compareTypes(int id, int[] typeIds, byte[][] typeNames);
+
+    /**
+     * Returns the interned signature of the given parts. Recently returned signatures are cached by their ids, so
+     * reading a method again neither decodes its symbols nor interns its signature.
+     *
+     * @param name the id of the name
+     * @param parameters the id of the parameter list
+     * @param returnType the id of the return type
+     *
+     * @return the signature
+     */
+    MethodSignature signature(int name, int parameters, int returnType);
+}
@@ -11,17 +11,25 @@ package edu.kit.informatik.classeditor.entity;
  */
 public interface Type {
     /**
-     * @return the pattern for a type starting with a capital letter
+     * @return the pattern for a package name, lowercase segments separated by dots
+     */
+    static String getPackagePattern() {
+        return "([a-z][a-z0-9]*(?:\\.[a-z][a-z0-9]*)*)";
+    }
+
+    /**
+     * @return the pattern for a type starting with a capital letter, optionally qualified by its package
      */
     static String getTypePattern() {
-        return "([A-Z][a-zA-Z0-9]*)";
+        return "((?:[a-z][a-z0-9]*\\.)*[A-Z][a-zA-Z0-9]*)";
     }
 
     /**
-     * @return the pattern for a case insensitive type (added types and primitive ones)
+     * @return the pattern for a case insensitive type (added types and primitive ones), optionally qualified by its
+     *         package
      */
     static String getCaseInsensitivePattern() {
-        return "([a-zA-Z0-9]+)";
+        return "((?:[a-z][a-z0-9]*\\.)*[a-zA-Z0-9]+)";
     }
 
     /**
@@ -0,0 +1,257 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Stores the members of a construct in one {@link MemberStore} per visibility, so a query for some visibilities
+ * skips the other buckets as a whole instead of testing every member. A bucket is only created with its first member,
+ * members without a visibility are kept with the ones of {@link VisibilityModifier#DEFAULT}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class VisibilityBuckets implements MemberStore {
+    private static final VisibilityModifier[] VISIBILITIES = VisibilityModifier.values();
+
+    private static final MemberStore EMPTY = new ColumnarMemberStore(null, null);
+
+    private final Supplier<MemberStore> factory;
+    /**
+     * The buckets by the ordinals of their visibilities, {@link #EMPTY} until a member is added.
+     */
+    private final MemberStore[] buckets = new MemberStore[VISIBILITIES.length];
+
+    /**
+     * Instantiates a new VisibilityBuckets creating its buckets with the given factory.
+     *
+     * @param factory creates an empty store for one bucket
+     */
+    VisibilityBuckets(final Supplier<MemberStore> factory) {
+        this.factory = factory;
+        Arrays.fill(buckets, EMPTY);
+    }
+
+    private static int index(final VisibilityModifier visibility) {
+        return visibility != null
+                ? visibility.ordinal()
+                : VisibilityModifier.DEFAULT.ordinal();
+    }
+
+    private MemberStore bucket(final VisibilityModifier visibility) {
+        final int index = index(visibility);
+        if (buckets[index] == EMPTY) {
+            buckets[index] = factory.get();
+        }
+        return buckets[index];
+    }
+
+    @Override public boolean addMethod(final Method method) {
+        // methods are unique by their names and parameters, regardless of their visibilities
+        for (final MemberStore bucket : buckets) {
+            if (bucket.containsMethod(method)) {
+                return false;
+            }
+        }
+        return bucket(method.getVisibilityModifier()).addMethod(method);
+    }
+
+    @Override public boolean removeMethod(final Method method) {
+        for (final MemberStore bucket : buckets) {
+            if (bucket.removeMethod(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override public boolean containsMethod(final Method method) {
+        for (final MemberStore bucket : buckets) {
+            if (bucket.containsMethod(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override public Method getMethod(final Method method) {
+        for (final MemberStore bucket : buckets) {
+            final Method stored = bucket.getMethod(method);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        return null;
+    }
+
+    @Override public boolean addAttribute(final Attribute attribute) {
+        // the signature of an attribute contains its visibility, so equal attributes are always in the same bucket
+        return bucket(attribute.getVisibilityModifier()).addAttribute(attribute);
+    }
+
+    @Override public boolean removeAttribute(final Attribute attribute) {
+        return buckets[index(attribute.getVisibilityModifier())].removeAttribute(attribute);
+    }
+
+    @Override public int getMethodCount() {
+        int count = 0;
+        for (final MemberStore bucket : buckets) {
+            count += bucket.getMethodCount();
+        }
+        return count;
+    }
+
+    @Override public int getAttributeCount() {
+        int count = 0;
+        for (final MemberStore bucket : buckets) {
+            count += bucket.getAttributeCount();
+        }
+        return count;
+    }
+
+    @Override public List<Method> methods() {
+        return merge(select(VisibilityModifier.ALL, (final MemberStore bucket) -> bucket.methods()));
+    }
+
+    @Override public List<Method> methods(final String name) {
+        return merge(select(VisibilityModifier.ALL, (final MemberStore bucket) -> bucket.methods(name)));
+    }
+
+    @Override public List<Attribute> attributes() {
+        return merge(select(VisibilityModifier.ALL, MemberStore::attributes));
+    }
+
+    @Override public void release() {
+        for (int index = 0; index < buckets.length; index++) {
+            buckets[index].release();
+            if (buckets[index].getMethodCount() == 0 && buckets[index].getAttributeCount() == 0) {
+                buckets[index] = EMPTY;
+            }
+        }
+    }
+
+    /**
+     * Returns a view of the stored methods with one of the given visibilities. The methods are sorted by their names
+     * and parameters within each visibility, the visibilities follow each other in the order of their declaration.
+     *
+     * @param visibilities the bitmask of the visibilities, see {@link VisibilityModifier#bit()}
+     *
+     * @return an unmodifiable view of the methods
+     */
+    List<Method> methods(final int visibilities) {
+        return concatenate(select(visibilities, MemberStore::methods));
+    }
+
+    /**
+     * Returns a view of the stored methods with the given visibility, sorted by their names and parameters.
+     *
+     * @param visibility the visibility
+     *
+     * @return an unmodifiable view of the methods
+     */
+    List<Method> methods(final VisibilityModifier visibility) {
+        final MemberStore bucket = buckets[visibility.ordinal()];
+        return bucket.getMethodCount() > 0
+                ? bucket.methods()
+                : Collections.emptyList();
+    }
+
+    /**
+     * Returns the stored attributes with one of the given visibilities, sorted by their signatures. The attributes of
+     * a single visibility are returned as a view.
+     *
+     * @param visibilities the bitmask of the visibilities, see {@link VisibilityModifier#bit()}
+     *
+     * @return an unmodifiable list of the attributes
+     */
+    List<Attribute> attributes(final int visibilities) {
+        return merge(select(visibilities, MemberStore::attributes));
+    }
+
+    /**
+     * Returns the non-empty member lists of the buckets of the given visibilities.
+     */
+    private <T> List<List<T>> select(final int visibilities, final Function<MemberStore, List<T>> members) {
+        final List<List<T>> selected = new ArrayList<>(buckets.length);
+        for (final VisibilityModifier visibility : VISIBILITIES) {
+            final MemberStore bucket = buckets[visibility.ordinal()];
+            if (bucket != EMPTY && visibility.isIn(visibilities)) {
+                final List<T> list = members.apply(bucket);
+                if (!list.isEmpty()) {
+                    selected.add(list);
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static <T> List<T> concatenate(final List<List<T>> selected) {
+        if (selected.size() <= 1) {
+            return selected.isEmpty()
+                    ? Collections.emptyList()
+                    : selected.get(0);
+        }
+        return new AbstractList<T>() {
+            @Override public T get(final int index) {
+                int remaining = index;
+                for (final List<T> bucket : selected) {
+                    if (remaining < bucket.size()) {
+                        return bucket.get(remaining);
+                    }
+                    remaining -= bucket.size();
+                }
+                throw new IndexOutOfBoundsException("index " + index + ", size " + size());
+            }
+
+            @Override public int size() {
+                int size = 0;
+                for (final List<T> bucket : selected) {
+                    size += bucket.size();
+                }
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Merges the given sorted lists into one sorted list. A single list is returned as it is, so its members stay
+     * unmaterialized.
+     */
+    private static <T extends Comparable<? super T>> List<T> merge(final List<List<T>> selected) {
+        if (selected.size() <= 1) {
+            return selected.isEmpty()
+                    ? Collections.emptyList()
+                    : selected.get(0);
+        }
+        int size = 0;
+        for (final List<T> list : selected) {
+            size += list.size();
+        }
+        final List<T> merged = new ArrayList<>(size);
+        final int[] positions = new int[selected.size()];
+        final List<T> heads = new ArrayList<>(selected.size());
+        for (final List<T> list : selected) {
+            heads.add(list.get(0));
+        }
+        while (merged.size() < size) {
+            int smallest = -1;
+            for (int index = 0; index < heads.size(); index++) {
+                final T head = heads.get(index);
+                if (head != null && (smallest < 0 || head.compareTo(heads.get(smallest)) < 0)) {
+                    smallest = index;
+                }
+            }
+            merged.add(heads.get(smallest));
+            final int next = ++positions[smallest];
+            heads.set(smallest, next < selected.get(smallest).size()
+                    ? selected.get(smallest).get(next)
+                    : null);
+        }
+        return Collections.unmodifiableList(merged);
+    }
+}
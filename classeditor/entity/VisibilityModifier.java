@@ -27,6 +27,15 @@ public enum VisibilityModifier {
      */
     PUBLIC("public");
 
+    /**
+     * The bitmask containing every visibility.
+     */
+    public static final int ALL = (1 << values().length) - 1;
+    /**
+     * The bitmask containing every visibility but {@link #PRIVATE}, the visibilities of inheritable members.
+     */
+    public static final int NOT_PRIVATE = ALL & ~PRIVATE.bit();
+
     private final String pattern;
 
     /**
@@ -66,6 +75,41 @@ public enum VisibilityModifier {
         return null;
     }
 
+    /**
+     * Returns the bitmask containing every visibility but the given ones.
+     *
+     * @param excluded the visibilities not contained in the bitmask
+     *
+     * @return the bitmask
+     */
+    public static int allExcept(final VisibilityModifier... excluded) {
+        int mask = ALL;
+        for (final VisibilityModifier modifier : excluded) {
+            mask &= ~modifier.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the bit of this visibility in a bitmask of visibilities like {@link #ALL}.
+     *
+     * @return the bit of this visibility
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Checks whether or not this visibility is contained in the given bitmask.
+     *
+     * @param visibilities the bitmask of visibilities
+     *
+     * @return whether or not the bit of this visibility is set
+     */
+    public boolean isIn(final int visibilities) {
+        return (visibilities & bit()) != 0;
+    }
+
     /**
      * @return the pattern of this Final
      */
@@ -0,0 +1,42 @@
+package edu.kit.informatik.classeditor.entity;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * A pool of canonical instances. An instance stays in the pool as long as it is referenced elsewhere, it has to keep
+ * a strong reference to the key it was created from, since the key is only weakly referenced by the pool.
+ *
+ * @param <K> the type of the keys describing the instances
+ * @param <V> the type of the canonical instances
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class WeakInterner<K, V> {
+    private final Map<K, WeakReference<V>> pool = new WeakHashMap<>();
+
+    /**
+     * Returns the canonical instance for the given key, creates it with the given factory if there is none yet.
+     *
+     * @param key the key describing the instance
+     * @param factory creates the instance for a key, the instance has to reference the key
+     *
+     * @return the canonical instance
+     */
+    synchronized V intern(final K key, final Function<K, V> factory) {
+        final WeakReference<V> reference = pool.get(key);
+        V instance = reference != null
+                ? reference.get()
+                : null;
+        if (instance == null) {
+            instance = factory.apply(key);
+            // an equal key of a collected instance would stay in the entry and could be collected at any time
+            pool.remove(key);
+            pool.put(key, new WeakReference<>(instance));
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,106 @@
+package edu.kit.informatik.classeditor.ui;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Collects the number of bytes allocated by the executing thread per executed {@link Command}, aggregated per
+ * command kind. Uses the allocation counters of the HotSpot {@link com.sun.management.ThreadMXBean}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class AllocationStatistics {
+
+    /**
+     * The thread bean used to read the allocation counters, null if the JVM does not support them.
+     */
+    private final com.sun.management.ThreadMXBean threadBean;
+    /**
+     * The aggregated counters for each command kind.
+     */
+    private final Map<Command, Counter> counters = new EnumMap<>(Command.class);
+
+    /**
+     * Instantiates new AllocationStatistics and enables the thread allocation counters if possible.
+     */
+    public AllocationStatistics() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threadBean = (com.sun.management.ThreadMXBean) bean;
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threadBean = null;
+        }
+    }
+
+    /**
+     * Returns whether or not the JVM supports measuring the allocated bytes of a thread.
+     *
+     * @return whether or not allocations can be measured
+     */
+    public boolean isSupported() {
+        return threadBean != null;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     *
+     * @return the allocated bytes of the current thread or 0 if not supported
+     */
+    long allocatedBytes() {
+        return threadBean != null
+                ? threadBean.getThreadAllocatedBytes(Thread.currentThread().getId())
+                : 0;
+    }
+
+    /**
+     * Records one execution of the given command which allocated the given number of bytes.
+     *
+     * @param command the executed command
+     * @param bytes the allocated bytes
+     */
+    void record(final Command command, final long bytes) {
+        counters.computeIfAbsent(command, key -> new Counter()).add(bytes);
+    }
+
+    /**
+     * Produces a report with one line per executed command kind.
+     *
+     * @param separator the separator between two lines of the report
+     *
+     * @return the report or an error message if nothing was recorded
+     */
+    public String report(final String separator) {
+        if (!isSupported()) {
+            return Main.ERROR + "allocation counters are not supported by this JVM";
+        }
+        if (counters.isEmpty()) {
+            return Main.ERROR + "no commands recorded";
+        }
+        final StringJoiner joiner = new StringJoiner(separator);
+        counters.forEach((command, counter) -> joiner
+                .add(command.getKeyword() + ": " + counter.executions + " executions, " + counter.total
+                     + " bytes total, " + counter.total / counter.executions + " bytes average, " + counter.max
+                     + " bytes max"));
+        return joiner.toString();
+    }
+
+    /**
+     * The aggregated allocation counter of one command kind.
+     */
+    private static final class Counter {
+        private long executions;
+        private long total;
+        private long max;
+
+        private void add(final long bytes) {
+            executions++;
+            total += bytes;
+            max = Math.max(max, bytes);
+        }
+    }
+}
@@ -3,6 +3,8 @@
 package edu.kit.informatik.classeditor.ui;
 
 import edu.kit.informatik.classeditor.database.Database;
+import edu.kit.informatik.classeditor.database.GlobPattern;
+import edu.kit.informatik.classeditor.database.GraphFormat;
 import edu.kit.informatik.classeditor.entity.Attribute;
 import edu.kit.informatik.classeditor.entity.Class;
 import edu.kit.informatik.classeditor.entity.Construct;
@@ -14,6 +16,11 @@ import edu.kit.informatik.classeditor.entity.NameableConstruct;
 import edu.kit.informatik.classeditor.entity.Type;
 import edu.kit.informatik.classeditor.entity.VisibilityModifier;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -68,7 +75,7 @@ public enum Command {
                 return Main.ERROR + "no parent class with name " + input.group(Main.FIRST_PARAMETER_INDEX + 1) + " "
                        + "found";
             }
-            return child.addExtend(parent)
+            return database.addExtend(child, parent)
                     ? Main.OK
                     : Main.ERROR + "parent class could not be added";
         }
@@ -89,7 +96,7 @@ public enum Command {
             if (parent == null) {
                 return Main.ERROR + "no interface with that name found";
             }
-            return child.addImplement(parent)
+            return database.addImplement(child, parent)
                     ? Main.OK
                     : Main.ERROR + "interface could not be added";
         }
@@ -104,7 +111,7 @@ public enum Command {
             if (construct == null) {
                 return Main.ERROR + "no construct with that name found";
             }
-            final Type type = database.typeAvailable(input.group(Attribute.TYPE_INDEX));
+            final Type type = database.typeAvailable(input.group(Attribute.TYPE_INDEX), construct);
             final VisibilityModifier modifier = VisibilityModifier
                     .parseFromString(input.group(Attribute.VISIBILITY_MODIFIER_INDEX));
             final Final afinal = Final.parseFromString(input.group(Attribute.FINAL_INDEX));
@@ -113,7 +120,7 @@ public enum Command {
             }
             final Attribute attribute = new Attribute(input.group(Attribute.NAME_INDEX), modifier, afinal, type,
                     construct);
-            return construct.addAttribute(attribute)
+            return database.addAttribute(construct, attribute)
                     ? Main.OK
                     : Main.ERROR + "could not add attribute";
         }
@@ -131,7 +138,10 @@ public enum Command {
                 return Main.ERROR + "no construct with that name found";
             }
             final Method method = Method.parseFromString(input, database);
-            return Database.addMethod(construct, method);
+            if (method == null) {
+                return Main.ERROR + "could not resolve the types of the method";
+            }
+            return database.addMethod(construct, method);
         }
     },
 
@@ -145,6 +155,13 @@ public enum Command {
                     ? Main.ERROR + "no constructs available"
                     : output;
         }
+
+        @Override void write(final Matcher input, final Database database, final Writer output)
+                throws IOException {
+            if (!database.writeConstructs(output)) {
+                writeLine(Main.ERROR + "no constructs available", output);
+            }
+        }
     },
 
     /**
@@ -157,6 +174,13 @@ public enum Command {
                     ? output
                     : Main.ERROR + "could not find construct";
         }
+
+        @Override void write(final Matcher input, final Database database, final Writer output)
+                throws IOException {
+            if (!database.writeAttributes(input.group(Main.FIRST_PARAMETER_INDEX), output)) {
+                writeLine(Main.ERROR + "could not find construct", output);
+            }
+        }
     },
 
     /**
@@ -169,6 +193,13 @@ public enum Command {
                     ? output
                     : Main.ERROR + "could not find construct";
         }
+
+        @Override void write(final Matcher input, final Database database, final Writer output)
+                throws IOException {
+            if (!database.writeMethods(input.group(Main.FIRST_PARAMETER_INDEX), output)) {
+                writeLine(Main.ERROR + "could not find construct", output);
+            }
+        }
     },
 
     /**
@@ -186,6 +217,78 @@ public enum Command {
         }
     },
 
+    /**
+     * Lists the constructs declared in the given package followed by its direct sub-packages.
+     */
+    LIST_PACKAGE("list-package" + Main.COMMAND_SEPARATOR + Type.getPackagePattern()) {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.listPackage(input.group(Main.FIRST_PARAMETER_INDEX), Main.LINE_SEPARATOR);
+            return output != null && !output.isEmpty()
+                    ? output
+                    : Main.ERROR + "no package with that name found";
+        }
+    },
+
+    /**
+     * Imports a construct by its qualified name or all constructs of a package, {@code package.*}, so types in
+     * signatures can be given by their simple names.
+     */
+    ADD_IMPORT("add-import" + Main.COMMAND_SEPARATOR + Command.IMPORT_PATTERN) {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.addImport(input.group(Main.FIRST_PARAMETER_INDEX));
+        }
+    },
+
+    /**
+     * Lists the imports used to resolve simple type names.
+     */
+    LIST_IMPORTS("list-imports") {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.listImports(Main.LINE_SEPARATOR);
+            return output != null
+                    ? output
+                    : Main.ERROR + "no imports available";
+        }
+    },
+
+    /**
+     * Lists all constructs whose names start with the given prefix or match the given pattern.
+     */
+    FIND_CONSTRUCTS("find-constructs" + Main.COMMAND_SEPARATOR + GlobPattern.GLOB_PATTERN) {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.findConstructs(input.group(Main.FIRST_PARAMETER_INDEX));
+            return output != null
+                    ? output
+                    : Main.ERROR + "no constructs found";
+        }
+    },
+
+    /**
+     * Lists the methods of all constructs whose names match the given name or pattern.
+     */
+    FIND_METHODS_GLOBAL("find-methods-global" + Main.COMMAND_SEPARATOR + GlobPattern.GLOB_PATTERN) {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.findMethods(input.group(Main.FIRST_PARAMETER_INDEX));
+            return output != null
+                    ? output
+                    : Main.ERROR + "no methods found";
+        }
+    },
+
+    /**
+     * Lists all constructs directly declaring a method, or an attribute if requested, with the given name.
+     */
+    FIND_DECLARING_CONSTRUCTS("find-declaring-constructs" + Main.COMMAND_SEPARATOR + Method.METHOD_NAME_PATTERN + "("
+                              + Main.SEPARATOR + "attributes)?") {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.findDeclaringConstructs(input.group(Main.FIRST_PARAMETER_INDEX),
+                    input.group(Main.FIRST_PARAMETER_INDEX + 1) != null);
+            return output != null
+                    ? output
+                    : Main.ERROR + "no constructs declare a member with that name";
+        }
+    },
+
     /**
      * Lists all available attributes (only shadowing and normal ones) for a construct, returns an error message if no
      * attributes are available.
@@ -197,6 +300,13 @@ public enum Command {
                     ? output
                     : Main.ERROR + "could not find construct";
         }
+
+        @Override void write(final Matcher input, final Database database, final Writer output)
+                throws IOException {
+            if (!database.writeAllAttributes(input.group(Main.FIRST_PARAMETER_INDEX), output)) {
+                writeLine(Main.ERROR + "could not find construct", output);
+            }
+        }
     },
 
     /**
@@ -211,6 +321,13 @@ public enum Command {
                     ? output
                     : Main.ERROR + "could not find construct";
         }
+
+        @Override void write(final Matcher input, final Database database, final Writer output)
+                throws IOException {
+            if (!database.writeShadowingAttributes(input.group(Main.FIRST_PARAMETER_INDEX), output)) {
+                writeLine(Main.ERROR + "could not find construct", output);
+            }
+        }
     },
 
     /**
@@ -224,6 +341,51 @@ public enum Command {
                     ? output
                     : Main.ERROR + "could not find construct";
         }
+
+        @Override void write(final Matcher input, final Database database, final Writer output)
+                throws IOException {
+            if (!database.writeAllMethods(input.group(Main.FIRST_PARAMETER_INDEX), output)) {
+                writeLine(Main.ERROR + "could not find construct", output);
+            }
+        }
+    },
+
+    /**
+     * Lists one page of the output of {@link #LIST_ALL_METHODS}, starting after the given signature. The last line
+     * contains the cursor of the next page if more methods follow.
+     */
+    LIST_ALL_METHODS_PAGE("list-all-methods" + Main.COMMAND_SEPARATOR + Construct.getConstructNamePattern()
+                          + Main.PAGE_PATTERN) {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.listAllMethods(input.group(Main.FIRST_PARAMETER_INDEX),
+                    Integer.parseInt(input.group(Main.FIRST_PARAMETER_INDEX + 1)),
+                    input.group(Main.FIRST_PARAMETER_INDEX + 3), Main.LINE_SEPARATOR);
+            if (output == null) {
+                return Main.ERROR + "could not find construct";
+            }
+            return output.isEmpty()
+                    ? Main.ERROR + "no methods after the given cursor"
+                    : output;
+        }
+    },
+
+    /**
+     * Lists one page of the output of {@link #LIST_ALL_ATTRIBUTES}, starting after the given signature. The last
+     * line contains the cursor of the next page if more attributes follow.
+     */
+    LIST_ALL_ATTRIBUTES_PAGE("list-all-attributes" + Main.COMMAND_SEPARATOR + Construct.getConstructNamePattern()
+                             + Main.PAGE_PATTERN) {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.listAllAttributes(input.group(Main.FIRST_PARAMETER_INDEX),
+                    Integer.parseInt(input.group(Main.FIRST_PARAMETER_INDEX + 1)),
+                    input.group(Main.FIRST_PARAMETER_INDEX + 3), Main.LINE_SEPARATOR);
+            if (output == null) {
+                return Main.ERROR + "could not find construct";
+            }
+            return output.isEmpty()
+                    ? Main.ERROR + "no attributes after the given cursor"
+                    : output;
+        }
     },
 
     /**
@@ -243,6 +405,178 @@ public enum Command {
         }
     },
 
+    /**
+     * Starts bulk loading, changes are accepted without checking them against the hierarchy until
+     * {@link #END_BULK}.
+     */
+    BEGIN_BULK("begin-bulk") {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.beginBulk()
+                    ? Main.OK
+                    : Main.ERROR + "bulk loading or a transaction is already active";
+        }
+    },
+
+    /**
+     * Ends bulk loading and validates the whole hierarchy, returns the errors the checked changes would have caused.
+     */
+    END_BULK("end-bulk") {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.endBulk(Main.LINE_SEPARATOR);
+            return output != null
+                    ? output
+                    : Main.ERROR + "bulk loading is not active";
+        }
+    },
+
+    /**
+     * Begins a transaction, the following changes are made all at once by {@link #COMMIT} or not at all.
+     */
+    BEGIN("begin") {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.begin()
+                    ? Main.OK
+                    : Main.ERROR + "a transaction or bulk loading is already active";
+        }
+    },
+
+    /**
+     * Commits the open transaction, rolls it back instead if one of its changes failed.
+     */
+    COMMIT("commit") {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.commit();
+            return output != null
+                    ? output
+                    : Main.ERROR + "no transaction is active";
+        }
+    },
+
+    /**
+     * Reverts all changes of the open transaction.
+     */
+    ROLLBACK("rollback") {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.rollback()
+                    ? Main.OK
+                    : Main.ERROR + "no transaction is active";
+        }
+    },
+
+    /**
+     * Reverts the latest change, a committed transaction as a whole.
+     */
+    UNDO("undo") {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.undo()
+                    ? Main.OK
+                    : Main.ERROR + "nothing to undo";
+        }
+    },
+
+    /**
+     * Makes the latest undone change again.
+     */
+    REDO("redo") {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.redo()
+                    ? Main.OK
+                    : Main.ERROR + "nothing to redo";
+        }
+    },
+
+    /**
+     * Validates the whole hierarchy in parallel and lists all violations and shadowing attributes.
+     */
+    VALIDATE("validate") {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.validate(Main.LINE_SEPARATOR);
+        }
+    },
+
+    /**
+     * Writes all methods and all attributes of every construct to the given file, optionally resolving independent
+     * constructs in parallel.
+     */
+    EXPORT_MEMBERS(
+            "export-members" + Main.COMMAND_SEPARATOR + Main.PATH_PATTERN + "(" + Main.SEPARATOR + "parallel)?") {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.exportMembers(Paths.get(input.group(Main.FIRST_PARAMETER_INDEX)),
+                    input.group(Main.FIRST_PARAMETER_INDEX + 1) != null);
+        }
+    },
+
+    /**
+     * Lists the interface methods which are not available in a class since they were added to its interfaces.
+     */
+    LIST_UNIMPLEMENTED("list-unimplemented" + Main.COMMAND_SEPARATOR + Construct.getConstructNamePattern()) {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.listUnimplemented(input.group(Main.FIRST_PARAMETER_INDEX));
+            return output != null
+                    ? output
+                    : Main.ERROR + "could not find class";
+        }
+    },
+
+    /**
+     * Exports the extends and implements relationships as a DOT or GraphML graph, either of all constructs or of the
+     * constructs around a root construct up to the given depth, optionally with the numbers of their members.
+     */
+    EXPORT_GRAPH("export-graph" + Main.COMMAND_SEPARATOR + GraphFormat.getGraphFormatPattern() + Main.SEPARATOR
+                 + Main.PATH_PATTERN + "(" + Main.SEPARATOR + Construct.getConstructNamePattern() + Main.SEPARATOR
+                 + "([0-9]{1,9}))?(" + Main.SEPARATOR + "counts)?") {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String root = input.group(Main.FIRST_PARAMETER_INDEX + 3);
+            final String output = database.exportGraph(GraphFormat.parseFromString(
+                    input.group(Main.FIRST_PARAMETER_INDEX)), Paths.get(input.group(Main.FIRST_PARAMETER_INDEX + 1)),
+                    root, root != null
+                            ? Integer.parseInt(input.group(Main.FIRST_PARAMETER_INDEX + 4))
+                            : 0, input.group(Main.FIRST_PARAMETER_INDEX + 5) != null);
+            return output != null
+                    ? output
+                    : Main.ERROR + "could not find construct";
+        }
+    },
+
+    /**
+     * Generates Java skeletons for all constructs, one file per construct in the given directory or archive.
+     */
+    EXPORT_STUBS("export-stubs" + Main.COMMAND_SEPARATOR + Main.PATH_PATTERN) {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.exportStubs(Paths.get(input.group(Main.FIRST_PARAMETER_INDEX)));
+        }
+    },
+
+    /**
+     * Imports the compiled classes of a class file, a directory or a JAR and lists the skipped classes.
+     */
+    IMPORT_CLASSES("import-classes" + Main.COMMAND_SEPARATOR + Main.PATH_PATTERN) {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.importClasses(Paths.get(input.group(Main.FIRST_PARAMETER_INDEX)), Main.LINE_SEPARATOR);
+        }
+    },
+
+    /**
+     * Prints an estimation of the retained size of the database, split into its kinds of objects.
+     */
+    MEMORY_REPORT("memory-report") {
+        @Override public String execute(final Matcher input, final Database database) {
+            return database.memoryReport(Main.LINE_SEPARATOR);
+        }
+    },
+
+    /**
+     * Prints the state of the replication of the database, see {@link Database#replicationStatus(String)}.
+     */
+    REPLICATION_STATUS("replication-status") {
+        @Override public String execute(final Matcher input, final Database database) {
+            final String output = database.replicationStatus(Main.LINE_SEPARATOR);
+            return output != null
+                    ? output
+                    : Main.ERROR + "the database is not replicated";
+        }
+    },
+
     /**
      * Quits the program.
      */
@@ -259,6 +593,26 @@ public enum Command {
      */
     public static final String COMMAND_NOT_FOUND = Main.ERROR + "command not found!";
 
+    /**
+     * The pattern of an import, a qualified construct name or a package name followed by {@code .*}.
+     */
+    private static final String IMPORT_PATTERN = "((?:[a-z][a-z0-9]*\\.)+(?:[A-Z][a-zA-Z0-9]*|\\*))";
+
+    /**
+     * The commands changing the database, a failure of one of them fails the open transaction.
+     */
+    private static final Set<Command> CHANGING = EnumSet.of(ADD_CONSTRUCT, ADD_EXTENDS, ADD_IMPLEMENTS,
+            ADD_ATTRIBUTE, ADD_METHOD, IMPORT_CLASSES, ADD_IMPORT);
+
+    /**
+     * The commands which only read the database.
+     */
+    private static final Set<Command> READ_ONLY = EnumSet.of(LIST_CONSTRUCTS, LIST_ATTRIBUTES, LIST_METHODS,
+            FIND_METHOD_BY_NAME, FIND_CONSTRUCTS, FIND_METHODS_GLOBAL, FIND_DECLARING_CONSTRUCTS, LIST_ALL_ATTRIBUTES,
+            LIST_SHADOWING_ATTRIBUTES, LIST_ALL_METHODS, LIST_ALL_METHODS_PAGE, LIST_ALL_ATTRIBUTES_PAGE,
+            FIND_METHOD_OVERRIDE, VALIDATE, EXPORT_MEMBERS, LIST_UNIMPLEMENTED, EXPORT_GRAPH, EXPORT_STUBS,
+            MEMORY_REPORT, REPLICATION_STATUS, LIST_PACKAGE, LIST_IMPORTS);
+
     /**
      * The pattern of this command.
      */
@@ -286,15 +640,115 @@ public enum Command {
      *         null if there is no output
      */
     public static String executeCommand(final String input, final Database database) {
+        return executeCommand(input, database, null);
+    }
+
+    /**
+     * Executes the command contained in the input like {@link #executeCommand(String, Database)} and records the
+     * bytes allocated by the execution in the given statistics.
+     *
+     * @param input the line of input
+     * @param database the database the command is executed on
+     * @param statistics the statistics to record the allocations in, may be null to disable the recording
+     *
+     * @return the result of the command execution, may contain error messages or be
+     *         null if there is no output
+     */
+    public static String executeCommand(final String input, final Database database,
+            final AllocationStatistics statistics) {
         for (final Command command : Command.values()) {
             final Matcher matcher = command.pattern.matcher(input);
             if (matcher.matches()) {
-                return command.execute(matcher, database);
+                if (statistics == null) {
+                    return command.run(matcher, database);
+                }
+                final long allocatedBefore = statistics.allocatedBytes();
+                final String output = command.run(matcher, database);
+                statistics.record(command, statistics.allocatedBytes() - allocatedBefore);
+                return output;
             }
         }
         return COMMAND_NOT_FOUND;
     }
 
+    /**
+     * Executes the command contained in the input like {@link #executeCommand(String, Database, AllocationStatistics)}
+     * but writes the output to the given writer while it is produced instead of returning it as one String. Every
+     * line of the output is followed by {@link Main#LINE_SEPARATOR}.
+     *
+     * @param input the line of input
+     * @param database the database the command is executed on
+     * @param output the writer the output is written to
+     * @param statistics the statistics to record the allocations in, may be null to disable the recording
+     *
+     * @throws IOException if the writer fails
+     */
+    public static void writeCommand(final String input, final Database database, final Writer output,
+            final AllocationStatistics statistics) throws IOException {
+        for (final Command command : Command.values()) {
+            final Matcher matcher = command.pattern.matcher(input);
+            if (matcher.matches()) {
+                if (statistics == null) {
+                    command.write(matcher, database, output);
+                    return;
+                }
+                final long allocatedBefore = statistics.allocatedBytes();
+                command.write(matcher, database, output);
+                statistics.record(command, statistics.allocatedBytes() - allocatedBefore);
+                return;
+            }
+        }
+        writeLine(COMMAND_NOT_FOUND, output);
+    }
+
+    /**
+     * Checks whether or not the given input leaves every database unchanged: it is a command only reading the
+     * database or no command at all.
+     *
+     * @param input the line of input
+     *
+     * @return whether or not executing the input cannot change a database
+     */
+    public static boolean isReadOnly(final String input) {
+        for (final Command command : Command.values()) {
+            if (command.pattern.matcher(input).matches()) {
+                return READ_ONLY.contains(command);
+            }
+        }
+        return true;
+    }
+
+    private static void writeLine(final String line, final Writer output) throws IOException {
+        output.write(line);
+        output.write(Main.LINE_SEPARATOR);
+    }
+
+    /**
+     * Returns the keyword this command starts with in the command line input.
+     *
+     * @return the keyword of this command
+     */
+    public String getKeyword() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    /**
+     * Executes the given input on the given database and fails the open transaction if this command could not change
+     * the database.
+     *
+     * @param input the line of input
+     * @param database the database the command is executed on
+     *
+     * @return the result of the command execution
+     */
+    private String run(final Matcher input, final Database database) {
+        final String output = execute(input, database);
+        if (output != null && output.startsWith(Main.ERROR) && CHANGING.contains(this)) {
+            database.failTransaction(output);
+        }
+        return output;
+    }
+
     /**
      * Executes the given input on the given playlist.
      *
@@ -305,4 +759,22 @@ public enum Command {
      *         null if there is no output
      */
     abstract String execute(Matcher input, Database database);
+
+    /**
+     * Executes the given input on the given database and writes the output to the given writer. Commands with
+     * potentially large outputs write them incrementally, the others write the result of
+     * {@link #execute(Matcher, Database)}.
+     *
+     * @param input the line of input
+     * @param database the database the command is executed on
+     * @param output the writer the output is written to
+     *
+     * @throws IOException if the writer fails
+     */
+    void write(final Matcher input, final Database database, final Writer output) throws IOException {
+        final String result = run(input, database);
+        if (result != null) {
+            writeLine(result, output);
+        }
+    }
 }
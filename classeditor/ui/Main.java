@@ -4,6 +4,15 @@ package edu.kit.informatik.classeditor.ui;
 
 import edu.kit.informatik.Terminal;
 import edu.kit.informatik.classeditor.database.Database;
+import edu.kit.informatik.classeditor.database.ReplicationFollower;
+import edu.kit.informatik.classeditor.database.ReplicationLeader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Main class for the first task of the third assignment. Contains the entry
@@ -33,6 +42,18 @@ public class Main {
      */
     public static final String SEPARATOR = " ";
 
+    /**
+     * The pattern of a file path parameter.
+     */
+    public static final String PATH_PATTERN = "(\\S+)";
+
+    /**
+     * The pattern of the paging parameters: the maximal number of lines and optionally the cursor after which the
+     * page starts.
+     */
+    public static final String PAGE_PATTERN = SEPARATOR + "limit" + SEPARATOR + "([1-9][0-9]{0,8})(" + SEPARATOR
+                                              + "after" + SEPARATOR + "(.+))?";
+
     /**
      * An empty string used for some outputs.
      */
@@ -48,20 +69,124 @@ public class Main {
      */
     public static final String OK = "OK";
 
+    /**
+     * The command line flag enabling the allocation statistics per command.
+     */
+    public static final String ALLOCATION_STATISTICS_FLAG = "--allocation-stats";
+
+    /**
+     * The command line flag starting the program in bulk loading mode, see {@link Command#BEGIN_BULK}.
+     */
+    public static final String BULK_FLAG = "--bulk";
+
+    /**
+     * The command line flag storing the members of the constructs outside of the heap.
+     */
+    public static final String OFF_HEAP_FLAG = "--off-heap";
+
+    /**
+     * The command line flag followed by a port, executing the commands as the leader of a replication on that port.
+     */
+    public static final String LEAD_FLAG = "--lead";
+
+    /**
+     * The command line flag followed by the host and port of a leader, {@code host:port}, serving the read-only
+     * commands of a copy of its database.
+     */
+    public static final String FOLLOW_FLAG = "--follow";
+
+    /**
+     * The command line flag followed by the number of commands a follower may lag behind the leader and still serve
+     * queries.
+     */
+    public static final String MAX_LAG_FLAG = "--max-lag";
+
+    /**
+     * The command line flag followed by the number of commands a leader keeps before a snapshot of its database
+     * replaces them.
+     */
+    public static final String RETAINED_COMMANDS_FLAG = "--retained-commands";
+
+    /**
+     * The command line flag followed by the number of commands, transactions and groups which can be undone.
+     */
+    public static final String HISTORY_DEPTH_FLAG = "--history-depth";
+
     /**
      * Entry point to the program. Checks the given input and produces corresponding
      * output.
      *
-     * @param args IGNORED
+     * @param args the command line flags, {@link #ALLOCATION_STATISTICS_FLAG} prints the bytes allocated per
+     *         command kind when quitting, {@link #BULK_FLAG} starts in bulk loading mode, {@link #OFF_HEAP_FLAG}
+     *         stores the members outside of the heap, {@link #LEAD_FLAG}, {@link #FOLLOW_FLAG}, {@link #MAX_LAG_FLAG}
+     *         and {@link #RETAINED_COMMANDS_FLAG} replicate the database, {@link #HISTORY_DEPTH_FLAG} bounds the
+     *         undo history
+     *
+     * @throws IOException if the output cannot be written or the port of a leader cannot be opened
      */
-    public static void main(final String[] args) {
-        final Database database = new Database();
+    public static void main(final String[] args) throws IOException {
+        final Database database = new Database(Arrays.asList(args).contains(OFF_HEAP_FLAG));
+        AllocationStatistics statistics = null;
+        boolean bulk = false;
+        int leaderPort = -1;
+        String leaderAddress = null;
+        long maxLag = -1;
+        int retainedCommands = ReplicationLeader.DEFAULT_RETAINED_COMMANDS;
+        for (int index = 0; index < args.length; index++) {
+            if (args[index].equals(ALLOCATION_STATISTICS_FLAG)) {
+                statistics = new AllocationStatistics();
+            } else if (args[index].equals(BULK_FLAG)) {
+                bulk = true;
+            } else if (args[index].equals(LEAD_FLAG) && index + 1 < args.length) {
+                leaderPort = Integer.parseInt(args[++index]);
+            } else if (args[index].equals(FOLLOW_FLAG) && index + 1 < args.length) {
+                leaderAddress = args[++index];
+            } else if (args[index].equals(MAX_LAG_FLAG) && index + 1 < args.length) {
+                maxLag = Long.parseLong(args[++index]);
+            } else if (args[index].equals(RETAINED_COMMANDS_FLAG) && index + 1 < args.length) {
+                retainedCommands = Integer.parseInt(args[++index]);
+            } else if (args[index].equals(HISTORY_DEPTH_FLAG) && index + 1 < args.length) {
+                database.setHistoryDepth(Integer.parseInt(args[++index]));
+            }
+        }
+        final ReplicationLeader leader = leaderPort >= 0
+                ? new ReplicationLeader(database, leaderPort, retainedCommands)
+                : null;
+        final ReplicationFollower follower = leaderAddress != null
+                ? new ReplicationFollower(database, leaderAddress.substring(0, leaderAddress.lastIndexOf(':')),
+                        Integer.parseInt(leaderAddress.substring(leaderAddress.lastIndexOf(':') + 1)), maxLag)
+                : null;
+        if (bulk) {
+            // through the leader, so the followers load in bulk as well
+            if (leader != null) {
+                leader.execute(Command.BEGIN_BULK.getKeyword());
+            } else {
+                database.beginBulk();
+            }
+        }
+        // the output is streamed by the commands instead of being collected in one String per command
+        final Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
         while (database.isActive()) {
             final String input = Terminal.readLine();
-            final String output = Command.executeCommand(input, database);
-            if (output != null) {
-                Terminal.printLine(output);
+            if (leader != null) {
+                leader.writeCommand(input, output, statistics);
+            } else if (follower != null) {
+                follower.writeCommand(input, output, statistics);
+            } else {
+                Command.writeCommand(input, database, output, statistics);
             }
+            output.flush();
+        }
+        if (leader != null) {
+            leader.close();
+        }
+        if (follower != null) {
+            follower.close();
+        }
+        if (statistics != null) {
+            output.write(statistics.report(LINE_SEPARATOR));
+            output.write(LINE_SEPARATOR);
+            output.flush();
         }
     }
 }